@@ -0,0 +1,57 @@
+package com.an0mas.bot.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.util.AccessControlUtil;
+
+/**
+ * ⛔ AccessControlUtil.isBlocked（全コマンドの実行前チェック）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessControlBenchmark {
+
+	private String blockedUser;
+	private String normalUser;
+
+	@Setup
+	public void setUp() {
+		BenchmarkDatabase.ensureSeeded();
+		blockedUser = BenchmarkDatabase.userId(BenchmarkDatabase.USERS);
+		normalUser = BenchmarkDatabase.userId(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		DatabaseHelper.close();
+		FeedbackDatabaseHelper.close();
+	}
+
+	@Benchmark
+	public boolean blocked() {
+		return AccessControlUtil.isBlocked(blockedUser);
+	}
+
+	@Benchmark
+	public boolean notBlocked() {
+		return AccessControlUtil.isBlocked(normalUser);
+	}
+}
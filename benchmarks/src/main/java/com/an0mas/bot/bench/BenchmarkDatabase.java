@@ -0,0 +1,137 @@
+package com.an0mas.bot.bench;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.PermissionEvent;
+import com.an0mas.bot.database.PermissionGrant;
+
+/**
+ * 🌱 ベンチマーク用のシード済みSQLiteを用意する
+ *
+ * 本番DBを誤って書き換えないよう、環境変数 DB_PATH / FEEDBACK_DB_PATH が明示されている場合だけ動く。
+ * 既にデータがあるファイルはそのまま使う（フォークごとに作り直さない）。
+ */
+public final class BenchmarkDatabase {
+
+	public static final int GUILDS = 2_000;
+	public static final int USERS = 2_000;
+	public static final int BLOCKED_USERS = 500;
+	/** 🎭 1サーバー（ROLE_GUILD）内でコマンドを許可するロール数（64 を超えて long 複数語になる数） */
+	public static final int ROLES = 100;
+	public static final int ROLE_GUILD = 0;
+	public static final int FEEDBACKS = 20_000;
+
+	/** 🔑 シードに使うコマンド名（ギルド・ユーザーごとに1つずつ許可する） */
+	public static final String[] COMMANDS = { "feedbacklist", "blockuser", "cmdaccess", "feedbackexport" };
+
+	private static boolean ready;
+
+	private BenchmarkDatabase() {
+	}
+
+	/**
+	 * 📦 スキーマ作成とシード（同一JVM内では1回だけ）
+	 */
+	public static synchronized void ensureSeeded() {
+		if (ready) {
+			return;
+		}
+		String permissionsPath = requireEnv("DB_PATH");
+		String feedbackPath = requireEnv("FEEDBACK_DB_PATH");
+
+		DatabaseHelper.initializeDatabase();
+		FeedbackDatabaseHelper.initializeDatabase();
+
+		try {
+			seedPermissions("jdbc:sqlite:" + permissionsPath);
+			seedFeedback("jdbc:sqlite:" + feedbackPath);
+		} catch (SQLException e) {
+			throw new IllegalStateException("ベンチマーク用DBのシードに失敗しました", e);
+		}
+		ready = true;
+	}
+
+	public static String guildId(int i) {
+		return String.valueOf(100_000_000_000_000_000L + i);
+	}
+
+	public static String userId(int i) {
+		return String.valueOf(200_000_000_000_000_000L + i);
+	}
+
+	public static String roleId(int i) {
+		return String.valueOf(300_000_000_000_000_000L + i);
+	}
+
+	/**
+	 * 権限は本番と同じくイベント経由で入れる（テーブルを直接書くと、起動時に復元済みの権限ビューに反映されない）
+	 */
+	private static void seedPermissions(String url) throws SQLException {
+		try (Connection conn = DriverManager.getConnection(url)) {
+			if (count(conn, "server_permissions") > 0) {
+				return;
+			}
+		}
+		List<PermissionGrant> grants = new ArrayList<>(GUILDS + USERS + ROLES);
+		for (int i = 0; i < GUILDS; i++) {
+			grants.add(new PermissionGrant(true, guildId(i), COMMANDS[i % COMMANDS.length]));
+		}
+		for (int i = 0; i < USERS; i++) {
+			grants.add(new PermissionGrant(false, userId(i), COMMANDS[i % COMMANDS.length]));
+		}
+		DatabaseHelper.addPermissions(grants, PermissionEvent.SYSTEM_ACTOR);
+		for (int i = 0; i < ROLES; i++) {
+			DatabaseHelper.addRolePermission(guildId(ROLE_GUILD), roleId(i), COMMANDS[i % COMMANDS.length],
+					PermissionEvent.SYSTEM_ACTOR, 0);
+		}
+		for (int i = 0; i < BLOCKED_USERS; i++) {
+			DatabaseHelper.addUserToBlacklist(userId(USERS + i), PermissionEvent.SYSTEM_ACTOR);
+		}
+	}
+
+	private static void seedFeedback(String url) throws SQLException {
+		try (Connection conn = DriverManager.getConnection(url)) {
+			if (count(conn, "feedback") > 0) {
+				return;
+			}
+			conn.setAutoCommit(false);
+			try (PreparedStatement insert = conn.prepareStatement(
+					"INSERT INTO feedback (user_id, user_name, title, content, timestamp) VALUES (?, ?, ?, ?, ?)")) {
+				for (int i = 0; i < FEEDBACKS; i++) {
+					insert.setString(1, userId(i % USERS));
+					insert.setString(2, "user" + (i % USERS));
+					insert.setString(3, "フィードバック " + i);
+					insert.setString(4, "本文です。".repeat(1 + i % 20));
+					insert.setString(5, "2025-04-05T23:38:30.627806+09:00");
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+			conn.commit();
+		}
+	}
+
+	private static int count(Connection conn, String table) throws SQLException {
+		try (Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	private static String requireEnv(String key) {
+		String value = System.getenv(key);
+		if (value == null || value.isBlank()) {
+			throw new IllegalStateException(key + " が未設定です。scripts/run-benchmarks.sh または scripts/run-replay.sh から起動してください");
+		}
+		return value;
+	}
+}
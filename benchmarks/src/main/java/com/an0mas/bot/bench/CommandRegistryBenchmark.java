@@ -0,0 +1,56 @@
+package com.an0mas.bot.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.an0mas.bot.command.BaseCommand;
+import com.an0mas.bot.command.CommandLoader;
+import com.an0mas.bot.command.CommandRegistry;
+
+/**
+ * 🔎 CommandRegistry.getByName（全スラッシュコマンドの最初に呼ばれる）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandRegistryBenchmark {
+
+	@Setup
+	public void setUp() {
+		if (CommandRegistry.getCommands().isEmpty()) {
+			CommandLoader.getAllCommands().forEach(CommandRegistry::register);
+		}
+		CommandRegistry.freeze();
+	}
+
+	/** 先頭のコマンド */
+	@Benchmark
+	public BaseCommand first() {
+		return CommandRegistry.getByName("help");
+	}
+
+	/** 末尾のコマンド */
+	@Benchmark
+	public BaseCommand last() {
+		return CommandRegistry.getByName("blockuser");
+	}
+
+	/** 未登録（古いクライアントからの削除済みコマンドなど） */
+	@Benchmark
+	public BaseCommand missing() {
+		return CommandRegistry.getByName("unknown");
+	}
+}
@@ -0,0 +1,43 @@
+package com.an0mas.bot.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.an0mas.bot.model.FeedbackEntry;
+import com.an0mas.bot.util.EmbedUtil;
+
+/**
+ * 🧩 EmbedUtil.formatFeedbackEntry（/feedbacklist の1ページで5回呼ばれる）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbedUtilBenchmark {
+
+	private final FeedbackEntry named = new FeedbackEntry(12345, "283495523674095616", "an0mas",
+			"ボタンが反応しない", "本文", "2025-04-05T23:38:30.627806+09:00");
+	private final FeedbackEntry anonymous = new FeedbackEntry(12346, "283495523674095616", "",
+			"要望", "本文", "2025-04-05T23:38:30.627806+09:00");
+
+	@Benchmark
+	public String named() {
+		return EmbedUtil.formatFeedbackEntry(named);
+	}
+
+	@Benchmark
+	public String anonymous() {
+		return EmbedUtil.formatFeedbackEntry(anonymous);
+	}
+}
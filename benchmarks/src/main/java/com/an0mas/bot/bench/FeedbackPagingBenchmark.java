@@ -0,0 +1,75 @@
+package com.an0mas.bot.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.model.FeedbackEntry;
+
+/**
+ * 📃 フィードバックのページ取得（WebUI の /feedbacks と /feedbacklist のページ送り）
+ *
+ * OFFSET 方式（getFeedbacksPaged）と IDカーソル方式（forEachFeedback）を、先頭付近と深いページで比べる。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackPagingBenchmark {
+
+	private static final int PAGE_SIZE = 5;
+
+	/** 何ページ目か（1 = 先頭） */
+	@Param({ "1", "1000", "3999" })
+	public int page;
+
+	private int offset;
+	private int cursor;
+
+	@Setup
+	public void setUp() {
+		BenchmarkDatabase.ensureSeeded();
+		offset = (page - 1) * PAGE_SIZE;
+		// 新しい順の offset 件目の直前のID（ID は 1 から連番でシードされている）
+		cursor = BenchmarkDatabase.FEEDBACKS - offset + 1;
+	}
+
+	@TearDown
+	public void tearDown() {
+		DatabaseHelper.close();
+		FeedbackDatabaseHelper.close();
+	}
+
+	@Benchmark
+	public List<FeedbackEntry> offsetPage() {
+		return FeedbackDatabaseHelper.getFeedbacksPaged(offset, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public int cursorPage(Blackhole blackhole) throws IOException {
+		return FeedbackDatabaseHelper.forEachFeedback(cursor, PAGE_SIZE, blackhole::consume);
+	}
+
+	@Benchmark
+	public int count() {
+		return FeedbackDatabaseHelper.getFeedbackCount();
+	}
+}
@@ -0,0 +1,146 @@
+package com.an0mas.bot.bench;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import com.an0mas.bot.util.JsonLogEncoder;
+import com.an0mas.bot.util.LogContext;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * 📝 ログ1件あたりの呼び出し側（イベントスレッド）のコスト
+ *
+ * logback.xml と同じ構成（AsyncAppender: queueSize 8192 / neverBlock）を独立した LoggerContext に組み、
+ * 以前の同期 ConsoleAppender と比べる。出力先は書き込みごとに sinkDelayMicros だけ待つストリームで、
+ * 0 はCPUコストだけ、20 は遅いコンソールやパイプを模したもの。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+	@Param({ "sync-text", "async-text", "async-json" })
+	public String mode;
+
+	@Param({ "0", "20" })
+	public int sinkDelayMicros;
+
+	private LoggerContext context;
+	private Logger logger;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new LoggerContext();
+		context.setMDCAdapter(MDC.getMDCAdapter()); // 📌 MDC.put した値を共有する
+		context.start();
+
+		OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+		output.setContext(context);
+		output.setName("OUTPUT");
+		output.setEncoder(mode.endsWith("json") ? jsonEncoder() : textEncoder());
+		output.setOutputStream(new DelayedSink(sinkDelayMicros * 1000L));
+		output.start();
+
+		Appender<ILoggingEvent> root = output;
+		if (mode.startsWith("async")) {
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setName("ASYNC");
+			async.setQueueSize(8192);
+			async.setNeverBlock(true);
+			async.addAppender(output);
+			async.start();
+			root = async;
+		}
+
+		ch.qos.logback.classic.Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+		rootLogger.detachAndStopAllAppenders();
+		rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+		rootLogger.addAppender(root);
+		logger = context.getLogger("com.an0mas.bot.command.CommandsInitializer");
+
+		MDC.put(LogContext.INTERACTION_ID, "1299112233445566778");
+		MDC.put(LogContext.GUILD_ID, BenchmarkDatabase.guildId(1));
+		MDC.put(LogContext.USER_ID, BenchmarkDatabase.userId(1));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		MDC.clear();
+		context.stop();
+	}
+
+	@Benchmark
+	public void info() {
+		logger.info("✅ 登録完了 → Guild: {} ({}) に {} 件登録しました", "standin-guild", "800000000000000001", 2);
+	}
+
+	@Benchmark
+	public void debugDisabled() {
+		logger.debug("📋 Guild登録対象コマンド（{}）: {}", "800000000000000001", "/feedbacklist");
+	}
+
+	private Encoder<ILoggingEvent> textEncoder() {
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-5level %logger{36} [%X{interactionId:-}] - %msg%n");
+		encoder.start();
+		return encoder;
+	}
+
+	private Encoder<ILoggingEvent> jsonEncoder() {
+		JsonLogEncoder encoder = new JsonLogEncoder();
+		encoder.setContext(context);
+		encoder.start();
+		return encoder;
+	}
+
+	/**
+	 * 🐢 書き込みごとに一定時間かかる出力先（内容は捨てる）
+	 */
+	private static final class DelayedSink extends OutputStream {
+		private final long delayNanos;
+
+		DelayedSink(long delayNanos) {
+			this.delayNanos = delayNanos;
+		}
+
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			if (delayNanos > 0) {
+				LockSupport.parkNanos(delayNanos);
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.an0mas.bot.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+
+/**
+ * 🛡️ 制限付きコマンドの許可チェック（SlashCommandListener が毎回呼ぶ）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionCheckBenchmark {
+
+	private String guildId;
+	private String userId;
+	private String roleGuildId;
+	/** 🎭 メンバーのロール（許可のない 4 個 ＋ 許可のある 1 個 ＋ @everyone） */
+	private long[] memberRoles;
+	private long[] memberRolesDenied;
+
+	@Setup
+	public void setUp() {
+		BenchmarkDatabase.ensureSeeded();
+		guildId = BenchmarkDatabase.guildId(BenchmarkDatabase.GUILDS / 2);
+		userId = BenchmarkDatabase.userId(BenchmarkDatabase.USERS / 2);
+		roleGuildId = BenchmarkDatabase.guildId(BenchmarkDatabase.ROLE_GUILD);
+		long everyone = Long.parseLong(roleGuildId);
+		long granted = Long.parseLong(BenchmarkDatabase.roleId(BenchmarkDatabase.ROLES - 1));
+		memberRoles = new long[] { 1, 2, 3, 4, granted, everyone };
+		memberRolesDenied = new long[] { 1, 2, 3, 4, 5, everyone };
+	}
+
+	@TearDown
+	public void tearDown() {
+		DatabaseHelper.close();
+		FeedbackDatabaseHelper.close();
+	}
+
+	@Benchmark
+	public boolean guildAllowed() {
+		return DatabaseHelper.isGuildCommandAllowed(guildId, BenchmarkDatabase.COMMANDS[(BenchmarkDatabase.GUILDS / 2) % BenchmarkDatabase.COMMANDS.length]);
+	}
+
+	@Benchmark
+	public boolean guildDenied() {
+		return DatabaseHelper.isGuildCommandAllowed(guildId, "unknown");
+	}
+
+	@Benchmark
+	public boolean userAllowed() {
+		return DatabaseHelper.isUserCommandAllowed(userId, BenchmarkDatabase.COMMANDS[(BenchmarkDatabase.USERS / 2) % BenchmarkDatabase.COMMANDS.length]);
+	}
+
+	@Benchmark
+	public boolean userDenied() {
+		return DatabaseHelper.isUserCommandAllowed(userId, "unknown");
+	}
+
+	@Benchmark
+	public boolean roleAllowed() {
+		return DatabaseHelper.isRoleCommandAllowed(roleGuildId, memberRoles,
+				BenchmarkDatabase.COMMANDS[(BenchmarkDatabase.ROLES - 1) % BenchmarkDatabase.COMMANDS.length]);
+	}
+
+	@Benchmark
+	public boolean roleDenied() {
+		return DatabaseHelper.isRoleCommandAllowed(roleGuildId, memberRolesDenied,
+				BenchmarkDatabase.COMMANDS[(BenchmarkDatabase.ROLES - 1) % BenchmarkDatabase.COMMANDS.length]);
+	}
+}
@@ -0,0 +1,262 @@
+package com.an0mas.bot.bench.discord;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import com.an0mas.bot.BotLauncher;
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.PermissionEvent;
+import com.an0mas.bot.database.PermissionGrant;
+import com.an0mas.bot.util.EntityResolver;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+
+/**
+ * 🧪 スタンドイン相手の起動・レート制限ソーク（本物の Discord に接続しない）
+ *
+ * {@link DiscordStandIn} を立ち上げ、本物の {@link BotLauncher} でログインさせて次を計測する。
+ * <ol>
+ * <li>起動: build() から READY まで、全ギルドのコマンド同期（CommandsInitializer）が届くまで</li>
+ * <li>参加: GUILD_CREATE を配信してから BotJoinListener のコマンド登録が届くまで</li>
+ * <li>通知: 通知チャンネルへの埋め込み送信を連続で投げ、429 を受けながら全件完了するまで</li>
+ * <li>名前解決: EntityResolver への同時リクエストが REST／ゲートウェイへ何回出るか</li>
+ * </ol>
+ *
+ * 接続先は scripts/run-discord-soak.sh が設定する DISCORD_API_BASE / DISCORD_GATEWAY_URL のポートで待ち受ける。
+ *
+ * 使い方: scripts/run-discord-soak.sh [--guilds 200] [--permitted 150] [--joins 20] [--messages 50]
+ * [--limit 5] [--window 1000] [--force-429-every 0] [--lookups 20]
+ */
+public class DiscordSoak {
+
+	/** 🔢 名前解決で引くユーザー・メンバーのID（JDA のキャッシュに無いもの） */
+	private static final long LOOKUP_USER_BASE = 910_000_000_000_000_000L;
+	private static final long LOOKUP_MEMBER_BASE = 920_000_000_000_000_000L;
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseArgs(args);
+		int guilds = Integer.parseInt(options.getOrDefault("guilds", "200"));
+		int permitted = Integer.parseInt(options.getOrDefault("permitted", String.valueOf(guilds * 3 / 4)));
+		int joins = Integer.parseInt(options.getOrDefault("joins", "20"));
+		int messages = Integer.parseInt(options.getOrDefault("messages", "50"));
+		int limit = Integer.parseInt(options.getOrDefault("limit", "5"));
+		long window = Long.parseLong(options.getOrDefault("window", "1000"));
+		int forceEvery = Integer.parseInt(options.getOrDefault("force-429-every", "0"));
+
+		String apiBase = ConfigLoader.get("DISCORD_API_BASE");
+		String gatewayUrl = ConfigLoader.get("DISCORD_GATEWAY_URL");
+		if (apiBase == null || !apiBase.startsWith("http://127.0.0.1:")
+				|| gatewayUrl == null || !gatewayUrl.startsWith("ws://127.0.0.1:")) {
+			throw new IllegalStateException("DISCORD_API_BASE / DISCORD_GATEWAY_URL をスタンドイン"
+					+ "（http://127.0.0.1:<port>/api, ws://127.0.0.1:<port>）に向けてください");
+		}
+
+		BotLauncher.initialize();
+		seedGuildPermissions(guilds + joins, permitted, joins);
+
+		RateLimitPolicy rateLimits = new RateLimitPolicy(limit, window, forceEvery);
+		try (DiscordStandIn standIn = new DiscordStandIn(URI.create(apiBase).getPort(),
+				URI.create(gatewayUrl).getPort(), guilds, rateLimits)) {
+			// ========== 1. 起動 ==========
+			long buildStart = System.nanoTime();
+			JDA jda = BotLauncher.build();
+			jda.awaitReady();
+			long readyAt = System.nanoTime();
+			BotLauncher.awaitReadyAndRegister(jda);
+			long syncExpected = permitted;
+			long syncDone = waitFor(() -> standIn.getGuildCommandSyncs().size() >= syncExpected, 120);
+			long lastSync = standIn.getGuildCommandSyncs().values().stream().mapToLong(Long::longValue).max().orElse(readyAt);
+
+			System.out.println();
+			System.out.println("🚀 起動");
+			System.out.printf("  %-40s %10.1f ms%n", "build() → READY（" + jda.getGuilds().size() + " guilds）",
+					(readyAt - buildStart) / 1e6);
+			System.out.printf("  %-40s %10.1f ms%s%n", "READY → 全ギルドのコマンド同期（" + syncExpected + " 件）",
+					(lastSync - readyAt) / 1e6, syncDone < 0 ? "（タイムアウト）" : "");
+			System.out.printf("  %-40s %10d%n", "グローバルコマンド同期", standIn.getGlobalCommandSyncCount());
+
+			// ========== 2. 参加 ==========
+			List<Double> joinLatencies = new ArrayList<>();
+			for (int i = 0; i < joins; i++) {
+				long guildId = DiscordStandIn.guildId(guilds + i);
+				long sent = System.nanoTime();
+				standIn.joinGuild(guildId);
+				waitFor(() -> standIn.getGuildCommandSyncs().containsKey(guildId), 30);
+				Long synced = standIn.getGuildCommandSyncs().get(guildId);
+				if (synced != null) {
+					joinLatencies.add((synced - sent) / 1e6);
+				}
+			}
+			System.out.println();
+			System.out.println("🏠 参加（GUILD_CREATE → コマンド登録）");
+			printLatencies(joinLatencies, joins);
+
+			// ========== 3. 通知 ==========
+			System.out.println();
+			System.out.println("📢 通知チャンネルへの連続送信（" + messages + " 件、上限 " + limit + " 回 / " + window + " ms）");
+			String channelId = ConfigLoader.get("FEEDBACK_NOTIFY_CHANNEL_ID");
+			TextChannel channel = channelId == null ? null : jda.getTextChannelById(channelId);
+			if (channel == null) {
+				System.out.println("  ⚠️ FEEDBACK_NOTIFY_CHANNEL_ID のチャンネルが見つからないため省略しました");
+			} else {
+				long before429 = standIn.getRateLimitedCount();
+				long burstStart = System.nanoTime();
+				List<Double> sendLatencies = new ArrayList<>();
+				List<CompletableFuture<?>> sends = new ArrayList<>();
+				for (int i = 0; i < messages; i++) {
+					long sent = System.nanoTime();
+					sends.add(channel.sendMessageEmbeds(new EmbedBuilder().setTitle("📬 ソーク " + i).build())
+							.submit()
+							.thenRun(() -> {
+								synchronized (sendLatencies) {
+									sendLatencies.add((System.nanoTime() - sent) / 1e6);
+								}
+							}));
+				}
+				CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+				double elapsed = (System.nanoTime() - burstStart) / 1e6;
+				printLatencies(sendLatencies, messages);
+				System.out.printf("  %-40s %10.1f ms（理論下限 %.0f ms）%n", "全件完了", elapsed,
+						limit > 0 ? Math.max(0, Math.ceil((double) messages / limit) - 1) * window : 0.0);
+				System.out.printf("  %-40s %10d%n", "受け取った 429", standIn.getRateLimitedCount() - before429);
+			}
+
+			// ========== 4. 名前解決 ==========
+			resolveNames(jda, standIn, Integer.parseInt(options.getOrDefault("lookups", "20")));
+
+			// ========== まとめ ==========
+			System.out.println();
+			System.out.println("📊 スタンドインが受けたリクエスト（ルートごと）");
+			new TreeMap<>(standIn.getRequestsByRoute())
+					.forEach((route, count) -> System.out.printf("  %-64s %d%n", route, count.sum()));
+			System.out.printf("  %-64s %d%n", "429 (合計)", standIn.getRateLimitedCount());
+			if (!standIn.getUnknownRoutes().isEmpty()) {
+				System.out.println("⚠️ 未対応のルート: " + standIn.getUnknownRoutes().keySet());
+			}
+
+			jda.shutdown();
+			jda.awaitShutdown(10, TimeUnit.SECONDS);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * 🔎 EntityResolver の同時リクエストのまとめ方を確認する
+	 *
+	 * - distinct 人＋存在しない1人をそれぞれ10回ずつ同時に引く → REST は distinct＋1 回（2巡目はキャッシュで0回）
+	 * - distinct×10 人のメンバーを1人ずつ同時に引く → ゲートウェイのメンバー要求は100人ごとに1回
+	 */
+	private static void resolveNames(JDA jda, DiscordStandIn standIn, int distinct) throws Exception {
+		System.out.println();
+		System.out.println("🔎 名前解決（EntityResolver）");
+		for (int round = 1; round <= 2; round++) {
+			long restBefore = userRequests(standIn);
+			long start = System.nanoTime();
+			List<CompletableFuture<User>> lookups = new ArrayList<>();
+			for (int repeat = 0; repeat < 10; repeat++) {
+				for (int i = 0; i < distinct; i++) {
+					lookups.add(EntityResolver.retrieveUser(jda, Long.toString(LOOKUP_USER_BASE + i)));
+				}
+				lookups.add(EntityResolver.retrieveUser(jda, Long.toString(DiscordStandIn.UNKNOWN_USER_ID)));
+			}
+			CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+			long found = lookups.stream().filter(lookup -> lookup.join() != null).count();
+			System.out.printf("  %-40s %10.1f ms（REST %d 回、見つかった %d 件）%n",
+					round + "巡目: " + lookups.size() + " 件（" + (distinct + 1) + " 人）", (System.nanoTime() - start) / 1e6,
+					userRequests(standIn) - restBefore, found);
+		}
+
+		Guild guild = jda.getGuildById(DiscordStandIn.guildId(0));
+		if (guild == null) {
+			return;
+		}
+		long chunksBefore = standIn.getMemberRequestCount();
+		long start = System.nanoTime();
+		List<CompletableFuture<Member>> members = new ArrayList<>();
+		for (int i = 0; i < distinct * 10; i++) {
+			members.add(EntityResolver.retrieveMember(guild, Long.toString(LOOKUP_MEMBER_BASE + i)));
+		}
+		CompletableFuture.allOf(members.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+		long found = members.stream().filter(member -> member.join() != null).count();
+		System.out.printf("  %-40s %10.1f ms（メンバー要求 %d 回、メンバー %d 人）%n",
+				"メンバー " + members.size() + " 人", (System.nanoTime() - start) / 1e6,
+				standIn.getMemberRequestCount() - chunksBefore, found);
+	}
+
+	private static long userRequests(DiscordStandIn standIn) {
+		LongAdder count = standIn.getRequestsByRoute().get("GET /users/{id}");
+		return count != null ? count.sum() : 0;
+	}
+
+	/**
+	 * 🌱 先頭 permitted 件のギルドと、後から参加するギルド全てに制限付きコマンドを許可する
+	 */
+	private static void seedGuildPermissions(int totalGuilds, int permitted, int joins) {
+		List<PermissionGrant> grants = new ArrayList<>();
+		for (int i = 0; i < totalGuilds; i++) {
+			if (i >= permitted && i < totalGuilds - joins) {
+				continue;
+			}
+			String guildId = Long.toString(DiscordStandIn.guildId(i));
+			grants.add(new PermissionGrant(true, guildId, "feedbacklist"));
+			grants.add(new PermissionGrant(true, guildId, "blockuser"));
+		}
+		DatabaseHelper.addPermissions(grants, PermissionEvent.SYSTEM_ACTOR);
+	}
+
+	/**
+	 * ⏳ 条件が満たされるまで待つ（満たされたら経過ナノ秒、タイムアウトなら -1）
+	 */
+	private static long waitFor(BooleanSupplier condition, int timeoutSeconds)
+			throws InterruptedException {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				return -1;
+			}
+			Thread.sleep(2);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void printLatencies(List<Double> latencies, int expected) {
+		double[] sorted = latencies.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+		System.out.printf("  %-40s %10d / %d%n", "完了", sorted.length, expected);
+		if (sorted.length == 0) {
+			return;
+		}
+		System.out.printf("  %-40s %10.1f / %.1f / %.1f ms%n", "p50 / p95 / max", percentile(sorted, 0.50),
+				percentile(sorted, 0.95), sorted[sorted.length - 1]);
+	}
+
+	private static double percentile(double[] sorted, double p) {
+		return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+	}
+
+	private static Map<String, String> parseArgs(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("不明な引数です: " + Arrays.toString(args));
+			}
+			options.put(args[i].substring(2), args[i + 1]);
+		}
+		return options;
+	}
+}
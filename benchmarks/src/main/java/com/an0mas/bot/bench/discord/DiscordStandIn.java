@@ -0,0 +1,470 @@
+package com.an0mas.bot.bench.discord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 🏗️ Discord の REST / ゲートウェイのローカル・スタンドイン
+ *
+ * JDA のベースURLをここへ向けると（{@code DISCORD_API_BASE=http://127.0.0.1:<port>/api}）、本物の Discord に
+ * 接続せずにログイン・ギルド読み込み・コマンド同期・メッセージ送信を動かせる。
+ * 全ての REST リクエストにレート制限ヘッダーを付け、{@link RateLimitPolicy} に従って 429 を返す。
+ *
+ * 対応しているルート:
+ * <ul>
+ * <li>GET users/@me, gateway, gateway/bot, applications/@me</li>
+ * <li>GET users/{user}（{@link #UNKNOWN_USER_ID} だけは Unknown User の 404）</li>
+ * <li>PUT applications/{app}/commands, applications/{app}/guilds/{guild}/commands（送られたコマンドをそのまま返す）</li>
+ * <li>POST channels/{channel}/messages</li>
+ * <li>POST interactions/{id}/{token}/callback</li>
+ * </ul>
+ * それ以外は 404 を返し、{@link #getUnknownRoutes()} に記録する。
+ *
+ * ゲートウェイのメンバー要求（user_ids 指定）には、偶数のユーザーIDだけをメンバーとして返す。
+ */
+public class DiscordStandIn implements AutoCloseable {
+
+	public static final long BOT_USER_ID = 900_000_000_000_000_001L;
+	public static final long APPLICATION_ID = BOT_USER_ID;
+	/** 👻 存在しないユーザー（GET users/{user} が 10013 を返す） */
+	public static final long UNKNOWN_USER_ID = 900_000_000_000_000_404L;
+
+	private static final Pattern SNOWFLAKE = Pattern.compile("/\\d{15,}");
+	private static final Pattern GUILD_COMMANDS = Pattern.compile("/applications/\\d+/guilds/(\\d+)/commands");
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final HttpServer http;
+	private final StandInGateway gateway;
+	private final RateLimitPolicy rateLimits;
+	private final List<Long> guildIds = new CopyOnWriteArrayList<>();
+	private final AtomicLong snowflakes = new AtomicLong(950_000_000_000_000_000L);
+
+	private final Map<String, LongAdder> requestsByRoute = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> unknownRoutes = new ConcurrentHashMap<>();
+	private final LongAdder rateLimited = new LongAdder();
+	/** ギルドID → 最後にコマンド一覧を受け取った時刻（System.nanoTime） */
+	private final Map<Long, Long> guildCommandSyncs = new ConcurrentHashMap<>();
+	private final AtomicLong globalCommandSyncs = new AtomicLong();
+	private final LongAdder messagesReceived = new LongAdder();
+	private final LongAdder memberRequests = new LongAdder();
+
+	/**
+	 * @param restPort REST のポート（0 なら空きポート）
+	 * @param gatewayPort ゲートウェイのポート（0 なら空きポート）
+	 * @param guildCount 起動時に READY で渡すギルド数
+	 * @param rateLimits レート制限の方針
+	 */
+	public DiscordStandIn(int restPort, int gatewayPort, int guildCount, RateLimitPolicy rateLimits) throws IOException {
+		this.rateLimits = rateLimits;
+		for (int i = 0; i < guildCount; i++) {
+			guildIds.add(guildId(i));
+		}
+		this.gateway = new StandInGateway(gatewayPort, this::onIdentify, this::onRequestMembers);
+		this.http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), restPort), 128);
+		http.createContext("/api/", this::handleRest);
+		http.setExecutor(Executors.newFixedThreadPool(8));
+		http.start();
+	}
+
+	/** 🔢 スタンドインのギルドID（i 番目） */
+	public static long guildId(int i) {
+		return 800_000_000_000_000_000L + i;
+	}
+
+	/** 🔢 ギルドのテキストチャンネルID（ギルドごとに1つ） */
+	public static long channelId(long guildId) {
+		return guildId + 50_000_000_000_000_000L;
+	}
+
+	public String getApiBase() {
+		return "http://127.0.0.1:" + http.getAddress().getPort() + "/api";
+	}
+
+	/**
+	 * 🏠 Bot がギルドに参加したことにする（GUILD_CREATE を配信 → JDA の GuildJoinEvent）
+	 */
+	public void joinGuild(long guildId) {
+		guildIds.add(guildId);
+		gateway.dispatchAll("GUILD_CREATE", guild(guildId));
+	}
+
+	// ========== 計測値 ==========
+
+	public Map<String, LongAdder> getRequestsByRoute() {
+		return requestsByRoute;
+	}
+
+	public Map<String, LongAdder> getUnknownRoutes() {
+		return unknownRoutes;
+	}
+
+	public long getRateLimitedCount() {
+		return rateLimited.sum();
+	}
+
+	public Map<Long, Long> getGuildCommandSyncs() {
+		return guildCommandSyncs;
+	}
+
+	public long getGlobalCommandSyncCount() {
+		return globalCommandSyncs.get();
+	}
+
+	public long getMessagesReceived() {
+		return messagesReceived.sum();
+	}
+
+	/** 📦 受け取ったメンバー要求（op 8）の回数 */
+	public long getMemberRequestCount() {
+		return memberRequests.sum();
+	}
+
+	@Override
+	public void close() throws IOException {
+		gateway.close();
+		http.stop(0);
+	}
+
+	// ========== ゲートウェイ ==========
+
+	private void onIdentify(StandInGateway.Session session, JsonNode identify) {
+		ObjectNode ready = mapper.createObjectNode();
+		ready.put("v", 10);
+		ready.set("user", selfUser());
+		ArrayNode guilds = ready.putArray("guilds");
+		for (long id : guildIds) {
+			guilds.addObject().put("id", Long.toString(id)).put("unavailable", true);
+		}
+		ready.put("session_id", "standin-session");
+		ready.put("resume_gateway_url", "ws://127.0.0.1:" + gateway.getPort());
+		ready.putObject("application").put("id", Long.toString(APPLICATION_ID)).put("flags", 0);
+		ready.putArray("private_channels");
+		session.dispatch("READY", ready);
+
+		for (long id : guildIds) {
+			session.dispatch("GUILD_CREATE", guild(id));
+		}
+	}
+
+	/**
+	 * 📦 REQUEST_GUILD_MEMBERS（user_ids 指定）に1チャンクで答える（偶数のIDだけメンバー、残りは not_found）
+	 */
+	private void onRequestMembers(StandInGateway.Session session, JsonNode request) {
+		memberRequests.increment();
+		ObjectNode chunk = mapper.createObjectNode();
+		chunk.put("guild_id", request.path("guild_id").asText());
+		ArrayNode members = chunk.putArray("members");
+		ArrayNode notFound = chunk.putArray("not_found");
+		for (JsonNode id : request.path("user_ids")) {
+			long userId = id.asLong();
+			if (userId % 2 == 0) {
+				ObjectNode member = members.addObject();
+				member.set("user", user(userId));
+				member.putArray("roles");
+				member.put("joined_at", OffsetDateTime.now().toString());
+				member.put("deaf", false);
+				member.put("mute", false);
+				member.put("flags", 0);
+			} else {
+				notFound.add(Long.toString(userId));
+			}
+		}
+		chunk.put("chunk_index", 0);
+		chunk.put("chunk_count", 1);
+		if (request.has("nonce")) {
+			chunk.put("nonce", request.path("nonce").asText());
+		}
+		session.dispatch("GUILD_MEMBERS_CHUNK", chunk);
+	}
+
+	private ObjectNode user(long id) {
+		ObjectNode user = mapper.createObjectNode();
+		user.put("id", Long.toString(id));
+		user.put("username", "standin-user-" + id);
+		user.put("discriminator", "0");
+		user.putNull("global_name");
+		user.putNull("avatar");
+		user.put("bot", false);
+		user.put("flags", 0);
+		return user;
+	}
+
+	private ObjectNode selfUser() {
+		ObjectNode user = mapper.createObjectNode();
+		user.put("id", Long.toString(BOT_USER_ID));
+		user.put("username", "standin-bot");
+		user.put("discriminator", "0000");
+		user.putNull("global_name");
+		user.putNull("avatar");
+		user.put("bot", true);
+		user.put("verified", true);
+		user.put("mfa_enabled", false);
+		user.put("flags", 0);
+		return user;
+	}
+
+	private ObjectNode guild(long id) {
+		String guildId = Long.toString(id);
+		ObjectNode guild = mapper.createObjectNode();
+		guild.put("id", guildId);
+		guild.put("name", "standin-guild-" + guildId);
+		guild.putNull("icon");
+		guild.putNull("splash");
+		guild.putNull("discovery_splash");
+		guild.putNull("banner");
+		guild.putNull("description");
+		guild.putNull("vanity_url_code");
+		guild.put("owner_id", Long.toString(BOT_USER_ID));
+		guild.putNull("afk_channel_id");
+		guild.put("afk_timeout", 300);
+		guild.put("verification_level", 0);
+		guild.put("default_message_notifications", 0);
+		guild.put("explicit_content_filter", 0);
+		guild.put("mfa_level", 0);
+		guild.put("nsfw_level", 0);
+		guild.put("premium_tier", 0);
+		guild.put("premium_subscription_count", 0);
+		guild.put("preferred_locale", "ja");
+		guild.put("max_members", 500_000);
+		guild.put("member_count", 1);
+		guild.put("large", false);
+		guild.put("unavailable", false);
+		guild.put("joined_at", OffsetDateTime.now().toString());
+		guild.putNull("system_channel_id");
+		guild.putNull("rules_channel_id");
+		guild.putNull("safety_alerts_channel_id");
+		guild.put("system_channel_flags", 0);
+		guild.putArray("features");
+		guild.putArray("emojis");
+		guild.putArray("stickers");
+		guild.putArray("voice_states");
+		guild.putArray("presences");
+		guild.putArray("threads");
+		guild.putArray("stage_instances");
+		guild.putArray("guild_scheduled_events");
+
+		// @everyone ロールの ID はギルドIDと同じ
+		guild.putArray("roles").addObject()
+				.put("id", guildId)
+				.put("name", "@everyone")
+				.put("color", 0)
+				.put("hoist", false)
+				.put("position", 0)
+				.put("permissions", "1071698660929")
+				.put("managed", false)
+				.put("mentionable", false)
+				.put("flags", 0);
+
+		guild.putArray("channels").addObject()
+				.put("id", Long.toString(channelId(id)))
+				.put("type", 0)
+				.put("guild_id", guildId)
+				.put("name", "general")
+				.put("position", 0)
+				.put("nsfw", false)
+				.put("rate_limit_per_user", 0)
+				.putNull("topic")
+				.putNull("parent_id")
+				.putNull("last_message_id")
+				.putArray("permission_overwrites");
+
+		ObjectNode self = guild.putArray("members").addObject();
+		self.set("user", selfUser());
+		self.putArray("roles");
+		self.put("joined_at", OffsetDateTime.now().toString());
+		self.put("deaf", false);
+		self.put("mute", false);
+		self.put("flags", 0);
+		return guild;
+	}
+
+	// ========== REST ==========
+
+	private void handleRest(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath().replaceFirst("^/api(/v\\d+)?", "");
+			String route = method + " " + routeTemplate(path);
+			requestsByRoute.computeIfAbsent(route, k -> new LongAdder()).increment();
+
+			RateLimitPolicy.Decision decision = rateLimits.acquire(bucketKey(method, path));
+			// JDA は Via ヘッダーの無い 429 を Cloudflare の制限（全リクエスト停止）として扱うため、本物と同じく付ける
+			exchange.getResponseHeaders().add("Via", "1.1 google");
+			exchange.getResponseHeaders().add("X-RateLimit-Bucket", decision.bucket());
+			exchange.getResponseHeaders().add("X-RateLimit-Limit", Integer.toString(decision.limit()));
+			exchange.getResponseHeaders().add("X-RateLimit-Remaining", Integer.toString(decision.remaining()));
+			double resetAfter = decision.resetAfterMillis() / 1000.0;
+			exchange.getResponseHeaders().add("X-RateLimit-Reset-After", Double.toString(resetAfter));
+			exchange.getResponseHeaders().add("X-RateLimit-Reset",
+					Double.toString((System.currentTimeMillis() + decision.resetAfterMillis()) / 1000.0));
+
+			byte[] body = readBody(exchange.getRequestBody());
+			if (!decision.allowed()) {
+				rateLimited.increment();
+				exchange.getResponseHeaders().add("Retry-After", Long.toString((long) Math.ceil(resetAfter)));
+				exchange.getResponseHeaders().add("X-RateLimit-Scope", "user");
+				ObjectNode error = mapper.createObjectNode();
+				error.put("message", "You are being rate limited.");
+				error.put("retry_after", resetAfter);
+				error.put("global", false);
+				respond(exchange, 429, error);
+				return;
+			}
+
+			route(exchange, method, path, body);
+		}
+	}
+
+	private void route(HttpExchange exchange, String method, String path, byte[] body) throws IOException {
+		Matcher guildCommands = GUILD_COMMANDS.matcher(path);
+
+		if (method.equals("GET") && path.equals("/users/@me")) {
+			respond(exchange, 200, selfUser());
+		} else if (method.equals("GET") && path.matches("/users/\\d+")) {
+			long userId = Long.parseLong(path.substring("/users/".length()));
+			if (userId == UNKNOWN_USER_ID) {
+				ObjectNode error = mapper.createObjectNode();
+				error.put("message", "Unknown User");
+				error.put("code", 10013);
+				respond(exchange, 404, error);
+			} else {
+				respond(exchange, 200, user(userId));
+			}
+		} else if (method.equals("GET") && (path.equals("/gateway") || path.equals("/gateway/bot"))) {
+			ObjectNode gatewayInfo = mapper.createObjectNode();
+			gatewayInfo.put("url", "ws://127.0.0.1:" + gateway.getPort());
+			gatewayInfo.put("shards", 1);
+			gatewayInfo.putObject("session_start_limit")
+					.put("total", 1000).put("remaining", 1000).put("reset_after", 0).put("max_concurrency", 1);
+			respond(exchange, 200, gatewayInfo);
+		} else if (method.equals("GET") && path.equals("/applications/@me")) {
+			ObjectNode application = mapper.createObjectNode();
+			application.put("id", Long.toString(APPLICATION_ID));
+			application.put("name", "standin-bot");
+			application.put("description", "");
+			application.putNull("icon");
+			application.put("bot_public", true);
+			application.put("bot_require_code_grant", false);
+			application.put("flags", 0);
+			application.set("owner", selfUser());
+			application.set("bot", selfUser());
+			respond(exchange, 200, application);
+		} else if (method.equals("PUT") && guildCommands.matches()) {
+			guildCommandSyncs.put(Long.parseLong(guildCommands.group(1)), System.nanoTime());
+			respond(exchange, 200, echoCommands(body, guildCommands.group(1)));
+		} else if (method.equals("PUT") && path.matches("/applications/\\d+/commands")) {
+			globalCommandSyncs.incrementAndGet();
+			respond(exchange, 200, echoCommands(body, null));
+		} else if (method.equals("POST") && path.matches("/channels/\\d+/messages")) {
+			messagesReceived.increment();
+			respond(exchange, 200, message(path.split("/")[2], mapper.readTree(body)));
+		} else if (method.equals("POST") && path.matches("/interactions/\\d+/[^/]+/callback")) {
+			exchange.sendResponseHeaders(204, -1);
+		} else {
+			unknownRoutes.computeIfAbsent(method + " " + routeTemplate(path), k -> new LongAdder()).increment();
+			ObjectNode error = mapper.createObjectNode();
+			error.put("message", "404: Not Found (stand-in)");
+			error.put("code", 0);
+			respond(exchange, 404, error);
+		}
+	}
+
+	/**
+	 * 🧾 送られたコマンド定義に ID などを付けてそのまま返す（bulk overwrite の応答）
+	 */
+	private ArrayNode echoCommands(byte[] body, String guildId) throws IOException {
+		ArrayNode commands = (ArrayNode) mapper.readTree(body);
+		for (JsonNode node : commands) {
+			ObjectNode command = (ObjectNode) node;
+			command.put("id", Long.toString(snowflakes.incrementAndGet()));
+			command.put("application_id", Long.toString(APPLICATION_ID));
+			command.put("version", Long.toString(snowflakes.incrementAndGet()));
+			if (!command.has("type")) {
+				command.put("type", 1);
+			}
+			if (guildId != null) {
+				command.put("guild_id", guildId);
+			}
+		}
+		return commands;
+	}
+
+	private ObjectNode message(String channelId, JsonNode request) {
+		ObjectNode message = mapper.createObjectNode();
+		message.put("id", Long.toString(snowflakes.incrementAndGet()));
+		message.put("channel_id", channelId);
+		message.set("author", selfUser());
+		message.put("content", request.path("content").asText(""));
+		message.put("timestamp", OffsetDateTime.now().toString());
+		message.putNull("edited_timestamp");
+		message.put("tts", false);
+		message.put("mention_everyone", false);
+		message.putArray("mentions");
+		message.putArray("mention_roles");
+		message.putArray("attachments");
+		ArrayNode embeds = message.putArray("embeds");
+		for (JsonNode embed : request.path("embeds")) {
+			embeds.add(((ObjectNode) embed.deepCopy()).put("type", "rich"));
+		}
+		message.putArray("components");
+		message.put("pinned", false);
+		message.put("type", 0);
+		message.put("flags", 0);
+		return message;
+	}
+
+	/**
+	 * 🧩 集計用のルート名（ID を {id} に伏せる）
+	 */
+	private static String routeTemplate(String path) {
+		return SNOWFLAKE.matcher(path).replaceAll("/{id}");
+	}
+
+	/**
+	 * 🪣 レート制限のバケット（Discord と同じく、チャンネル・ギルド・Webhook の ID はバケットを分ける）
+	 */
+	private static String bucketKey(String method, String path) {
+		Matcher major = Pattern.compile("^/(channels|guilds|webhooks)/(\\d+)").matcher(path);
+		String majorParam = major.find() ? major.group(2) : "";
+		Matcher guildCommands = GUILD_COMMANDS.matcher(path);
+		if (guildCommands.matches()) {
+			majorParam = guildCommands.group(1);
+		}
+		return method + " " + routeTemplate(path) + " " + majorParam;
+	}
+
+	private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+		byte[] bytes = mapper.writeValueAsBytes(body);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static byte[] readBody(InputStream in) throws IOException {
+		try (in) {
+			return in.readAllBytes();
+		}
+	}
+}
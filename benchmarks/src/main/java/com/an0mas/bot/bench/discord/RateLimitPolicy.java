@@ -0,0 +1,71 @@
+package com.an0mas.bot.bench.discord;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🚦 スタンドインのレート制限（Discord と同じく「バケットごとに窓あたり N 回」）
+ *
+ * バケットは「HTTPメソッド + ルート（メジャーパラメーター以外のIDを伏せたもの）」。
+ * 上限を超えたリクエストには 429 を返す。検証用に N 回に1回、強制的に 429 を返すこともできる。
+ */
+public class RateLimitPolicy {
+
+	private final int limit;
+	private final long windowMillis;
+	private final int forceEvery;
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final AtomicLong requests = new AtomicLong();
+
+	/**
+	 * @param limit 窓あたりの上限（0 以下なら制限なし）
+	 * @param windowMillis 窓の長さ（ミリ秒）
+	 * @param forceEvery N 回に1回強制的に 429（0 なら無効）
+	 */
+	public RateLimitPolicy(int limit, long windowMillis, int forceEvery) {
+		this.limit = limit;
+		this.windowMillis = windowMillis;
+		this.forceEvery = forceEvery;
+	}
+
+	/**
+	 * 🎫 判定結果（レスポンスヘッダーの値）
+	 *
+	 * @param allowed 処理してよいか（false なら 429）
+	 * @param bucket バケットID（X-RateLimit-Bucket）
+	 * @param limit 上限（X-RateLimit-Limit）
+	 * @param remaining 残り回数（X-RateLimit-Remaining）
+	 * @param resetAfterMillis 窓がリセットされるまで（X-RateLimit-Reset-After / retry_after）
+	 */
+	public record Decision(boolean allowed, String bucket, int limit, int remaining, long resetAfterMillis) {
+	}
+
+	public Decision acquire(String bucketKey) {
+		long now = System.currentTimeMillis();
+		String bucketId = Integer.toHexString(bucketKey.hashCode());
+		boolean forced = forceEvery > 0 && requests.incrementAndGet() % forceEvery == 0;
+		if (limit <= 0) {
+			return new Decision(!forced, bucketId, Integer.MAX_VALUE, Integer.MAX_VALUE, forced ? windowMillis : 0);
+		}
+
+		Bucket bucket = buckets.computeIfAbsent(bucketKey, k -> new Bucket());
+		synchronized (bucket) {
+			if (now >= bucket.resetAt) {
+				bucket.resetAt = now + windowMillis;
+				bucket.used = 0;
+			}
+			long resetAfter = bucket.resetAt - now;
+			if (forced || bucket.used >= limit) {
+				return new Decision(false, bucketId, limit, 0, resetAfter);
+			}
+			bucket.used++;
+			return new Decision(true, bucketId, limit, limit - bucket.used, resetAfter);
+		}
+	}
+
+	private static final class Bucket {
+		long resetAt;
+		int used;
+	}
+}
@@ -0,0 +1,282 @@
+package com.an0mas.bot.bench.discord;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.zip.Deflater;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 🔌 ゲートウェイ（WebSocket）のスタンドイン
+ *
+ * JDA が使う範囲だけを実装する: HELLO → IDENTIFY → READY（＋ GUILD_CREATE）、ハートビートの ACK、
+ * RESUME、メンバーの要求（op 8 → GUILD_MEMBERS_CHUNK）、任意のイベント配信。{@code compress=zlib-stream} にも対応するので、JDA 側の設定は本番のままでよい。
+ */
+class StandInGateway {
+
+	private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+	private static final int HEARTBEAT_INTERVAL_MS = 41_250;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final ServerSocket serverSocket;
+	private final List<Session> sessions = new CopyOnWriteArrayList<>();
+	private final BiConsumer<Session, JsonNode> onIdentify;
+	private final BiConsumer<Session, JsonNode> onRequestMembers;
+	private volatile boolean running = true;
+
+	/**
+	 * @param onIdentify IDENTIFY を受け取ったときの処理（READY などを送る）
+	 * @param onRequestMembers REQUEST_GUILD_MEMBERS を受け取ったときの処理（GUILD_MEMBERS_CHUNK を送る）
+	 */
+	StandInGateway(int port, BiConsumer<Session, JsonNode> onIdentify, BiConsumer<Session, JsonNode> onRequestMembers)
+			throws IOException {
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		this.onIdentify = onIdentify;
+		this.onRequestMembers = onRequestMembers;
+		Thread acceptor = new Thread(this::acceptLoop, "standin-gateway");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * 📣 接続中の全セッションへディスパッチイベント（op 0）を送る
+	 */
+	void dispatchAll(String type, JsonNode data) {
+		for (Session session : sessions) {
+			session.dispatch(type, data);
+		}
+	}
+
+	void close() throws IOException {
+		running = false;
+		serverSocket.close();
+		for (Session session : sessions) {
+			session.close();
+		}
+	}
+
+	private void acceptLoop() {
+		while (running) {
+			try {
+				Socket socket = serverSocket.accept();
+				Thread reader = new Thread(() -> handle(socket), "standin-gateway-session");
+				reader.setDaemon(true);
+				reader.start();
+			} catch (IOException e) {
+				if (running) {
+					System.err.println("⚠️ ゲートウェイの接続受付に失敗しました: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void handle(Socket socket) {
+		Session session = null;
+		try (socket) {
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			String request = readHttpHeader(in);
+			String key = header(request, "Sec-WebSocket-Key");
+			if (key == null) {
+				return;
+			}
+			String accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+					.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII)));
+			OutputStream out = socket.getOutputStream();
+			out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+					+ "Sec-WebSocket-Accept: " + accept + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			session = new Session(socket, out, request.lines().findFirst().orElse("").contains("compress=zlib-stream"));
+			sessions.add(session);
+
+			ObjectNode hello = mapper.createObjectNode();
+			hello.put("op", 10);
+			hello.putObject("d").put("heartbeat_interval", HEARTBEAT_INTERVAL_MS);
+			session.send(hello);
+
+			readFrames(new DataInputStream(in), session);
+		} catch (Exception e) {
+			if (running) {
+				System.err.println("⚠️ ゲートウェイのセッションが終了しました: " + e.getMessage());
+			}
+		} finally {
+			if (session != null) {
+				sessions.remove(session);
+			}
+		}
+	}
+
+	private void readFrames(DataInputStream in, Session session) throws IOException {
+		ByteArrayOutputStream message = new ByteArrayOutputStream();
+		while (running) {
+			int b0 = in.readUnsignedByte();
+			int b1 = in.readUnsignedByte();
+			boolean fin = (b0 & 0x80) != 0;
+			int opcode = b0 & 0x0F;
+			long length = b1 & 0x7F;
+			if (length == 126) {
+				length = in.readUnsignedShort();
+			} else if (length == 127) {
+				length = in.readLong();
+			}
+			byte[] mask = new byte[4];
+			if ((b1 & 0x80) != 0) {
+				in.readFully(mask);
+			}
+			byte[] payload = new byte[(int) length];
+			in.readFully(payload);
+			for (int i = 0; i < payload.length; i++) {
+				payload[i] ^= mask[i % 4];
+			}
+
+			switch (opcode) {
+			case 0x8 -> { // close
+				session.writeFrame(0x8, payload);
+				return;
+			}
+			case 0x9 -> session.writeFrame(0xA, payload); // ping → pong
+			case 0xA -> {
+			}
+			default -> {
+				message.write(payload);
+				if (fin) {
+					onMessage(session, mapper.readTree(message.toByteArray()));
+					message.reset();
+				}
+			}
+			}
+		}
+	}
+
+	private void onMessage(Session session, JsonNode payload) {
+		int op = payload.path("op").asInt();
+		switch (op) {
+		case 1 -> { // heartbeat → ACK
+			ObjectNode ack = mapper.createObjectNode();
+			ack.put("op", 11);
+			session.send(ack);
+		}
+		case 2 -> onIdentify.accept(session, payload.path("d"));
+		case 6 -> session.dispatch("RESUMED", mapper.createObjectNode());
+		case 8 -> onRequestMembers.accept(session, payload.path("d"));
+		default -> {
+			// op 3（プレゼンス更新）などは受け取るだけ
+		}
+		}
+	}
+
+	private static String readHttpHeader(InputStream in) throws IOException {
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		int matched = 0;
+		while (matched < 4) {
+			int b = in.read();
+			if (b < 0) {
+				throw new IOException("ハンドシェイク中に切断されました");
+			}
+			header.write(b);
+			matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : (b == '\r' ? 1 : 0);
+		}
+		return header.toString(StandardCharsets.US_ASCII);
+	}
+
+	private static String header(String request, String name) {
+		return request.lines()
+				.filter(line -> line.regionMatches(true, 0, name + ":", 0, name.length() + 1))
+				.map(line -> line.substring(name.length() + 1).trim())
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * 🧵 接続1本分（送信はスレッドセーフ）
+	 */
+	class Session {
+		private final Socket socket;
+		private final OutputStream out;
+		private final Deflater deflater;
+		private long sequence;
+
+		Session(Socket socket, OutputStream out, boolean zlibStream) {
+			this.socket = socket;
+			this.out = out;
+			this.deflater = zlibStream ? new Deflater() : null;
+		}
+
+		/**
+		 * 📨 ディスパッチイベント（op 0, 連番付き）
+		 */
+		synchronized void dispatch(String type, JsonNode data) {
+			ObjectNode payload = mapper.createObjectNode();
+			payload.put("op", 0);
+			payload.put("t", type);
+			payload.put("s", ++sequence);
+			payload.set("d", data);
+			send(payload);
+		}
+
+		synchronized void send(JsonNode payload) {
+			try {
+				byte[] json = mapper.writeValueAsBytes(payload);
+				if (deflater == null) {
+					writeFrame(0x1, json);
+					return;
+				}
+				// zlib-stream: 接続全体で1つの圧縮ストリーム。メッセージごとに SYNC_FLUSH（末尾 00 00 ff ff）
+				deflater.setInput(json);
+				ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				int n;
+				while ((n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+					compressed.write(buffer, 0, n);
+				}
+				writeFrame(0x2, compressed.toByteArray());
+			} catch (IOException e) {
+				close();
+			}
+		}
+
+		synchronized void writeFrame(int opcode, byte[] payload) throws IOException {
+			out.write(0x80 | opcode);
+			if (payload.length < 126) {
+				out.write(payload.length);
+			} else if (payload.length < 65_536) {
+				out.write(126);
+				out.write(payload.length >>> 8);
+				out.write(payload.length & 0xFF);
+			} else {
+				out.write(127);
+				for (int shift = 56; shift >= 0; shift -= 8) {
+					out.write((int) ((long) payload.length >>> shift) & 0xFF);
+				}
+			}
+			out.write(payload);
+			out.flush();
+		}
+
+		void close() {
+			try {
+				socket.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}
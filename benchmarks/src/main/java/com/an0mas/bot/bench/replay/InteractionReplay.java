@@ -0,0 +1,273 @@
+package com.an0mas.bot.bench.replay;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.an0mas.bot.bench.BenchmarkDatabase;
+import com.an0mas.bot.command.CommandLoader;
+import com.an0mas.bot.command.CommandRegistry;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.PoolStats;
+import com.an0mas.bot.listener.ButtonInteractionListener;
+import com.an0mas.bot.listener.ModalInteractionListener;
+import com.an0mas.bot.listener.SlashCommandListener;
+
+/**
+ * 🎬 インタラクションの再生ハーネス（Discord に接続しないエンドツーエンド負荷試験）
+ *
+ * 合成したイベントを本物のリスナー（Slash / Button / Modal）に指定した並列数で流し続け、
+ * 持続スループット・種類ごとのレイテンシ・DBコネクションプールの待ちを表示する。
+ *
+ * 使い方: scripts/run-replay.sh [--threads 8] [--seconds 20] [--warmup 5] [--trace trace.ndjson]
+ * トレースを指定しない場合は組み込みの混合シナリオ（help 中心、フィードバック閲覧・送信を含む）を使う。
+ */
+public class InteractionReplay {
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseArgs(args);
+		int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+		int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+		int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+		List<ReplayEvent> trace = options.containsKey("trace")
+				? ReplayEvent.readTrace(Path.of(options.get("trace")))
+				: null;
+
+		if (CommandRegistry.getCommands().isEmpty()) {
+			CommandLoader.getAllCommands().forEach(CommandRegistry::register);
+		}
+		CommandRegistry.freeze();
+		BenchmarkDatabase.ensureSeeded();
+
+		ReplySink sink = new ReplySink();
+		SyntheticInteractions interactions = new SyntheticInteractions(sink);
+		SlashCommandListener slashListener = new SlashCommandListener();
+		ButtonInteractionListener buttonListener = new ButtonInteractionListener();
+		ModalInteractionListener modalListener = new ModalInteractionListener();
+
+		PoolSampler poolSampler = new PoolSampler();
+		LongAdder errors = new LongAdder();
+		List<Map<String, LatencyLog>> perThread = new ArrayList<>();
+
+		long measureStart = System.nanoTime() + warmup * 1_000_000_000L;
+		long end = measureStart + seconds * 1_000_000_000L;
+
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Map<String, LatencyLog> logs = new HashMap<>();
+			perThread.add(logs);
+			int offset = t;
+			Thread worker = new Thread(() -> {
+				int cursor = offset;
+				while (true) {
+					long now = System.nanoTime();
+					if (now >= end) {
+						break;
+					}
+					ReplayEvent event = trace != null ? trace.get(cursor++ % trace.size()) : nextMixed();
+					String userId = event.userId() != null ? event.userId()
+							: BenchmarkDatabase.userId(ThreadLocalRandom.current().nextInt(BenchmarkDatabase.USERS));
+
+					long start = System.nanoTime();
+					try {
+						switch (event.type()) {
+						case "slash" -> slashListener.onSlashCommandInteraction(interactions.slash(event.id(),
+								event.subcommand(), event.fields(), userId, event.guildId()));
+						case "button" -> buttonListener.onButtonInteraction(
+								interactions.button(event.id(), userId, event.guildId()));
+						case "modal" -> modalListener.onModalInteraction(
+								interactions.modal(event.id(), event.fields(), userId, event.guildId()));
+						default -> throw new IllegalArgumentException(event.type());
+						}
+					} catch (RuntimeException e) {
+						errors.increment();
+					}
+					long elapsed = System.nanoTime() - start;
+					if (start >= measureStart) {
+						logs.computeIfAbsent(event.label(), k -> new LatencyLog()).add(elapsed);
+					}
+				}
+			}, "replay-" + t);
+			workers.add(worker);
+		}
+
+		System.out.printf("🎬 再生開始: threads=%d, warmup=%ds, measure=%ds, source=%s%n", threads, warmup, seconds,
+				trace != null ? options.get("trace") + " (" + trace.size() + " 件)" : "組み込み混合シナリオ");
+		workers.forEach(Thread::start);
+		Thread.sleep(warmup * 1000L);
+		poolSampler.start();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		poolSampler.stop();
+
+		report(perThread, seconds, errors.sum(), sink, poolSampler);
+
+		DatabaseHelper.close();
+		FeedbackDatabaseHelper.close();
+		System.exit(0);
+	}
+
+	/**
+	 * 🎲 組み込みの混合シナリオ（割合はだいたい実運用の傾向に合わせている）
+	 */
+	private static ReplayEvent nextMixed() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String guildId = BenchmarkDatabase.guildId(random.nextInt(BenchmarkDatabase.GUILDS));
+		int roll = random.nextInt(100);
+		if (roll < 40) {
+			return new ReplayEvent("slash", "help", null, Map.of(), null, guildId);
+		}
+		if (roll < 50) {
+			// 開発者（シードで feedbacklist を許可済みのユーザー）
+			return new ReplayEvent("slash", "feedbacklist", null, Map.of(), BenchmarkDatabase.userId(0), guildId);
+		}
+		if (roll < 75) {
+			int id = 1 + random.nextInt(BenchmarkDatabase.FEEDBACKS);
+			return new ReplayEvent("button", "feedback_detail_" + id, null, Map.of(), null, guildId);
+		}
+		if (roll < 85) {
+			int page = 1 + random.nextInt(100);
+			return new ReplayEvent("button", "feedback_page_" + page + "_4000_next", null, Map.of(), null, guildId);
+		}
+		return new ReplayEvent("modal", "feedback_modal", null,
+				Map.of("title", "再生テスト", "content", "合成インタラクションからの送信", "anonymous", "no"), null, guildId);
+	}
+
+	private static void report(List<Map<String, LatencyLog>> perThread, int seconds, long errors, ReplySink sink,
+			PoolSampler poolSampler) {
+		Map<String, LatencyLog> merged = new TreeMap<>();
+		for (Map<String, LatencyLog> logs : perThread) {
+			logs.forEach((label, log) -> merged.computeIfAbsent(label, k -> new LatencyLog()).addAll(log));
+		}
+		LatencyLog total = new LatencyLog();
+		merged.values().forEach(total::addAll);
+
+		System.out.println();
+		System.out.printf("%-32s %9s %9s %9s %9s %9s %9s%n", "interaction", "count", "per_sec", "p50_ms", "p95_ms",
+				"p99_ms", "max_ms");
+		merged.forEach((label, log) -> printRow(label, log, seconds));
+		printRow("TOTAL", total, seconds);
+		System.out.printf("%nerrors (リスナーからの例外): %d%n", errors);
+
+		System.out.println();
+		System.out.println("🏊 DBコネクションプール（10ms ごとにサンプリング）");
+		poolSampler.print();
+
+		System.out.println();
+		System.out.println("📥 送信された応答（種類ごとの件数）");
+		new TreeMap<>(sink.getCounts()).forEach((action, count) -> System.out.printf("  %-48s %d%n", action, count.sum()));
+		System.out.println();
+		System.out.println("🔎 応答の例（種類ごとの最初の1件）");
+		new TreeMap<>(sink.getSamples()).forEach((action, sample) -> System.out.printf("  %-48s %s%n", action,
+				sample.length() > 80 ? sample.substring(0, 80) + "…" : sample));
+	}
+
+	private static void printRow(String label, LatencyLog log, int seconds) {
+		long[] sorted = log.sorted();
+		System.out.printf("%-32s %9d %9.1f %9.3f %9.3f %9.3f %9.3f%n", label, sorted.length,
+				sorted.length / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.95),
+				percentile(sorted, 0.99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+	}
+
+	private static Map<String, String> parseArgs(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("不明な引数です: " + args[i]);
+			}
+			options.put(args[i].substring(2), args[i + 1]);
+		}
+		return options;
+	}
+
+	/**
+	 * ⏱️ スレッドごとのレイテンシ記録（ロックなしで追記し、最後にまとめる）
+	 */
+	private static final class LatencyLog {
+		private long[] values = new long[1024];
+		private int size;
+
+		void add(long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void addAll(LatencyLog other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.values[i]);
+			}
+		}
+
+		long[] sorted() {
+			long[] copy = Arrays.copyOf(values, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	/**
+	 * 🏊 コネクションプールの待ち状況を定期的に記録する（DB競合の目安）
+	 */
+	private static final class PoolSampler {
+		private final Map<String, long[]> stats = new TreeMap<>(); // name → {samples, waitingSum, waitingMax, activeMax, saturated}
+		private Thread thread;
+		private volatile boolean running;
+
+		void start() {
+			running = true;
+			thread = new Thread(() -> {
+				while (running) {
+					sample(DatabaseHelper.getPoolStats());
+					sample(FeedbackDatabaseHelper.getPoolStats());
+					try {
+						Thread.sleep(10);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}, "replay-pool-sampler");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		void stop() throws InterruptedException {
+			running = false;
+			thread.join();
+		}
+
+		private synchronized void sample(PoolStats pool) {
+			long[] s = stats.computeIfAbsent(pool.name(), k -> new long[5]);
+			s[0]++;
+			s[1] += pool.waiting();
+			s[2] = Math.max(s[2], pool.waiting());
+			s[3] = Math.max(s[3], pool.active());
+			if (pool.active() >= pool.max()) {
+				s[4]++;
+			}
+		}
+
+		synchronized void print() {
+			System.out.printf("  %-12s %12s %12s %12s %14s%n", "pool", "avg_waiting", "max_waiting", "max_active",
+					"saturated_%");
+			stats.forEach((name, s) -> System.out.printf("  %-12s %12.2f %12d %12d %14.1f%n", name,
+					s[1] / (double) s[0], s[2], s[3], 100.0 * s[4] / s[0]));
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.an0mas.bot.bench.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 🎞️ 再生するインタラクション1件（トレースファイルの1行、または組み込みの混合シナリオ）
+ *
+ * トレースは NDJSON（1行1件）:
+ * <pre>
+ * {"type":"slash","name":"help","userId":"200000000000000001","guildId":"100000000000000001"}
+ * {"type":"slash","name":"cmdaccess","subcommand":"list","options":{"type":"user","target":"2000"}}
+ * {"type":"button","componentId":"feedback_detail_42"}
+ * {"type":"modal","modalId":"feedback_modal","values":{"title":"件名","content":"本文"}}
+ * </pre>
+ *
+ * @param type slash / button / modal
+ * @param id コマンド名・コンポーネントID・モーダルID
+ * @param subcommand サブコマンド（slash のみ、無ければ null）
+ * @param fields オプション（slash）またはモーダルの入力値
+ * @param userId 実行ユーザー（null なら再生側で割り当てる）
+ * @param guildId 実行サーバー（null なら DM 扱い）
+ */
+public record ReplayEvent(String type, String id, String subcommand, Map<String, String> fields, String userId,
+		String guildId) {
+
+	/**
+	 * 🏷️ 集計用のラベル（例: slash:help, button:feedback_detail）
+	 */
+	public String label() {
+		String base = id.replaceAll("_\\d.*$", "");
+		return type + ":" + base + (subcommand != null ? " " + subcommand : "");
+	}
+
+	/**
+	 * 📂 NDJSON のトレースファイルを読み込む（空行と # で始まる行は無視）
+	 */
+	public static List<ReplayEvent> readTrace(Path file) throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		List<ReplayEvent> events = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank() || line.startsWith("#")) {
+					continue;
+				}
+				JsonNode node = mapper.readTree(line);
+				String type = node.path("type").asText();
+				String id = switch (type) {
+				case "slash" -> node.path("name").asText();
+				case "button" -> node.path("componentId").asText();
+				case "modal" -> node.path("modalId").asText();
+				default -> throw new IOException("不明な type です: " + line);
+				};
+				Map<String, String> fields = new LinkedHashMap<>();
+				node.path(type.equals("modal") ? "values" : "options").fields()
+						.forEachRemaining(field -> fields.put(field.getKey(), field.getValue().asText()));
+				events.add(new ReplayEvent(type, id, textOrNull(node, "subcommand"), fields,
+						textOrNull(node, "userId"), textOrNull(node, "guildId")));
+			}
+		}
+		return events;
+	}
+
+	private static String textOrNull(JsonNode node, String field) {
+		JsonNode value = node.get(field);
+		return value == null || value.isNull() ? null : value.asText();
+	}
+}
@@ -0,0 +1,37 @@
+package com.an0mas.bot.bench.replay;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📥 リスナーが Discord に送ろうとした応答を受け取る（実際には送らない）
+ *
+ * RestAction の queue / complete / submit が呼ばれた時点で、アクションの種類ごとに数える。
+ */
+public class ReplySink {
+
+	private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+	private final Map<String, String> samples = new ConcurrentHashMap<>();
+
+	/**
+	 * ✉️ 送信された応答を記録する
+	 *
+	 * @param action アクションの種類（ReplyCallbackAction など）
+	 * @param content 本文（分かる場合のみ。種類ごとに最初の1件だけ保持）
+	 */
+	public void record(String action, String content) {
+		counts.computeIfAbsent(action, k -> new LongAdder()).increment();
+		if (content != null) {
+			samples.putIfAbsent(action, content);
+		}
+	}
+
+	public Map<String, LongAdder> getCounts() {
+		return counts;
+	}
+
+	public Map<String, String> getSamples() {
+		return samples;
+	}
+}
@@ -0,0 +1,265 @@
+package com.an0mas.bot.bench.replay;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.Component;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalMapping;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+
+/**
+ * 🧪 Discord に接続せずに JDA のインタラクションイベントを組み立てる
+ *
+ * イベントクラス自体は本物を使い、中身の Interaction・User・Guild・JDA を動的プロキシで用意する。
+ * 応答（reply / deferReply / フックでの編集など）は全て {@link ReplySink} に記録され、その場で成功扱いになる。
+ */
+public class SyntheticInteractions {
+
+	private final ReplySink sink;
+	private final JDA jda;
+	private final AtomicLong ids = new AtomicLong(1_000_000_000_000_000_000L);
+
+	public SyntheticInteractions(ReplySink sink) {
+		this.sink = sink;
+		// JDA 本体への問い合わせ（チャンネル・ユーザー検索など）は全て「見つからない」を返す
+		this.jda = (JDA) Proxy.newProxyInstance(JDA.class.getClassLoader(), new Class<?>[] { JDA.class },
+				(proxy, method, args) -> objectMethod(proxy, method, args, "SyntheticJDA", defaultValue(method)));
+	}
+
+	/**
+	 * 💬 スラッシュコマンド（サブコマンドは null 可、オプションは全て文字列として渡す）
+	 */
+	public SlashCommandInteractionEvent slash(String name, String subcommand, Map<String, String> options,
+			String userId, String guildId) {
+		List<OptionMapping> mappings = new ArrayList<>();
+		options.forEach((key, value) -> mappings.add(new OptionMapping(DataObject.empty()
+				.put("name", key)
+				.put("type", OptionType.STRING.getKey())
+				.put("value", value), null, jda, null))); // 文字列オプションなので解決済みエンティティは不要
+
+		Map<String, Object> values = base(userId, guildId);
+		values.put("getName", name);
+		values.put("getSubcommandName", subcommand);
+		values.put("getOptions", mappings);
+		SlashCommandInteraction interaction = stub(SlashCommandInteraction.class, values);
+		return new SlashCommandInteractionEvent(jda, 0, interaction);
+	}
+
+	/**
+	 * 🔘 ボタン押下
+	 */
+	public ButtonInteractionEvent button(String componentId, String userId, String guildId) {
+		Map<String, Object> values = base(userId, guildId);
+		values.put("getComponentId", componentId);
+		values.put("getComponentType", Component.Type.BUTTON);
+		ButtonInteraction interaction = stub(ButtonInteraction.class, values);
+		return new ButtonInteractionEvent(jda, 0, interaction);
+	}
+
+	/**
+	 * 📝 モーダル送信（入力欄ID → 入力値）
+	 */
+	public ModalInteractionEvent modal(String modalId, Map<String, String> fields, String userId, String guildId) {
+		List<ModalMapping> mappings = new ArrayList<>();
+		fields.forEach((key, value) -> mappings.add(new ModalMapping(DataObject.empty()
+				.put("custom_id", key)
+				.put("type", Component.Type.TEXT_INPUT.getKey())
+				.put("value", value))));
+
+		Map<String, Object> values = base(userId, guildId);
+		values.put("getModalId", modalId);
+		values.put("getValues", mappings);
+		ModalInteraction interaction = stub(ModalInteraction.class, values);
+		return new ModalInteractionEvent(jda, 0, interaction);
+	}
+
+	private Map<String, Object> base(String userId, String guildId) {
+		Map<String, Object> values = new HashMap<>();
+		values.put("getIdLong", ids.incrementAndGet());
+		values.put("getToken", "synthetic");
+		values.put("getJDA", jda);
+		values.put("getUser", user(userId));
+		values.put("getGuild", guildId != null ? guild(guildId) : null);
+		values.put("isFromGuild", guildId != null);
+		values.put("getHook", stub(InteractionHook.class, new HashMap<>()));
+		return values;
+	}
+
+	private User user(String userId) {
+		Map<String, Object> values = new HashMap<>();
+		values.put("getIdLong", Long.parseUnsignedLong(userId));
+		values.put("getName", "user" + userId);
+		values.put("getGlobalName", "user" + userId);
+		values.put("getDiscriminator", "0000");
+		values.put("getJDA", jda);
+		return stub(User.class, values);
+	}
+
+	private Guild guild(String guildId) {
+		Map<String, Object> values = new HashMap<>();
+		values.put("getIdLong", Long.parseUnsignedLong(guildId));
+		values.put("getName", "guild" + guildId);
+		values.put("getJDA", jda);
+		return stub(Guild.class, values);
+	}
+
+	/**
+	 * 🧱 値の表にあるメソッドはその値、RestAction を返す抽象メソッドは記録用アクション、
+	 * default メソッドはインターフェースの実装をそのまま呼ぶ。それ以外は型の既定値。
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T stub(Class<T> type, Map<String, Object> values) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			String name = method.getName();
+			if (values.containsKey(name) && method.getParameterCount() == 0) {
+				return values.get(name);
+			}
+			if (RestAction.class.isAssignableFrom(method.getReturnType()) && !method.isDefault()) {
+				return action(method.getReturnType(), type.getSimpleName() + "." + name, proxy);
+			}
+			if (method.isDefault()) {
+				return InvocationHandler.invokeDefault(proxy, method, args);
+			}
+			return objectMethod(proxy, method, args, type.getSimpleName(), defaultValue(method));
+		};
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	/**
+	 * ✉️ 応答アクション：設定メソッドは自分自身を返し、queue / complete / submit で sink に記録して即成功する
+	 */
+	private Object action(Class<?> actionType, String origin, Object owner) {
+		StringBuilder content = new StringBuilder();
+		InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				switch (name) {
+				case "queue", "complete", "submit" -> {
+					Object result = successValue(owner);
+					sink.record(origin, content.length() > 0 ? content.toString() : null);
+					if (name.equals("queue") && args != null && args.length > 0 && args[0] != null) {
+						((Consumer<Object>) args[0]).accept(result);
+					}
+					return name.equals("submit") ? CompletableFuture.completedFuture(result)
+							: name.equals("complete") ? result : null;
+				}
+				case "setContent" -> {
+					if (args[0] != null) {
+						content.append(args[0]);
+					}
+				}
+				case "applyData" -> {
+					if (content.isEmpty() && args[0] instanceof MessageCreateData data) {
+						content.append(data.getContent());
+						data.getEmbeds().forEach(embed -> content.append("[embed: ").append(embed.getTitle()).append("]"));
+					}
+				}
+				case "setEmbeds", "addEmbeds", "editMessageEmbedsById" -> {
+					for (Object arg : content.isEmpty() ? args : new Object[0]) {
+						if (arg instanceof MessageEmbed[] embeds) {
+							Arrays.stream(embeds).forEach(embed -> content.append("[embed: ").append(embed.getTitle()).append("]"));
+						} else if (arg instanceof Collection<?> embeds) {
+							embeds.stream().filter(MessageEmbed.class::isInstance).map(MessageEmbed.class::cast)
+									.forEach(embed -> content.append("[embed: ").append(embed.getTitle()).append("]"));
+						}
+					}
+				}
+				default -> {
+				}
+				}
+				if (method.isDefault()) {
+					return InvocationHandler.invokeDefault(proxy, method, args);
+				}
+				if (method.getReturnType().isInstance(proxy)) {
+					return proxy; // 🔗 メソッドチェーン（setEphemeral / addEmbeds など）
+				}
+				if (RestAction.class.isAssignableFrom(method.getReturnType())) {
+					return action(method.getReturnType(), origin + "." + name, owner);
+				}
+				return objectMethod(proxy, method, args, origin, defaultValue(method));
+			}
+		};
+		return Proxy.newProxyInstance(actionType.getClassLoader(), new Class<?>[] { actionType }, handler);
+	}
+
+	/**
+	 * deferReply().queue(hook -> ...) のように、成功時にフックを受け取る呼び出し向け
+	 */
+	private Object successValue(Object owner) throws Exception {
+		if (owner instanceof InteractionHook) {
+			return null; // 編集結果の Message は使われないため null
+		}
+		try {
+			return owner.getClass().getMethod("getHook").invoke(owner);
+		} catch (NoSuchMethodException e) {
+			return null; // Guild・User からのアクション（成功値は使われない）
+		}
+	}
+
+	private static Object objectMethod(Object proxy, Method method, Object[] args, String label, Object fallback) {
+		return switch (method.getName()) {
+		case "toString" -> label + "@" + Integer.toHexString(System.identityHashCode(proxy));
+		case "hashCode" -> System.identityHashCode(proxy);
+		case "equals" -> proxy == args[0];
+		default -> fallback;
+		};
+	}
+
+	private static Object defaultValue(Method method) {
+		Class<?> type = method.getReturnType();
+		if (!type.isPrimitive()) {
+			return type == List.class ? List.of() : null;
+		}
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == void.class) {
+			return null;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == double.class) {
+			return 0.0;
+		}
+		if (type == float.class) {
+			return 0f;
+		}
+		if (type == short.class) {
+			return (short) 0;
+		}
+		if (type == byte.class) {
+			return (byte) 0;
+		}
+		return (char) 0;
+	}
+}
@@ -5,4 +5,11 @@ CREATE TABLE IF NOT EXISTS feedback (
     title TEXT NOT NULL,
     content TEXT NOT NULL,
     timestamp TEXT NOT NULL
+);
+
+-- 変更通知（プロセス間のキャッシュ無効化用）
+CREATE TABLE IF NOT EXISTS change_versions (
+    scope TEXT PRIMARY KEY,
+    version INTEGER NOT NULL DEFAULT 0,
+    updated_at INTEGER NOT NULL DEFAULT 0
 );
\ No newline at end of file
@@ -2,21 +2,85 @@
 CREATE TABLE IF NOT EXISTS server_permissions (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     guild_id TEXT NOT NULL,
-    command_name TEXT NOT NULL
+    command_name TEXT NOT NULL,
+    expires_at INTEGER           -- 期限（epoch millis）。NULL なら無期限
 );
 
 CREATE TABLE IF NOT EXISTS user_permissions (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     user_id TEXT NOT NULL,
-    command_name TEXT NOT NULL
+    command_name TEXT NOT NULL,
+    expires_at INTEGER           -- 期限（epoch millis）。NULL なら無期限
 );
 
+-- 🎭 サーバー内のロールへの許可（ロールIDはDiscord全体で一意。guild_id はサーバーごとのビット列の組み立て用）
+CREATE TABLE IF NOT EXISTS role_permissions (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    guild_id TEXT NOT NULL,
+    role_id TEXT NOT NULL,
+    command_name TEXT NOT NULL,
+    expires_at INTEGER           -- 期限（epoch millis）。NULL なら無期限
+);
+
+-- 許可の追加時の重複チェック（NOT EXISTS）と削除を全件走査にしない
+CREATE INDEX IF NOT EXISTS idx_server_permissions_guild ON server_permissions (guild_id, command_name);
+CREATE INDEX IF NOT EXISTS idx_user_permissions_user ON user_permissions (user_id, command_name);
+CREATE INDEX IF NOT EXISTS idx_role_permissions_role ON role_permissions (role_id, command_name);
+
 CREATE TABLE IF NOT EXISTS blacklist (
-    user_id TEXT PRIMARY KEY
+    user_id TEXT PRIMARY KEY,
+    expires_at INTEGER           -- 期限（epoch millis）。NULL なら無期限
 );
 
 CREATE TABLE IF NOT EXISTS settings (
     key TEXT PRIMARY KEY,
     value TEXT NOT NULL,
     updated_at TEXT NOT NULL
-);
\ No newline at end of file
+);
+
+-- 🏠 サーバーごとの設定の上書き（無ければ settings の値 → 既定値）
+CREATE TABLE IF NOT EXISTS guild_settings (
+    guild_id TEXT NOT NULL,
+    key TEXT NOT NULL,
+    value TEXT NOT NULL,
+    updated_at TEXT NOT NULL,
+    PRIMARY KEY (guild_id, key)
+);
+
+-- 🧾 設定の変更履歴（seq の最大値が設定のバージョン）
+CREATE TABLE IF NOT EXISTS settings_changes (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    guild_id TEXT,               -- NULL なら全体の設定
+    key TEXT NOT NULL,
+    old_value TEXT,              -- NULL なら未設定（既定値）だった
+    new_value TEXT,              -- NULL なら既定値に戻した
+    actor_id TEXT NOT NULL,
+    changed_at INTEGER NOT NULL  -- epoch millis
+);
+
+-- 変更通知（プロセス間のキャッシュ無効化用）
+CREATE TABLE IF NOT EXISTS change_versions (
+    scope TEXT PRIMARY KEY,
+    version INTEGER NOT NULL DEFAULT 0,
+    updated_at INTEGER NOT NULL DEFAULT 0
+);
+
+-- 🧾 権限イベントログ（追記のみ。server_permissions / user_permissions / role_permissions / blacklist はこのログの現在値）
+CREATE TABLE IF NOT EXISTS permission_events (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    type TEXT NOT NULL,          -- grant / revoke / block / unblock / expire
+    subject TEXT NOT NULL,       -- guild / user / role
+    subject_id TEXT NOT NULL,
+    guild_id TEXT,               -- role のときはロールのあるサーバーID（それ以外は NULL）
+    command_name TEXT,           -- block / unblock では NULL
+    expires_at INTEGER,          -- grant / block: 期限（NULL なら無期限）、expire: 失効させた期限
+    actor_id TEXT NOT NULL,      -- 操作したユーザーのID（system / migration など）
+    created_at INTEGER NOT NULL  -- epoch millis
+);
+
+-- 📸 権限状態のスナップショット（seq までのイベントを適用した状態のバイナリ表現）
+CREATE TABLE IF NOT EXISTS permission_snapshots (
+    seq INTEGER PRIMARY KEY,
+    created_at INTEGER NOT NULL,
+    state BLOB NOT NULL
+);
@@ -0,0 +1,103 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🏋️ WebUI の負荷試験（JDK だけで動く単一ファイルプログラム）
+ *
+ * 使い方: java scripts/LoadTest.java [ベースURL] [同時実行数] [秒数] [パス...]
+ *   例) java scripts/LoadTest.java http://localhost:8080 500 30 /feedbacks /dashboard
+ *
+ * 各パスについて、指定した同時実行数のクライアント（仮想スレッド）が指定秒数リクエストを送り続け、
+ * スループット（req/s）・エラー数・レイテンシのパーセンタイルを表示する。
+ */
+public class LoadTest {
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+		int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		List<String> paths = args.length > 3 ? Arrays.asList(args).subList(3, args.length)
+				: List.of("/feedbacks", "/dashboard");
+
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+
+		System.out.printf("%-12s %8s %10s %8s %9s %9s %9s%n", "path", "clients", "req/s", "errors", "p50_ms",
+				"p95_ms", "p99_ms");
+		for (String path : paths) {
+			run(client, URI.create(baseUrl + path), path, concurrency, seconds);
+		}
+	}
+
+	private static void run(HttpClient client, URI uri, String path, int concurrency, int seconds)
+			throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+		AtomicLong ok = new AtomicLong();
+		AtomicLong errors = new AtomicLong();
+		List<long[]> latencies = new ArrayList<>();
+
+		// 🔥 ウォームアップ
+		for (int i = 0; i < 50; i++) {
+			try {
+				client.send(request, HttpResponse.BodyHandlers.discarding());
+			} catch (Exception ignored) {
+			}
+		}
+
+		long end = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < concurrency; c++) {
+				long[] samples = new long[1 << 16];
+				synchronized (latencies) {
+					latencies.add(samples);
+				}
+				executor.submit(() -> {
+					int n = 0;
+					while (System.nanoTime() < end) {
+						long start = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() == 200 || response.statusCode() == 304) {
+								ok.incrementAndGet();
+							} else {
+								errors.incrementAndGet();
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						if (n < samples.length - 1) {
+							samples[++n] = System.nanoTime() - start;
+						}
+					}
+					samples[0] = n;
+					return null;
+				});
+			}
+		}
+
+		long[] all = latencies.stream()
+				.flatMapToLong(s -> Arrays.stream(s, 1, (int) s[0] + 1))
+				.sorted()
+				.toArray();
+		System.out.printf("%-12s %8d %10.1f %8d %9.1f %9.1f %9.1f%n", path, concurrency,
+				ok.get() / (double) seconds, errors.get(),
+				percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99));
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+	}
+}
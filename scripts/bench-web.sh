@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# 📊 WebUI の描画時間と転送量を計測するスクリプト
+#
+# 使い方: scripts/bench-web.sh [ベースURL] [リクエスト回数]
+#   例) 開発設定:   java -jar app.jar                              → scripts/bench-web.sh
+#       本番設定:   java -jar app.jar --spring.profiles.active=prod → scripts/bench-web.sh
+#
+# - ページ: ウォームアップ後に N 回リクエストし、平均応答時間（ms）と転送バイト数を表示
+# - 静的リソース: ページが参照する CSS/JS/画像の転送バイト数合計と Cache-Control を表示
+# - すべて Accept-Encoding: br, gzip 付き（ブラウザ相当）
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+REQUESTS="${2:-50}"
+PAGES=("/" "/feedbacks" "/dashboard")
+ENCODING="Accept-Encoding: br, gzip"
+
+printf '%-14s %12s %14s\n' "page" "avg_ms" "bytes"
+for page in "${PAGES[@]}"; do
+	# ウォームアップ（テンプレート解析・JIT）
+	for _ in 1 2 3 4 5; do
+		curl -s -o /dev/null -H "$ENCODING" "$BASE_URL$page"
+	done
+
+	total=0
+	bytes=0
+	for _ in $(seq "$REQUESTS"); do
+		read -r t b < <(curl -s -o /dev/null -H "$ENCODING" -w '%{time_total} %{size_download}\n' "$BASE_URL$page")
+		total=$(awk -v a="$total" -v b="$t" 'BEGIN { print a + b }')
+		bytes=$b
+	done
+	printf '%-14s %12.2f %14s\n' "$page" "$(awk -v t="$total" -v n="$REQUESTS" 'BEGIN { print t / n * 1000 }')" "$bytes"
+done
+
+echo
+printf '%-48s %10s  %s\n' "asset (/dashboard)" "bytes" "cache-control"
+asset_total=0
+for asset in $(curl -s "$BASE_URL/dashboard" | grep -oE '(href|src)="/[^"]+\.(css|js|png)"' | sed -E 's/^(href|src)="//; s/"$//' | sort -u); do
+	headers=$(curl -s -D - -o /dev/null -H "$ENCODING" -w 'size=%{size_download}\n' "$BASE_URL$asset")
+	size=$(echo "$headers" | sed -n 's/^size=//p')
+	cache=$(echo "$headers" | tr -d '\r' | sed -n 's/^[Cc]ache-[Cc]ontrol: //p')
+	printf '%-48s %10s  %s\n' "$asset" "$size" "${cache:--}"
+	asset_total=$((asset_total + size))
+done
+printf '%-48s %10s\n' "total" "$asset_total"
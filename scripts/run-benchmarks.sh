@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# ⏱️ JMH ベンチマークの実行（本体のインストール → ベンチマーク jar のビルド → -prof gc 付きで実行）
+#
+# 使い方: scripts/run-benchmarks.sh [JMH の引数...]
+#   例) 全部:             scripts/run-benchmarks.sh
+#       一部だけ:         scripts/run-benchmarks.sh FeedbackPaging
+#       結果をJSONで保存: scripts/run-benchmarks.sh -rf json -rff target/jmh.json
+#
+# シード済みのSQLiteは target/bench-data に作る（本番の .env のDBには触れない）。
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -B -q install -DskipTests -Dspring-boot.repackage.skip=true
+mvn -B -q -f benchmarks/pom.xml package
+
+mkdir -p target/bench-data
+export DB_PATH="$PWD/target/bench-data/command_permissions.db"
+export FEEDBACK_DB_PATH="$PWD/target/bench-data/feedbacks.db"
+
+exec java -jar benchmarks/target/benchmarks.jar -prof gc "$@"
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# 🧪 Discord スタンドイン相手の起動・レート制限ソーク（本物の Discord には接続しない）
+#
+# 使い方: scripts/run-discord-soak.sh [--guilds 200] [--permitted 150] [--joins 20] [--messages 50]
+#                                    [--limit 5] [--window 1000] [--force-429-every 0]
+#
+# JDA の REST / ゲートウェイの向き先を DISCORD_API_BASE / DISCORD_GATEWAY_URL でローカルのスタンドインに差し替えて、本物の BotLauncher を起動する。
+# DB は毎回 target/standin-data に作り直す。
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -B -q install -DskipTests -Dspring-boot.repackage.skip=true
+mvn -B -q -f benchmarks/pom.xml package
+
+rm -rf target/standin-data
+mkdir -p target/standin-data
+export DB_PATH="$PWD/target/standin-data/command_permissions.db"
+export FEEDBACK_DB_PATH="$PWD/target/standin-data/feedbacks.db"
+export DISCORD_TOKEN="standin"
+export DISCORD_API_BASE="http://127.0.0.1:${STANDIN_PORT:-18090}/api"
+export DISCORD_GATEWAY_URL="ws://127.0.0.1:${STANDIN_GATEWAY_PORT:-18091}"
+export FEEDBACK_NOTIFY_CHANNEL_ID="850000000000000000" # スタンドインの guildId(0) のテキストチャンネル
+unset TEST_GUILD_ID
+
+exec java -cp benchmarks/target/benchmarks.jar com.an0mas.bot.bench.discord.DiscordSoak "$@"
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# 🎬 インタラクション再生ハーネスの実行（Discord には接続しない）
+#
+# 使い方: scripts/run-replay.sh [--threads 8] [--seconds 20] [--warmup 5] [--trace trace.ndjson]
+#
+# benchmarks と同じシード済みDB（target/bench-data）を使う。フィードバック送信のシナリオで行が増えていくため、
+# 条件を揃えて比べたいときは target/bench-data を消してから実行する。
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+mvn -B -q install -DskipTests -Dspring-boot.repackage.skip=true
+mvn -B -q -f benchmarks/pom.xml package
+
+mkdir -p target/bench-data
+export DB_PATH="$PWD/target/bench-data/command_permissions.db"
+export FEEDBACK_DB_PATH="$PWD/target/bench-data/feedbacks.db"
+export BOT_OWNER_ID="200000000000000000" # シードの userId(0)
+
+exec java -cp benchmarks/target/benchmarks.jar com.an0mas.bot.bench.replay.InteractionReplay "$@"
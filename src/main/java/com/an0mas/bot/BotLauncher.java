@@ -0,0 +1,135 @@
+package com.an0mas.bot;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.command.BaseCommand;
+import com.an0mas.bot.command.CommandLoader;
+import com.an0mas.bot.command.CommandRegistry;
+import com.an0mas.bot.command.CommandsInitializer;
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.listener.BotJoinListener;
+import com.an0mas.bot.listener.ButtonInteractionListener;
+import com.an0mas.bot.listener.ModalInteractionListener;
+import com.an0mas.bot.listener.ReadyListener;
+import com.an0mas.bot.listener.SlashCommandListener;
+import com.an0mas.bot.metrics.DiscordRestEvent;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.JDAInfo;
+import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.requests.RestConfig;
+import net.dv8tion.jda.api.utils.ConcurrentSessionController;
+import okhttp3.OkHttpClient;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+
+/**
+ * 🤖 BotLauncher:
+ * Bot の起動手順（DB初期化 → コマンド登録 → JDA起動 → Slashコマンド同期）をまとめたクラス。
+ *
+ * 単独起動（{@link Main}）と、WebUI に組み込む単一プロセスモード（{@code EmbeddedBotConfig}）の両方から使う。
+ * DBヘルパーはプロセス内で static に共有されるため、どちらの起動でもプール・キャッシュは1組だけになる。
+ */
+public class BotLauncher {
+	private static final Logger logger = LoggerFactory.getLogger(BotLauncher.class);
+
+	private static volatile JDA jda;
+
+	/**
+	 * 💾 コマンド登録とDB初期化（何度呼んでもコマンドは1回だけ登録される）
+	 */
+	public static synchronized void initialize() {
+		// 全コマンドを一括登録して確定（権限ビューの復元より先に、登録済みコマンドへ番号を振っておく）
+		if (CommandRegistry.getCommands().isEmpty()) {
+			for (BaseCommand command : CommandLoader.getAllCommands()) {
+				CommandRegistry.register(command);
+			}
+		}
+		CommandRegistry.freeze();
+
+		DatabaseHelper.initializeDatabase();
+		FeedbackDatabaseHelper.initializeDatabase();
+	}
+
+	/**
+	 * 🚀 JDA を構築してログインを開始する（非同期。完了待ちは {@link #awaitReadyAndRegister(JDA)}）
+	 */
+	public static JDA build() {
+		// 🔐 .envファイルからトークンを読み込む
+		String token = ConfigLoader.get("DISCORD_TOKEN");
+		if (token == null || token.isBlank()) {
+			throw new IllegalArgumentException("❌ DISCORD_TOKEN が見つかりません！");
+		}
+
+		// 🤖 JDAの設定・初期化
+		JDABuilder builder = JDABuilder.createDefault(token)
+				.setActivity(Activity.playing("An0MasBot 開発中..."))
+				// 🛑 JDA 自身のシャットダウンフックは shutdownNow() で処理中の返信を捨てるため使わない（停止は ShutdownManager に任せる）
+				.setEnableShutdownHook(false)
+				.addEventListeners(
+						new SlashCommandListener(),
+						new ReadyListener(),
+						new ModalInteractionListener(),
+						new ButtonInteractionListener(),
+						new BotJoinListener());
+
+		// 🎥 REST リクエストを JFR に記録する（記録していない間はほぼ何もしない）
+		builder.setHttpClientBuilder(new OkHttpClient.Builder().addInterceptor(DiscordRestEvent.INTERCEPTOR));
+
+		// 🧪 DISCORD_API_BASE / DISCORD_GATEWAY_URL があれば接続先を差し替える（ローカルのスタンドインで検証できる）
+		String apiBase = ConfigLoader.get("DISCORD_API_BASE");
+		if (apiBase != null && !apiBase.isBlank()) {
+			builder.setRestConfig(new RestConfig().setBaseUrl(apiBase + "/v" + JDAInfo.DISCORD_REST_VERSION + "/"));
+		}
+		String gatewayUrl = ConfigLoader.get("DISCORD_GATEWAY_URL");
+		if (gatewayUrl != null && !gatewayUrl.isBlank()) {
+			builder.setSessionController(new ConcurrentSessionController() {
+				@Override
+				public String getGateway() {
+					return gatewayUrl;
+				}
+			});
+		}
+
+		jda = builder.build();
+		return jda;
+	}
+
+	/**
+	 * 🕓 起動完了を待機 → Slashコマンドを同期
+	 */
+	public static void awaitReadyAndRegister(JDA jda) throws InterruptedException {
+		jda.awaitReady(); // Botがログイン完了するまで待つ
+		CommandsInitializer.registerSlashCommands(jda);
+
+		// ⏱️ テストGuildに即時反映
+		String testGuildId = ConfigLoader.get("TEST_GUILD_ID");
+		if (testGuildId == null || testGuildId.isBlank()) {
+			logger.warn("❌ TEST_GUILD_ID が見つかりません！");
+		} else {
+			Guild testGuild = jda.getGuildById(testGuildId);
+			if (testGuild != null) {
+				List<SlashCommandData> testCommands = CommandRegistry.getCommands().stream()
+						.map(BaseCommand::getSlashCommandData)
+						.filter(Objects::nonNull)
+						.toList();
+				testGuild.updateCommands().addCommands(testCommands).queue();
+				logger.info("🚀 テストサーバーに即時登録しました！");
+			}
+		}
+	}
+
+	/**
+	 * 🔎 このプロセスで起動中の JDA（Bot を起動していないプロセスでは null）
+	 */
+	public static JDA getJda() {
+		return jda;
+	}
+}
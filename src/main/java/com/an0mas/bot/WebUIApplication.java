@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 /**
  * 🚀 Spring Boot を使った WebUI 起動クラス
  * このクラスを「Javaアプリケーションとして実行」すると Web サーバーが立ち上がります！
+ * {@code --bot.embedded=true} を付けると Bot も同じプロセスで起動します（EmbeddedBotConfig）。
  */
 @SpringBootApplication
 public class WebUIApplication {
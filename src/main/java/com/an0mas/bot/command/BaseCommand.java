@@ -1,5 +1,8 @@
 package com.an0mas.bot.command;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.an0mas.bot.util.AccessControlUtil;
 
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -19,6 +22,7 @@ import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
  * - 例: HelpCommand, PingCommand など
  */
 public abstract class BaseCommand {
+	private static final Logger logger = LoggerFactory.getLogger(BaseCommand.class);
 
 	/** 🔛 コマンドの名前（例：help, ping） */
 	private final String name;
@@ -98,7 +102,7 @@ public abstract class BaseCommand {
 	 */
 	public void executeWithCheck(SlashCommandInteractionEvent event) {
         if (AccessControlUtil.isBlocked(event.getUser().getId())) {
-            System.out.println("ブロックされたユーザーがコマンドを試行: " + event.getUser().getId());
+            logger.info("⛔ ブロックされたユーザーがコマンドを試行: {}", event.getUser().getId());
             event.reply("\u26d4 あなたはこのBotの利用を制限されています。").setEphemeral(true).queue();
             return;
         }
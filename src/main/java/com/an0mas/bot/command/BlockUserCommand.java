@@ -1,10 +1,12 @@
 package com.an0mas.bot.command;
 
+import java.time.Duration;
 import java.util.List;
 
 import com.an0mas.bot.config.ConfigLoader;
 import com.an0mas.bot.database.DatabaseHelper;
 import com.an0mas.bot.util.AccessControlUtil;
+import com.an0mas.bot.util.DurationParser;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
@@ -43,7 +45,12 @@ public class BlockUserCommand extends BaseCommand {
 			} else {
 				StringBuilder sb = new StringBuilder("⛔ ブロック中のユーザー一覧 (`%d` 件)：\n".formatted(blocked.size()));
 				for (String id : blocked) {
-					sb.append("- `").append(id).append("`\n");
+					sb.append("- `").append(id).append("`");
+					long expiresAt = DatabaseHelper.getBlockExpiry(id);
+					if (expiresAt > 0) {
+						sb.append("（<t:%d:R> に解除）".formatted(expiresAt / 1000));
+					}
+					sb.append("\n");
 				}
 				event.reply(sb.toString()).setEphemeral(true).queue();
 			}
@@ -58,11 +65,20 @@ public class BlockUserCommand extends BaseCommand {
 		}
 
 		if (subcommand.equals("add")) {
-			AccessControlUtil.blockUser(userId);
-			event.reply("⛔ ユーザー `%s` をブロックリストに追加しました。".formatted(userId))
+			String durationText = event.getOption("duration") != null ? event.getOption("duration").getAsString() : null;
+			Duration duration = DurationParser.parse(durationText);
+			if (durationText != null && duration == null) {
+				event.reply("⚠️ duration は `30m` `12h` `7d` `1d12h` のように指定してください（最長365日）。").setEphemeral(true).queue();
+				return;
+			}
+			long expiresAt = duration != null ? System.currentTimeMillis() + duration.toMillis() : 0;
+			AccessControlUtil.blockUser(userId, event.getUser().getId(), expiresAt);
+			event.reply(expiresAt > 0
+					? "⛔ ユーザー `%s` を <t:%d:f> までブロックしました。".formatted(userId, expiresAt / 1000)
+					: "⛔ ユーザー `%s` をブロックリストに追加しました。".formatted(userId))
 					.setEphemeral(true).queue();
 		} else if (subcommand.equals("remove")) {
-			AccessControlUtil.unblockUser(userId);
+			AccessControlUtil.unblockUser(userId, event.getUser().getId());
 			event.reply("✅ ユーザー `%s` をブロックリストから解除しました。".formatted(userId))
 					.setEphemeral(true).queue();
 		} else {
@@ -75,7 +91,8 @@ public class BlockUserCommand extends BaseCommand {
 		return Commands.slash(getName(), getDescription())
 				.addSubcommands(
 						new SubcommandData("add", "指定したユーザーをブロック")
-								.addOption(OptionType.STRING, "user_id", "ブロックするユーザーのID", true),
+								.addOption(OptionType.STRING, "user_id", "ブロックするユーザーのID", true)
+								.addOption(OptionType.STRING, "duration", "ブロックする期間（例: 30m, 12h, 7d。省略で無期限）", false),
 						new SubcommandData("remove", "指定したユーザーのブロックを解除")
 								.addOption(OptionType.STRING, "user_id", "解除するユーザーのID", true),
 						new SubcommandData("list", "現在ブロック中のユーザー一覧を表示"));
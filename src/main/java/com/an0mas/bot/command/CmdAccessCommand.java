@@ -1,23 +1,43 @@
 package com.an0mas.bot.command;
 
 import java.awt.Color;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.an0mas.bot.config.ConfigLoader;
 import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.PermissionGrant;
+import com.an0mas.bot.util.DurationParser;
+import com.an0mas.bot.util.EntityResolver;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 
 public class CmdAccessCommand extends BaseCommand {
 
+	/** 📏 一括操作で受け付ける CSV の最大サイズ */
+	private static final int MAX_BULK_FILE_BYTES = 1024 * 1024;
+
+	/** ⏳ ユーザー名の取得を待つ上限（超えたら Unknown User として表示） */
+	private static final long RESOLVE_TIMEOUT_SECONDS = 3;
+
 	public CmdAccessCommand() {
 		super("cmdaccess", "コマンドの使用許可を管理します");
 	}
@@ -46,14 +66,23 @@ public class CmdAccessCommand extends BaseCommand {
 		case "remove" -> handleRemove(event, type, targetId, commandName);
 		case "list" -> handleList(event, type, targetId);
 		case "listall" -> handleListAll(event);
+		case "bulk" -> handleBulk(event);
 		default -> event.reply("⚠️ 不明なサブコマンドです。").setEphemeral(true).queue();
 		}
 	}
 
 	private void handleAdd(SlashCommandInteractionEvent event, String type, String targetId, String commandName) {
+		String durationText = getOptionValue(event, "duration");
+		Duration duration = DurationParser.parse(durationText);
+		if (durationText != null && duration == null) {
+			event.reply("⚠️ duration は `30m` `12h` `7d` `1d12h` のように指定してください（最長365日）。").setEphemeral(true).queue();
+			return;
+		}
+		long expiresAt = duration != null ? System.currentTimeMillis() + duration.toMillis() : 0;
+
 		boolean success = false;
 		if (type.equalsIgnoreCase("server")) {
-			DatabaseHelper.addGuildPermission(targetId, commandName);
+			DatabaseHelper.addGuildPermission(targetId, commandName, event.getUser().getId(), expiresAt);
 			success = true;
 
 			Guild guild = event.getJDA().getGuildById(targetId);
@@ -64,12 +93,30 @@ public class CmdAccessCommand extends BaseCommand {
 				}
 			}
 		} else if (type.equalsIgnoreCase("user")) {
-			DatabaseHelper.addUserPermission(targetId, commandName);
+			DatabaseHelper.addUserPermission(targetId, commandName, event.getUser().getId(), expiresAt);
+			success = true;
+		} else if (type.equalsIgnoreCase("role")) {
+			// 🎭 ロールはキャッシュから引いてサーバーを特定する（Botが参加していないサーバーのロールは扱えない）
+			Role role = targetId.matches("\\d+") ? event.getJDA().getRoleById(targetId) : null;
+			if (role == null) {
+				event.reply("⚠️ ロールが見つかりません（Botが参加しているサーバーのロールIDを指定してください）。")
+						.setEphemeral(true).queue();
+				return;
+			}
+			DatabaseHelper.addRolePermission(role.getGuild().getId(), targetId, commandName, event.getUser().getId(),
+					expiresAt);
 			success = true;
+
+			BaseCommand cmd = CommandRegistry.getByName(commandName);
+			if (cmd != null && cmd.getSlashCommandData() != null) {
+				role.getGuild().upsertCommand(cmd.getSlashCommandData()).queue();
+			}
 		}
 
 		if (success) {
-			event.reply("✅ 許可を追加しました！").setEphemeral(true).queue();
+			event.reply(expiresAt > 0
+					? "✅ 許可を追加しました！（<t:%d:f> まで）".formatted(expiresAt / 1000)
+					: "✅ 許可を追加しました！").setEphemeral(true).queue();
 		} else {
 			event.reply("⚠️ 許可の追加に失敗しました。入力を確認してください。")
 					.setEphemeral(true).queue();
@@ -79,11 +126,22 @@ public class CmdAccessCommand extends BaseCommand {
 	private void handleRemove(SlashCommandInteractionEvent event, String type, String targetId, String commandName) {
 		boolean success = false;
 		if (type.equalsIgnoreCase("server")) {
-			DatabaseHelper.removeGuildPermission(targetId, commandName);
+			DatabaseHelper.removeGuildPermission(targetId, commandName, event.getUser().getId());
 			success = true;
+
+			// 🔄 外したコマンドがサーバーに残らないよう一覧を送り直す
+			CommandsInitializer.resyncGuildCommands(event.getJDA(), List.of(targetId));
 		} else if (type.equalsIgnoreCase("user")) {
-			DatabaseHelper.removeUserPermission(targetId, commandName);
+			DatabaseHelper.removeUserPermission(targetId, commandName, event.getUser().getId());
 			success = true;
+		} else if (type.equalsIgnoreCase("role")) {
+			DatabaseHelper.removeRolePermission(targetId, commandName, event.getUser().getId());
+			success = true;
+
+			Role role = targetId.matches("\\d+") ? event.getJDA().getRoleById(targetId) : null;
+			if (role != null) {
+				CommandsInitializer.resyncGuildCommands(event.getJDA(), List.of(role.getGuild().getId()));
+			}
 		}
 
 		if (success) {
@@ -105,11 +163,24 @@ public class CmdAccessCommand extends BaseCommand {
 			title = "📋 サーバーの許可コマンド一覧: " + name;
 		} else if (type.equalsIgnoreCase("user")) {
 			commands = DatabaseHelper.getCommandsAllowedForUser(targetId);
-			User user = event.getJDA().getUserById(targetId);
-			String name = (user != null) ? user.getAsTag() : "Unknown User (" + targetId + ")";
-			title = "📋 ユーザーの許可コマンド一覧: " + name;
+			if (!commands.isEmpty()) {
+				// 👤 ユーザー名は EntityResolver で引く（キャッシュに無いユーザーも表示できるよう応答を保留する）
+				event.deferReply(true).queue(hook -> EntityResolver.retrieveUser(event.getJDA(), targetId)
+						.completeOnTimeout(null, RESOLVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+						.thenAccept(user -> hook.editOriginalEmbeds(buildListEmbed(
+								"📋 ユーザーの許可コマンド一覧: " + userName(user, targetId), type, targetId, commands))
+								.queue()));
+				return;
+			}
+			title = null;
+		} else if (type.equalsIgnoreCase("role")) {
+			commands = DatabaseHelper.getCommandsAllowedForRole(targetId);
+			Role role = targetId.matches("\\d+") ? event.getJDA().getRoleById(targetId) : null;
+			String name = (role != null) ? role.getName() + "（" + role.getGuild().getName() + "）"
+					: "Unknown Role (" + targetId + ")";
+			title = "📋 ロールの許可コマンド一覧: " + name;
 		} else {
-			event.reply("⚠️ typeは 'server' または 'user' を指定してください。")
+			event.reply("⚠️ typeは 'server'・'user'・'role' のいずれかを指定してください。")
 					.setEphemeral(true).queue();
 			return;
 		}
@@ -117,17 +188,39 @@ public class CmdAccessCommand extends BaseCommand {
 		if (commands.isEmpty()) {
 			event.reply("📭 許可されているコマンドはありません。").setEphemeral(true).queue();
 		} else {
-			EmbedBuilder embed = new EmbedBuilder()
-					.setTitle(title)
-					.setDescription(commands.stream().map(cmd -> "• /" + cmd).collect(Collectors.joining("\n")))
-					.setColor(Color.GREEN);
-			event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+			event.replyEmbeds(buildListEmbed(title, type, targetId, commands)).setEphemeral(true).queue();
 		}
 	}
 
+	private static MessageEmbed buildListEmbed(String title, String type, String targetId, List<String> commands) {
+		boolean guildTarget = type.equalsIgnoreCase("server");
+		return new EmbedBuilder()
+				.setTitle(title)
+				.setDescription(commands.stream()
+						.map(cmd -> "• /" + cmd + (type.equalsIgnoreCase("role")
+								? roleExpirySuffix(targetId, cmd)
+								: expirySuffix(new PermissionGrant(guildTarget, targetId, cmd))))
+						.collect(Collectors.joining("\n")))
+				.setColor(Color.GREEN)
+				.build();
+	}
+
 	private void handleListAll(SlashCommandInteractionEvent event) {
-		Map<String, List<String>> guildMap = DatabaseHelper.getAllGuildPermissions();
 		Map<String, List<String>> userMap = DatabaseHelper.getAllUserPermissions();
+		if (userMap.isEmpty()) {
+			event.replyEmbeds(buildListAllEmbed(event, userMap, Map.of())).setEphemeral(true).queue();
+			return;
+		}
+		// 👤 ユーザー名はまとめて引く（同じIDの同時リクエストは1回にまとまり、結果はキャッシュされる）
+		event.deferReply(true).queue(hook -> EntityResolver.retrieveUsers(event.getJDA(), userMap.keySet())
+				.completeOnTimeout(Map.of(), RESOLVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+				.thenAccept(users -> hook.editOriginalEmbeds(buildListAllEmbed(event, userMap, users)).queue()));
+	}
+
+	private static MessageEmbed buildListAllEmbed(SlashCommandInteractionEvent event, Map<String, List<String>> userMap,
+			Map<String, User> users) {
+		Map<String, List<String>> guildMap = DatabaseHelper.getAllGuildPermissions();
+		Map<String, Map<String, List<String>>> roleMap = DatabaseHelper.getAllRolePermissions();
 
 		EmbedBuilder embed = new EmbedBuilder().setTitle("📋 全体の使用許可リスト").setColor(Color.BLUE);
 
@@ -136,7 +229,9 @@ public class CmdAccessCommand extends BaseCommand {
 					.map(entry -> {
 						Guild guild = event.getJDA().getGuildById(entry.getKey());
 						String name = (guild != null) ? guild.getName() : "Unknown Guild (" + entry.getKey() + ")";
-						String cmds = String.join(", ", entry.getValue());
+						String cmds = entry.getValue().stream()
+								.map(cmd -> cmd + expirySuffix(new PermissionGrant(true, entry.getKey(), cmd)))
+								.collect(Collectors.joining(", "));
 						return "**" + name + "**: " + cmds;
 					})
 					.collect(Collectors.joining("\n")), false);
@@ -145,15 +240,136 @@ public class CmdAccessCommand extends BaseCommand {
 		if (!userMap.isEmpty()) {
 			embed.addField("👤 ユーザーごとの許可", userMap.entrySet().stream()
 					.map(entry -> {
-						User user = event.getJDA().getUserById(entry.getKey());
-						String name = (user != null) ? user.getAsTag() : "Unknown User (" + entry.getKey() + ")";
-						String cmds = String.join(", ", entry.getValue());
+						String name = userName(users.get(entry.getKey()), entry.getKey());
+						String cmds = entry.getValue().stream()
+								.map(cmd -> cmd + expirySuffix(new PermissionGrant(false, entry.getKey(), cmd)))
+								.collect(Collectors.joining(", "));
 						return "**" + name + "**: " + cmds;
 					})
 					.collect(Collectors.joining("\n")), false);
 		}
 
-		event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+		if (!roleMap.isEmpty()) {
+			// 🎭 ロールはメンションで表示（Discord 側で名前に置き換わる）
+			embed.addField("🎭 ロールごとの許可", roleMap.entrySet().stream()
+					.map(entry -> {
+						Guild guild = event.getJDA().getGuildById(entry.getKey());
+						String name = (guild != null) ? guild.getName() : "Unknown Guild (" + entry.getKey() + ")";
+						String roles = entry.getValue().entrySet().stream()
+								.map(role -> "<@&" + role.getKey() + ">: " + role.getValue().stream()
+										.map(cmd -> cmd + roleExpirySuffix(role.getKey(), cmd))
+										.collect(Collectors.joining(", ")))
+								.collect(Collectors.joining(" / "));
+						return "**" + name + "**: " + roles;
+					})
+					.collect(Collectors.joining("\n")), false);
+		}
+
+		return embed.build();
+	}
+
+	/**
+	 * 👤 ユーザーの表示名（見つからなければ ID を添えて Unknown User）
+	 */
+	private static String userName(User user, String userId) {
+		return user != null ? user.getName() : "Unknown User (" + userId + ")";
+	}
+
+	/**
+	 * 📦 CSV 添付（type,target,command の各行）の許可をまとめて追加・削除する
+	 *
+	 * 全行を1トランザクションで反映し、影響を受けたサーバーのコマンドはサーバーごとに1回だけ再登録する。
+	 */
+	private void handleBulk(SlashCommandInteractionEvent event) {
+		Message.Attachment file = event.getOption("file") != null ? event.getOption("file").getAsAttachment() : null;
+		String action = getOptionValue(event, "action") != null ? getOptionValue(event, "action") : "add";
+
+		if (file == null || file.getSize() > MAX_BULK_FILE_BYTES) {
+			event.reply("⚠️ CSVファイル（1MBまで）を添付してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		event.deferReply(true).queue(hook -> file.getProxy().download().whenComplete((in, error) -> {
+			if (error != null) {
+				hook.editOriginal("❌ 添付ファイルの取得に失敗しました。").queue();
+				return;
+			}
+
+			List<PermissionGrant> grants = new ArrayList<>();
+			List<String> invalidLines = new ArrayList<>();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+				parseBulkCsv(reader, grants, invalidLines);
+			} catch (IOException e) {
+				hook.editOriginal("❌ CSVの読み込みに失敗しました。").queue();
+				return;
+			}
+
+			if (!invalidLines.isEmpty()) {
+				hook.editOriginal("⚠️ 不正な行があるため反映しませんでした（行番号: %s）。\n形式: `type,target,command`（type は server / user）"
+						.formatted(String.join(", ", invalidLines.stream().limit(20).toList()))).queue();
+				return;
+			}
+
+			int affected = action.equals("remove")
+					? DatabaseHelper.removePermissions(grants, event.getUser().getId())
+					: DatabaseHelper.addPermissions(grants, event.getUser().getId());
+
+			// 🔄 変更のあったサーバーのコマンド一覧を、サーバーごとに1回だけ更新（全て外れたサーバーは空にする）
+			CommandsInitializer.resyncGuildCommands(event.getJDA(), grants.stream()
+					.filter(PermissionGrant::guild)
+					.map(PermissionGrant::targetId)
+					.toList());
+
+			hook.editOriginal("✅ %d 行中 %d 件の許可を%sしました。"
+					.formatted(grants.size(), affected, action.equals("remove") ? "削除" : "追加")).queue();
+		}));
+	}
+
+	/**
+	 * ✂️ type,target,command 形式の CSV を読む（先頭のヘッダー行・空行・# で始まる行は無視）
+	 */
+	private static void parseBulkCsv(BufferedReader reader, List<PermissionGrant> grants, List<String> invalidLines)
+			throws IOException {
+		String line;
+		int lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			line = line.strip();
+			if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+				line = line.substring(1);
+			}
+			if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.toLowerCase().startsWith("type,"))) {
+				continue;
+			}
+
+			String[] fields = line.split(",");
+			if (fields.length != 3) {
+				invalidLines.add(String.valueOf(lineNumber));
+				continue;
+			}
+			String type = fields[0].strip();
+			String targetId = fields[1].strip();
+			String commandName = fields[2].strip().replaceFirst("^/", "");
+			boolean knownType = type.equalsIgnoreCase("server") || type.equalsIgnoreCase("user");
+			if (!knownType || !targetId.matches("\\d+") || CommandRegistry.getByName(commandName) == null) {
+				invalidLines.add(String.valueOf(lineNumber));
+				continue;
+			}
+			grants.add(new PermissionGrant(type.equalsIgnoreCase("server"), targetId, commandName));
+		}
+	}
+
+	/**
+	 * ⌛ 期限付きの許可なら「（〜に失効）」を付ける（Discord の相対時刻表示）
+	 */
+	private static String expirySuffix(PermissionGrant grant) {
+		long expiresAt = DatabaseHelper.getPermissionExpiry(grant);
+		return expiresAt > 0 ? "（<t:%d:R> に失効）".formatted(expiresAt / 1000) : "";
+	}
+
+	private static String roleExpirySuffix(String roleId, String commandName) {
+		long expiresAt = DatabaseHelper.getRolePermissionExpiry(roleId, commandName);
+		return expiresAt > 0 ? "（<t:%d:R> に失効）".formatted(expiresAt / 1000) : "";
 	}
 
 	private String getOptionValue(SlashCommandInteractionEvent event, String name) {
@@ -166,17 +382,23 @@ public class CmdAccessCommand extends BaseCommand {
 		return Commands.slash(getName(), getDescription())
 				.addSubcommands(
 						new SubcommandData("add", "使用許可を追加")
-								.addOption(OptionType.STRING, "type", "server か user を指定", true)
-								.addOption(OptionType.STRING, "target", "サーバーIDまたはユーザーID", true)
-								.addOption(OptionType.STRING, "command", "許可するコマンド名", true),
+								.addOption(OptionType.STRING, "type", "server・user・role のいずれか", true)
+								.addOption(OptionType.STRING, "target", "サーバーID・ユーザーID・ロールID", true)
+								.addOption(OptionType.STRING, "command", "許可するコマンド名", true)
+								.addOption(OptionType.STRING, "duration", "許可する期間（例: 30m, 12h, 7d。省略で無期限）", false),
 						new SubcommandData("remove", "使用許可を削除")
-								.addOption(OptionType.STRING, "type", "server か user を指定", true)
-								.addOption(OptionType.STRING, "target", "サーバーIDまたはユーザーID", true)
+								.addOption(OptionType.STRING, "type", "server・user・role のいずれか", true)
+								.addOption(OptionType.STRING, "target", "サーバーID・ユーザーID・ロールID", true)
 								.addOption(OptionType.STRING, "command", "削除するコマンド名", true),
 						new SubcommandData("list", "対象に許可されているコマンドを表示")
-								.addOption(OptionType.STRING, "type", "server か user を指定", true)
-								.addOption(OptionType.STRING, "target", "対象ID (サーバーまたはユーザー)", true),
-						new SubcommandData("listall", "全ての許可情報を表示（管理者用）"));
+								.addOption(OptionType.STRING, "type", "server・user・role のいずれか", true)
+								.addOption(OptionType.STRING, "target", "対象ID (サーバー・ユーザー・ロール)", true),
+						new SubcommandData("listall", "全ての許可情報を表示（管理者用）"),
+						new SubcommandData("bulk", "CSV（type,target,command）で許可をまとめて追加・削除")
+								.addOption(OptionType.ATTACHMENT, "file", "CSVファイル（1行1件）", true)
+								.addOptions(new OptionData(OptionType.STRING, "action", "add（既定）または remove", false)
+										.addChoice("add", "add")
+										.addChoice("remove", "remove")));
 	}
 
 	@Override
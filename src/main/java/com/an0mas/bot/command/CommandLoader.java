@@ -14,8 +14,12 @@ public class CommandLoader {
 		return List.of(
 				new HelpCommand(), // 🆘 /help：Botの使い方ガイドを表示
 				new CmdAccessCommand(), // 🛡️ /cmdaccess：使用許可の追加・削除・確認
+				new ConfigCommand(), // 🎛️ /config：Botの設定（全体・サーバーごと）の確認・変更
+				new UserInfoCommand(), // 👤 /userinfo：ユーザーの情報を表示
 				new FeedbackCommand(), // 📨 /feedback：モーダルで意見や要望を送信
 				new FeedbackListCommand(), // 📋 /feedbacklist：受け取ったフィードバックを一覧表示
+				new FeedbackExportCommand(), // 📦 /feedbackexport：フィードバックを CSV / NDJSON で出力（開発者専用）
+				new JfrCommand(), // 🎥 /jfr：JFR で時間を区切って記録（開発者専用）
 				new BlockUserCommand() // ⛔ /blockuser：ユーザーをブロック／解除／リスト表示（開発者専用）
 		// 🧩 今後ここに新しいコマンドを追加していくだけ！
 		);
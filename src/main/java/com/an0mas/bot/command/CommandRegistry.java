@@ -1,15 +1,44 @@
 package com.an0mas.bot.command;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.database.CommandOrdinals;
 
 public class CommandRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(CommandRegistry.class);
 
     private static final List<BaseCommand> commands = new ArrayList<>();
+    private static final Map<String, BaseCommand> byName = new HashMap<>();
+    private static volatile boolean frozen;
 
-    // コマンドを登録する
-    public static void register(BaseCommand command) {
+    // コマンドを登録する（freeze 後は不可）
+    public static synchronized void register(BaseCommand command) {
+        if (frozen) {
+            throw new IllegalStateException("コマンド登録は確定済みです: /" + command.getName());
+        }
         commands.add(command);
+        byName.putIfAbsent(command.getName().toLowerCase(Locale.ROOT), command);
+    }
+
+    /**
+     * 🔒 登録を確定し、コマンドに登録順で連番を振る（権限のビットマスクのビット位置になる）
+     *
+     * 権限ビューの復元より前に呼ぶと、登録済みのコマンドが先頭の番号に詰まる。2回目以降は何もしない。
+     */
+    public static synchronized void freeze() {
+        if (frozen) {
+            return;
+        }
+        CommandOrdinals.assign(commands.stream().map(BaseCommand::getName).toList());
+        frozen = true;
+        logger.info("🔢 コマンド {} 件に番号を割り当てました", commands.size());
     }
 
     // 登録されたコマンド一覧を取得
@@ -17,11 +46,8 @@ public class CommandRegistry {
         return commands;
     }
 
-    // コマンド名から取得
+    // コマンド名から取得（大文字小文字は区別しない）
     public static BaseCommand getByName(String name) {
-        return commands.stream()
-                .filter(cmd -> cmd.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        return name != null ? byName.get(name.toLowerCase(Locale.ROOT)) : null;
     }
 }
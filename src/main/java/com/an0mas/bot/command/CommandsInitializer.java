@@ -1,12 +1,16 @@
 package com.an0mas.bot.command;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.an0mas.bot.database.DatabaseHelper;
 
 import net.dv8tion.jda.api.JDA;
@@ -21,71 +25,127 @@ import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
  * 🛡️ 特定の制限付きコマンド（cmdaccess）は例外的にグローバル登録
  */
 public class CommandsInitializer {
+	private static final Logger logger = LoggerFactory.getLogger(CommandsInitializer.class);
 
 	public static void registerSlashCommands(JDA jda) {
+		// ⌛ 期限切れで許可が外れたサーバーは、その場でコマンド一覧を送り直す
+		DatabaseHelper.addGuildExpiryListener(guildIds -> resyncGuildCommands(jda, guildIds));
+
 		List<SlashCommandData> globalCommands = new ArrayList<>();
-		Map<String, List<SlashCommandData>> guildCommandMap = new HashMap<>();
-		Set<String> globallyRegistered = new HashSet<>();
 
 		for (BaseCommand cmd : CommandRegistry.getCommands()) {
 			SlashCommandData data = cmd.getSlashCommandData();
-			if (data == null)
+			if (data == null || !isGlobal(cmd))
 				continue;
 
-			String name = cmd.getName();
-
-			if (!cmd.isRestricted()) {
-				// ✅ 制限なし → グローバル登録
-				globalCommands.add(data);
-				globallyRegistered.add(name);
-				System.out.println("🌐 グローバル登録 → /" + name);
-
-			} else if (name.equals("cmdaccess")) {
-				// 🛡️ 特例としてグローバル登録
-				globalCommands.add(data);
-				globallyRegistered.add(name);
-				System.out.println("🛡️ 特例でグローバル登録 → /" + name);
-
+			globalCommands.add(data);
+			if (cmd.isRestricted()) {
+				logger.info("🛡️ 特例でグローバル登録 → /{}", cmd.getName());
 			} else {
-				// 🔒 その他の制限付きコマンド → Guildごとに登録
-				List<String> allowedGuilds = DatabaseHelper.getGuildsAllowedForCommand(name);
-				System.out.println("🔎 /" + name + " の許可Guild数: " + allowedGuilds.size());
-
-				for (String guildId : allowedGuilds) {
-					guildCommandMap.computeIfAbsent(guildId, k -> new ArrayList<>()).add(data);
-					System.out.println("📌 /" + name + " を Guild " + guildId + " に登録予定");
-				}
+				logger.info("🌐 グローバル登録 → /{}", cmd.getName());
 			}
 		}
 
 		// 🌍 グローバルコマンド登録（最大1時間で反映）
 		if (!globalCommands.isEmpty()) {
 			jda.updateCommands().addCommands(globalCommands).queue();
-			System.out.println("✅ グローバルコマンドを登録しました（" + globalCommands.size() + " 件）");
+			logger.info("✅ グローバルコマンドを登録しました（{} 件）", globalCommands.size());
 		}
 
-		// 🏠 Guildごとのコマンド登録（即時反映）
-		for (Map.Entry<String, List<SlashCommandData>> entry : guildCommandMap.entrySet()) {
+		// 🏠 Guildごとのコマンド登録（即時反映）：サーバーへの許可とロールへの許可をまとめて取得
+		Map<String, List<String>> guildPermissions = DatabaseHelper.getAllCommandsToRegister();
+		for (Map.Entry<String, List<String>> entry : guildPermissions.entrySet()) {
 			String guildId = entry.getKey();
-			List<SlashCommandData> commands = entry.getValue();
 			Guild guild = jda.getGuildById(guildId);
 
-			// 🔍 登録しようとしているコマンド一覧をログに表示
-			System.out.println("📋 Guild登録対象コマンド（" + guildId + "）: ");
-			for (SlashCommandData cmd : commands) {
-				System.out.println("  ┗ /" + cmd.getName());
+			if (guild != null) {
+				registerGuildCommands(guild, entry.getValue());
+			} else {
+				logger.warn("⚠️ Guildが見つかりません（Botが参加していない？）: {}", guildId);
 			}
+		}
+	}
+
+	/**
+	 * 🏠 指定Guildに、許可された制限付きコマンドをまとめて登録する
+	 *
+	 * 起動時の同期と Guild 参加時（BotJoinListener）の両方から呼ばれる共通の登録経路。
+	 * 許可コマンド名はあらかじめ 1 クエリで取得したものを渡すこと（コマンドごとに DB を引かない）。
+	 *
+	 * @param guild 登録先のGuild
+	 * @param allowedCommandNames このGuildに許可されているコマンド名
+	 * @return 登録対象になったコマンド数（0 の場合は空の一覧を送り、以前に登録したコマンドを消す）
+	 */
+	public static int registerGuildCommands(Guild guild, Collection<String> allowedCommandNames) {
+		List<SlashCommandData> commands = resolveGuildCommands(allowedCommandNames);
+		String guildId = guild.getId();
+
+		if (commands.isEmpty()) {
+			// 🧹 許可がすべて外れた場合も、前に登録したコマンドが残らないよう空の一覧で上書きする
+			guild.updateCommands().queue(
+					success -> logger.info("ℹ️ 登録するコマンドはありません：{} ({})", guild.getName(), guildId),
+					error -> logger.error("❌ コマンドの削除失敗 → Guild: {}: {}", guildId, error.getMessage()));
+			return 0;
+		}
+
+		// 🔍 登録しようとしているコマンド一覧（Guild 数が多いと行数も増えるため DEBUG）
+		if (logger.isDebugEnabled()) {
+			logger.debug("📋 Guild登録対象コマンド（{}）: {}", guildId,
+					commands.stream().map(cmd -> "/" + cmd.getName()).toList());
+		}
+
+		guild.updateCommands().addCommands(commands).queue(
+				success -> logger.info("✅ 登録完了 → Guild: {} ({}) に {} 件登録しました", guild.getName(), guildId,
+						commands.size()),
+				error -> logger.error("❌ 登録失敗 → Guild: {} に登録中にエラー発生: {}", guildId, error.getMessage()));
+		return commands.size();
+	}
 
+	/**
+	 * 🔄 指定したサーバーのコマンド一覧を、現在の許可に合わせて送り直す（許可の削除・期限切れの後に使う）
+	 *
+	 * Botが参加していないサーバー・IDとして読めない値（入力のままの target など）は飛ばす。同じサーバーは1回だけ送る。
+	 */
+	public static void resyncGuildCommands(JDA jda, Collection<String> guildIds) {
+		for (String guildId : new LinkedHashSet<>(guildIds)) {
+			Guild guild;
+			try {
+				guild = jda.getGuildById(guildId);
+			} catch (NumberFormatException e) {
+				continue;
+			}
 			if (guild != null) {
-				guild.updateCommands().addCommands(commands).queue(
-						success -> System.out.println("✅ 登録完了 → Guild: " + guild.getName() + " (" + guildId + ") に "
-								+ commands.size() + " 件登録しました"),
-						error -> System.out
-								.println("❌ 登録失敗 → Guild: " + guildId + " に登録中にエラー発生: " + error.getMessage()));
-			} else {
-				System.out.println("⚠️ Guildが見つかりません（Botが参加していない？）: " + guildId);
+				registerGuildCommands(guild, DatabaseHelper.getCommandsToRegisterForGuild(guildId));
+			}
+		}
+	}
+
+	/**
+	 * 🔎 許可コマンド名の一覧から、Guild単位で登録すべき SlashCommandData を組み立てる
+	 *
+	 * - グローバル登録されるコマンド（制限なし・cmdaccess）は除外
+	 * - 並び順は CommandRegistry の登録順に揃える
+	 */
+	static List<SlashCommandData> resolveGuildCommands(Collection<String> allowedCommandNames) {
+		Set<String> allowed = new HashSet<>(allowedCommandNames);
+		List<SlashCommandData> commands = new ArrayList<>();
+
+		for (BaseCommand cmd : CommandRegistry.getCommands()) {
+			if (isGlobal(cmd) || !allowed.contains(cmd.getName()))
+				continue;
+
+			SlashCommandData data = cmd.getSlashCommandData();
+			if (data != null) {
+				commands.add(data);
 			}
 		}
+		return commands;
+	}
 
+	/**
+	 * 🌐 グローバル登録の対象かどうか（制限なし or 特例の cmdaccess）
+	 */
+	private static boolean isGlobal(BaseCommand cmd) {
+		return !cmd.isRestricted() || cmd.getName().equals("cmdaccess");
 	}
 }
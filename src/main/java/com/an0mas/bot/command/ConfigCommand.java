@@ -0,0 +1,179 @@
+package com.an0mas.bot.command;
+
+import java.awt.Color;
+import java.util.stream.Collectors;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.Setting;
+import com.an0mas.bot.database.Settings;
+import com.an0mas.bot.database.SettingsSnapshot;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
+
+/**
+ * 🎛️ /config コマンド：Botの設定（{@link Settings}）の確認・変更
+ *
+ * - 全体の設定を変えられるのは開発者だけ
+ * - サーバーごとに上書きできる項目は、そのサーバーの「サーバー管理」権限を持つメンバーも変更できる
+ * - scope を省略した場合、サーバー内で上書き可能な項目なら guild、それ以外は global として扱う
+ */
+public class ConfigCommand extends BaseCommand {
+
+	public ConfigCommand() {
+		super("config", "Botの設定を確認・変更します");
+	}
+
+	@Override
+	public void execute(SlashCommandInteractionEvent event) {
+		String subcommand = event.getSubcommandName();
+		if (subcommand == null) {
+			event.reply("⚠️ 不明なサブコマンドです。").setEphemeral(true).queue();
+			return;
+		}
+		if (subcommand.equals("list")) {
+			handleList(event);
+			return;
+		}
+
+		Setting<?> setting = Settings.byKey(getOptionValue(event, "key"));
+		if (setting == null) {
+			event.reply("⚠️ 不明な設定です。`/config list` で一覧を確認してください。").setEphemeral(true).queue();
+			return;
+		}
+		String guildId = event.getGuild() != null ? event.getGuild().getId() : null;
+		String scope = getOptionValue(event, "scope");
+		boolean guildScope = scope != null ? scope.equals("guild") : guildId != null && setting.guildOverridable();
+		if (guildScope && guildId == null) {
+			event.reply("⚠️ サーバーごとの設定はサーバー内で実行してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		switch (subcommand) {
+		case "get" -> handleGet(event, setting, guildId);
+		case "set" -> handleUpdate(event, setting, guildScope ? guildId : null, getOptionValue(event, "value"));
+		case "reset" -> handleUpdate(event, setting, guildScope ? guildId : null, null);
+		default -> event.reply("⚠️ 不明なサブコマンドです。").setEphemeral(true).queue();
+		}
+	}
+
+	private void handleList(SlashCommandInteractionEvent event) {
+		String guildId = event.getGuild() != null ? event.getGuild().getId() : null;
+		SettingsSnapshot settings = DatabaseHelper.getSettings();
+
+		EmbedBuilder embed = new EmbedBuilder()
+				.setTitle("🎛️ Botの設定（v" + settings.version() + "）")
+				.setColor(Color.CYAN)
+				.setDescription(Settings.all().stream()
+						.map(setting -> describe(settings, setting, guildId))
+						.collect(Collectors.joining("\n\n")));
+		event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+	}
+
+	private void handleGet(SlashCommandInteractionEvent event, Setting<?> setting, String guildId) {
+		event.reply(describe(DatabaseHelper.getSettings(), setting, guildId)).setEphemeral(true).queue();
+	}
+
+	/**
+	 * ✏️ 値を変更する（value が null なら既定値に戻す）
+	 */
+	private void handleUpdate(SlashCommandInteractionEvent event, Setting<?> setting, String guildId, String value) {
+		if (!canEdit(event, guildId)) {
+			event.reply(guildId != null
+					? "⛔ サーバーの設定を変更するには「サーバー管理」権限が必要です。"
+					: "⛔ 全体の設定を変更できるのは開発者だけです。").setEphemeral(true).queue();
+			return;
+		}
+		if (value == null && !event.getSubcommandName().equals("reset")) {
+			event.reply("⚠️ value を指定してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		Settings.UpdateResult result;
+		try {
+			result = DatabaseHelper.updateSetting(setting, guildId, value, event.getUser().getId(), -1);
+		} catch (IllegalArgumentException e) {
+			event.reply("⚠️ " + setting.key() + ": " + e.getMessage()).setEphemeral(true).queue();
+			return;
+		}
+
+		String target = guildId != null ? "このサーバーの " : "全体の ";
+		String message = switch (result) {
+		case UPDATED -> value != null
+				? "✅ " + target + "`" + setting.key() + "` を `" + setting.format(setting.parse(value)) + "` にしました。"
+				: "✅ " + target + "`" + setting.key() + "` を既定値に戻しました。";
+		case UNCHANGED -> "➖ " + target + "`" + setting.key() + "` は既にその値です。";
+		case CONFLICT, FAILED -> "❌ 設定の変更に失敗しました。時間をおいて再度お試しください。";
+		};
+		event.reply(message).setEphemeral(true).queue();
+	}
+
+	/**
+	 * 🛡️ 全体の設定は開発者、サーバーの設定は開発者かサーバー管理権限を持つメンバー
+	 */
+	private static boolean canEdit(SlashCommandInteractionEvent event, String guildId) {
+		String ownerId = ConfigLoader.get("BOT_OWNER_ID");
+		if (ownerId != null && event.getUser().getId().equals(ownerId)) {
+			return true;
+		}
+		return guildId != null && event.getMember() != null && event.getMember().hasPermission(Permission.MANAGE_SERVER);
+	}
+
+	/**
+	 * 🧾 1項目の表示（現在の値・全体の値・既定値）
+	 */
+	private static String describe(SettingsSnapshot settings, Setting<?> setting, String guildId) {
+		StringBuilder text = new StringBuilder()
+				.append("**").append(setting.key()).append("** (").append(setting.type()).append(")")
+				.append(setting.guildOverridable() ? " 🏠" : "")
+				.append("\n").append(setting.description())
+				.append("\n現在: `").append(setting.format(settings.get(setting, guildId))).append("`");
+		Object override = guildId != null ? settings.override(setting, guildId) : null;
+		if (override != null) {
+			text.append("（このサーバーで上書き。全体: `").append(setting.format(settings.get(setting))).append("`）");
+		} else if (!settings.isSet(setting)) {
+			text.append("（既定値）");
+		}
+		return text.toString();
+	}
+
+	private String getOptionValue(SlashCommandInteractionEvent event, String name) {
+		var option = event.getOption(name);
+		return option != null ? option.getAsString() : null;
+	}
+
+	@Override
+	public SlashCommandData getSlashCommandData() {
+		OptionData key = new OptionData(OptionType.STRING, "key", "設定のキー", true);
+		Settings.all().forEach(setting -> key.addChoice(setting.key(), setting.key()));
+		OptionData scope = new OptionData(OptionType.STRING, "scope", "global（全体）または guild（このサーバー）", false)
+				.addChoice("global", "global")
+				.addChoice("guild", "guild");
+
+		return Commands.slash(getName(), getDescription())
+				.setDefaultPermissions(DefaultMemberPermissions.enabledFor(Permission.MANAGE_SERVER))
+				.addSubcommands(
+						new SubcommandData("list", "全ての設定と現在の値を表示"),
+						new SubcommandData("get", "設定の値を表示")
+								.addOptions(key),
+						new SubcommandData("set", "設定を変更")
+								.addOptions(key)
+								.addOption(OptionType.STRING, "value", "新しい値", true)
+								.addOptions(scope),
+						new SubcommandData("reset", "設定を既定値に戻す")
+								.addOptions(key, scope));
+	}
+
+	@Override
+	public boolean isRestricted() {
+		return false; // ✅ 変更は execute 内で権限を確認する
+	}
+}
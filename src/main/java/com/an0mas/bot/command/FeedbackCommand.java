@@ -1,5 +1,8 @@
 package com.an0mas.bot.command;
 
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.Settings;
+
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
@@ -18,6 +21,13 @@ public class FeedbackCommand extends BaseCommand {
 
 	@Override
 	public void execute(SlashCommandInteractionEvent event) {
+		// 🎛️ サーバーの設定で受付を止めている場合
+		String guildId = event.getGuild() != null ? event.getGuild().getId() : null;
+		if (!DatabaseHelper.getSetting(Settings.FEEDBACK_ENABLED, guildId)) {
+			event.reply("📭 現在このサーバーではフィードバックを受け付けていません。").setEphemeral(true).queue();
+			return;
+		}
+
 		// 📝 件名
 		TextInput titleInput = TextInput.create("title", "件名", TextInputStyle.SHORT)
 				.setPlaceholder("例：新しいコマンドが欲しい！")
@@ -0,0 +1,125 @@
+package com.an0mas.bot.command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+import com.an0mas.bot.util.FeedbackExporter;
+import com.an0mas.bot.util.FeedbackExporter.Format;
+
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.utils.FileUpload;
+
+/**
+ * 📦 /feedbackexport コマンド：全フィードバックを gzip 圧縮した CSV / NDJSON で受け取る（開発者専用）
+ *
+ * 一時ファイルへ1行ずつ書き出してから添付するため、件数が多くてもメモリを使わない。
+ * 書き出しはイベントスレッドを塞がないよう別スレッドで行う。
+ */
+public class FeedbackExportCommand extends BaseCommand {
+	private static final Logger logger = LoggerFactory.getLogger(FeedbackExportCommand.class);
+
+	/** 📏 Discord の添付ファイル上限（超える場合は WebUI からのダウンロードを案内） */
+	private static final long MAX_UPLOAD_BYTES = 8L * 1024 * 1024;
+
+	public FeedbackExportCommand() {
+		super("feedbackexport", "フィードバックを CSV / NDJSON でエクスポートします（開発者専用）");
+	}
+
+	@Override
+	public void execute(SlashCommandInteractionEvent event) {
+		String ownerId = ConfigLoader.get("BOT_OWNER_ID");
+		if (ownerId == null || !event.getUser().getId().equals(ownerId)) {
+			event.reply("⚠️ このコマンドは開発者専用です。").setEphemeral(true).queue();
+			return;
+		}
+
+		Format format = Format.fromName(event.getOption("format") != null
+				? event.getOption("format").getAsString()
+				: "csv");
+		if (format == null) {
+			event.reply("⚠️ 形式は csv または ndjson を指定してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		// 🧾 停止処理が書き出しの完了を待てるよう、別スレッド側でも処理中として数える
+		if (!ShutdownManager.tryBegin()) {
+			event.reply(ShutdownManager.REJECT_MESSAGE).setEphemeral(true).queue();
+			return;
+		}
+		event.deferReply(true).queue(hook -> CompletableFuture.runAsync(() -> {
+			try {
+				exportAndSend(hook, format);
+			} finally {
+				ShutdownManager.end();
+			}
+		}), failure -> ShutdownManager.end());
+	}
+
+	private static void exportAndSend(InteractionHook hook, Format format) {
+		String fileName = "feedbacks-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+				+ "." + format.getExtension() + ".gz";
+		Path file = null;
+		try {
+			file = Files.createTempFile("feedback-export-", ".gz");
+			int count;
+			try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+				count = FeedbackExporter.export(format, out);
+			}
+
+			long size = Files.size(file);
+			if (size > MAX_UPLOAD_BYTES) {
+				hook.editOriginal("⚠️ エクスポート結果が大きすぎるため添付できません（%,d バイト）。WebUI の `/api/v1/feedbacks/export?format=%s` からダウンロードしてください。"
+						.formatted(size, format.getExtension())).queue();
+				Files.deleteIfExists(file);
+				return;
+			}
+
+			Path uploaded = file;
+			hook.editOriginal("📦 フィードバック `%d` 件をエクスポートしました。".formatted(count))
+					.setFiles(FileUpload.fromData(uploaded.toFile(), fileName))
+					.queue(ok -> deleteQuietly(uploaded), failure -> deleteQuietly(uploaded));
+		} catch (IOException e) {
+			logger.error("❌ フィードバックのエクスポートに失敗しました: {}", e.getMessage(), e);
+			hook.editOriginal("❌ エクスポートに失敗しました。").queue();
+			if (file != null) {
+				deleteQuietly(file);
+			}
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+		}
+	}
+
+	@Override
+	public SlashCommandData getSlashCommandData() {
+		return Commands.slash(getName(), getDescription())
+				.addOptions(new OptionData(OptionType.STRING, "format", "出力形式（既定: csv）", false)
+						.addChoice("CSV", "csv")
+						.addChoice("NDJSON（1行1JSON）", "ndjson"));
+	}
+
+	@Override
+	public boolean isRestricted() {
+		return true;
+	}
+}
@@ -5,7 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
 import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.Settings;
 import com.an0mas.bot.model.FeedbackEntry;
 import com.an0mas.bot.util.EmbedUtil;
 
@@ -33,7 +35,7 @@ public class FeedbackListCommand extends BaseCommand {
 		}
 
 		int page = 1;
-		int pageSize = 5;
+		int pageSize = DatabaseHelper.getSetting(Settings.FEEDBACK_PAGE_SIZE);
 		List<FeedbackEntry> allFeedbacks = FeedbackDatabaseHelper.getAllFeedbacks();
 
 		if (allFeedbacks.isEmpty()) {
@@ -3,6 +3,7 @@ package com.an0mas.bot.command;
 import java.util.List;
 
 import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.util.AccessControlUtil;
 
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
@@ -32,7 +33,8 @@ public class HelpCommand extends BaseCommand {
             // 🔒 制限付きの場合、使用可能かチェック
             if (cmd.isRestricted()) {
                 boolean guildAllowed = guildId != null && DatabaseHelper.isGuildCommandAllowed(guildId, cmd.getName());
-                boolean userAllowed = DatabaseHelper.isUserCommandAllowed(userId, cmd.getName());
+                boolean userAllowed = DatabaseHelper.isUserCommandAllowed(userId, cmd.getName())
+                        || AccessControlUtil.isAllowedByRoles(event.getMember(), cmd.getName());
 
                 // 両方とも許可されてない → 表示しない
                 if (!guildAllowed && !userAllowed) continue;
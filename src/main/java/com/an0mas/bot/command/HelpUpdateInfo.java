@@ -11,9 +11,7 @@ public class HelpUpdateInfo {
 	 * 今後追加予定の機能リスト
 	 */
 	public static List<String> getUpcomingFeatures() {
-		return List.of(
-				"`/config` によるBot設定の管理",
-				"`/userinfo` コマンドでユーザー情報を表示");
+		return List.of();
 	}
 
 	/**
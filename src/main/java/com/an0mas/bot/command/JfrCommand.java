@@ -0,0 +1,107 @@
+package com.an0mas.bot.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.metrics.FlightRecordings;
+
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+import net.dv8tion.jda.api.utils.FileUpload;
+
+/**
+ * 🎥 /jfr コマンド：本番プロセスで指定秒数だけ JFR を記録し、.jfr ファイルを受け取る（開発者専用）
+ *
+ * 記録には JDK の "default" 設定と Bot 独自のイベント（インタラクション・DBクエリ・Discord REST）を使うため、
+ * 記録中も処理への影響はごくわずか。JDK Mission Control や {@code jfr print} で開ける。
+ */
+public class JfrCommand extends BaseCommand {
+	private static final Logger logger = LoggerFactory.getLogger(JfrCommand.class);
+
+	/** 📏 Discord の添付ファイル上限（超える場合はサーバー上のパスを案内） */
+	private static final long MAX_UPLOAD_BYTES = 8L * 1024 * 1024;
+	private static final int DEFAULT_SECONDS = 60;
+
+	public JfrCommand() {
+		super("jfr", "JFR（Flight Recorder）で指定秒数だけ記録します（開発者専用）");
+	}
+
+	@Override
+	public void execute(SlashCommandInteractionEvent event) {
+		String ownerId = ConfigLoader.get("BOT_OWNER_ID");
+		if (ownerId == null || !event.getUser().getId().equals(ownerId)) {
+			event.reply("⚠️ このコマンドは開発者専用です。").setEphemeral(true).queue();
+			return;
+		}
+		if (FlightRecordings.isRecording()) {
+			event.reply("⚠️ 既に記録中です。終わってからもう一度実行してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		int seconds = event.getOption("seconds") != null
+				? event.getOption("seconds").getAsInt()
+				: DEFAULT_SECONDS;
+
+		// ⏳ 記録中はスレッドを塞がず、書き出しが終わった時点で応答を差し替える
+		event.reply("🎥 JFR の記録を開始しました（%d 秒）。終わったらファイルを添付します。".formatted(seconds))
+				.setEphemeral(true)
+				.queue(hook -> FlightRecordings.record(Duration.ofSeconds(seconds))
+						.whenComplete((file, error) -> {
+							if (error != null) {
+								hook.editOriginal("❌ 記録に失敗しました: " + error.getMessage()).queue();
+							} else {
+								sendRecording(hook, file);
+							}
+						}));
+	}
+
+	private static void sendRecording(InteractionHook hook, Path file) {
+		String fileName = "an0mas-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+				+ ".jfr";
+		try {
+			long size = Files.size(file);
+			if (size > MAX_UPLOAD_BYTES) {
+				hook.editOriginal("⚠️ 記録が大きすぎるため添付できません（%,d バイト）。サーバー上の `%s` を取得してください。"
+						.formatted(size, file)).queue();
+				return;
+			}
+			hook.editOriginal("🎞️ JFR の記録です（%,d バイト）。".formatted(size))
+					.setFiles(FileUpload.fromData(file.toFile(), fileName))
+					.queue(ok -> deleteQuietly(file), failure -> deleteQuietly(file));
+		} catch (IOException e) {
+			logger.error("❌ JFR の記録を送信できませんでした: {}", e.getMessage(), e);
+			hook.editOriginal("❌ 記録の送信に失敗しました。").queue();
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+		}
+	}
+
+	@Override
+	public SlashCommandData getSlashCommandData() {
+		return Commands.slash(getName(), getDescription())
+				.addOptions(new OptionData(OptionType.INTEGER, "seconds", "記録する秒数（既定: 60）", false)
+						.setRequiredRange(1, FlightRecordings.MAX_DURATION.toSeconds()));
+	}
+
+	@Override
+	public boolean isRestricted() {
+		return true;
+	}
+}
@@ -0,0 +1,145 @@
+package com.an0mas.bot.command;
+
+import java.awt.Color;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.util.AccessControlUtil;
+import com.an0mas.bot.util.EntityResolver;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.SlashCommandData;
+
+/**
+ * 👤 /userinfo コマンド：ユーザーの情報（アカウント・サーバーでのメンバー情報）を表示
+ *
+ * - user オプション・省略時（自分）はインタラクションに含まれるユーザー／メンバーをそのまま使う（取得なし）
+ * - id オプションは {@link EntityResolver} で引く（キャッシュ・同時リクエストのまとめ・メンバーのバッチ取得）
+ * - 開発者にはブロック状態と個別の許可コマンドも表示する（権限ビューから。クエリなし）
+ */
+public class UserInfoCommand extends BaseCommand {
+
+	/** ⏳ id 指定時の取得を待つ上限（超えたら見つからなかった扱い） */
+	private static final long RESOLVE_TIMEOUT_SECONDS = 5;
+
+	/** 🎭 表示するロールの上限（Embed のフィールド長に収める） */
+	private static final int MAX_ROLES = 20;
+
+	public UserInfoCommand() {
+		super("userinfo", "ユーザーの情報を表示します");
+	}
+
+	@Override
+	public void execute(SlashCommandInteractionEvent event) {
+		OptionMapping userOption = event.getOption("user");
+		OptionMapping idOption = event.getOption("id");
+
+		if (userOption != null) {
+			event.replyEmbeds(buildEmbed(event, userOption.getAsUser(), userOption.getAsMember()))
+					.setEphemeral(true).queue();
+			return;
+		}
+		if (idOption == null) {
+			event.replyEmbeds(buildEmbed(event, event.getUser(), event.getMember())).setEphemeral(true).queue();
+			return;
+		}
+
+		String userId = idOption.getAsString().strip();
+		if (!userId.matches("\\d{1,19}")) {
+			event.reply("⚠️ id にはユーザーID（数字）を指定してください。").setEphemeral(true).queue();
+			return;
+		}
+
+		// 🔎 ユーザーとメンバーを並行して引く（どちらもキャッシュに当たれば即時）
+		CompletableFuture<User> user = EntityResolver.retrieveUser(event.getJDA(), userId)
+				.completeOnTimeout(null, RESOLVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		CompletableFuture<Member> member = event.getGuild() != null
+				? EntityResolver.retrieveMember(event.getGuild(), userId)
+						.completeOnTimeout(null, RESOLVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+				: CompletableFuture.completedFuture(null);
+
+		event.deferReply(true).queue(hook -> user.thenCombine(member, (foundUser, foundMember) -> {
+			User resolved = foundUser != null ? foundUser : foundMember != null ? foundMember.getUser() : null;
+			if (resolved == null) {
+				hook.editOriginal("📭 ユーザーが見つかりませんでした（`" + userId + "`）。").queue();
+			} else {
+				hook.editOriginalEmbeds(buildEmbed(event, resolved, foundMember)).queue();
+			}
+			return null;
+		}));
+	}
+
+	/**
+	 * 🧾 ユーザー情報の Embed（member が null ならアカウントの情報だけ）
+	 */
+	private static MessageEmbed buildEmbed(SlashCommandInteractionEvent event, User user, Member member) {
+		EmbedBuilder embed = new EmbedBuilder()
+				.setTitle("👤 " + (member != null ? member.getEffectiveName() : user.getEffectiveName()))
+				.setThumbnail(member != null ? member.getEffectiveAvatarUrl() : user.getEffectiveAvatarUrl())
+				.setColor(member != null && member.getColor() != null ? member.getColor() : Color.CYAN)
+				.addField("🏷️ ユーザー名", "`" + user.getName() + "`" + (user.isBot() ? " 🤖" : ""), true)
+				.addField("🆔 ID", "`" + user.getId() + "`", true)
+				.addField("📅 アカウント作成", timestamp(user.getTimeCreated()), false);
+
+		if (member != null) {
+			if (member.hasTimeJoined()) {
+				embed.addField("🏠 サーバー参加", timestamp(member.getTimeJoined()), false);
+			}
+			if (member.getTimeBoosted() != null) {
+				embed.addField("💎 ブースト開始", timestamp(member.getTimeBoosted()), false);
+			}
+			List<Role> roles = member.getRoles();
+			if (!roles.isEmpty()) {
+				String mentions = roles.stream()
+						.limit(MAX_ROLES)
+						.map(Role::getAsMention)
+						.collect(Collectors.joining(" "));
+				embed.addField("🎭 ロール（" + roles.size() + "）",
+						roles.size() > MAX_ROLES ? mentions + " …" : mentions, false);
+			}
+		} else if (event.getGuild() != null) {
+			embed.setFooter("このサーバーのメンバーではありません");
+		}
+
+		// 🛡️ Bot 内の権限は開発者にだけ見せる
+		String ownerId = ConfigLoader.get("BOT_OWNER_ID");
+		if (ownerId != null && event.getUser().getId().equals(ownerId)) {
+			List<String> commands = DatabaseHelper.getCommandsAllowedForUser(user.getId());
+			embed.addField("⛔ ブロック", AccessControlUtil.isBlocked(user.getId()) ? "ブロック中" : "なし", true);
+			embed.addField("🛡️ 個別に許可されたコマンド", commands.isEmpty() ? "なし"
+					: commands.stream().map(cmd -> "/" + cmd).collect(Collectors.joining(", ")), true);
+		}
+		return embed.build();
+	}
+
+	/** 🕒 Discord の日時表示（絶対＋相対） */
+	private static String timestamp(OffsetDateTime time) {
+		long epoch = time.toEpochSecond();
+		return "<t:%d:F>（<t:%d:R>）".formatted(epoch, epoch);
+	}
+
+	@Override
+	public SlashCommandData getSlashCommandData() {
+		return Commands.slash(getName(), getDescription())
+				.addOption(OptionType.USER, "user", "表示するユーザー（省略で自分）", false)
+				.addOption(OptionType.STRING, "id", "ユーザーID（サーバーにいないユーザーも引けます）", false);
+	}
+
+	@Override
+	public boolean isRestricted() {
+		return false; // ✅ 誰でも使える！
+	}
+}
@@ -3,7 +3,7 @@ package com.an0mas.bot.config;
 import io.github.cdimascio.dotenv.Dotenv;
 
 public class ConfigLoader {
-	private static final Dotenv dotenv = Dotenv.load(); // .envを読み込む
+	private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); // .envを読み込む（無ければ環境変数のみ）
 
 	public static String get(String key) {
 		return dotenv.get(key);
@@ -0,0 +1,71 @@
+package com.an0mas.bot.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.an0mas.bot.BotLauncher;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+
+import net.dv8tion.jda.api.JDA;
+
+/**
+ * 🤝 EmbeddedBotConfig:
+ * {@code bot.embedded=true} のとき、Bot（JDA）を WebUI と同じ Spring コンテキストで起動する単一プロセスモード。
+ *
+ * - JDA は Spring Bean として管理され、コンテキスト終了時に {@link ShutdownManager} 経由で停止する
+ * - DBプール・キャッシュ・メトリクスは static に共有されるため、コントローラーと Bot で1組だけになる
+ * - 停止はWebサーバーより後（フェーズが低い）なので、処理中のHTTPリクエストもDBを使い切れる
+ */
+@Configuration
+@ConditionalOnProperty(name = "bot.embedded", havingValue = "true")
+public class EmbeddedBotConfig {
+
+	/** ⏱️ Webサーバー（Integer.MAX_VALUE - 2048）より先に起動し、後に停止するフェーズ */
+	private static final int BOT_PHASE = Integer.MAX_VALUE - 4096;
+
+	/**
+	 * 🤖 JDA Bean（ログイン完了・コマンド同期まで待ってから返す）
+	 *
+	 * JDA#shutdown が destroyMethod として推論されないよう明示的に無効化し、停止はライフサイクル側に任せる。
+	 */
+	@Bean(destroyMethod = "")
+	public JDA jda() throws InterruptedException {
+		BotLauncher.initialize();
+		JDA jda = BotLauncher.build();
+		BotLauncher.awaitReadyAndRegister(jda);
+		return jda;
+	}
+
+	/**
+	 * 🛑 コンテキスト終了時に Bot を順序よく停止するライフサイクル
+	 */
+	@Bean
+	public SmartLifecycle embeddedBotLifecycle(JDA jda) {
+		return new SmartLifecycle() {
+			private volatile boolean running;
+
+			@Override
+			public void start() {
+				running = true;
+			}
+
+			@Override
+			public void stop() {
+				ShutdownManager.shutdown(jda);
+				running = false;
+			}
+
+			@Override
+			public boolean isRunning() {
+				return running;
+			}
+
+			@Override
+			public int getPhase() {
+				return BOT_PHASE;
+			}
+		};
+	}
+}
@@ -0,0 +1,50 @@
+package com.an0mas.bot.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * 📦 StaticResourceConfig:
+ * 本番プロファイル（{@code prod}）で静的リソースを長期キャッシュ配信する設定。
+ *
+ * - URL に内容ハッシュを付与（例: {@code /css/base-3f2a...css}）。テンプレートの {@code @{...}} が自動で書き換わる
+ * - 内容が変わればURLも変わるので {@code Cache-Control: public, max-age=1年, immutable} を付ける
+ * - ビルド時に作った {@code .br} / {@code .gz}（Maven の prod プロファイル）を Accept-Encoding に応じて返す
+ */
+@Configuration
+@Profile("prod")
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+	private static final String[] PATTERNS = { "/css/**", "/js/**", "/images/**" };
+	private static final String[] LOCATIONS = { "classpath:/static/css/", "classpath:/static/js/",
+			"classpath:/static/images/" };
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		for (int i = 0; i < PATTERNS.length; i++) {
+			registry.addResourceHandler(PATTERNS[i])
+					.addResourceLocations(LOCATIONS[i])
+					.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+					.resourceChain(true)
+					.addResolver(new EncodedResourceResolver())
+					.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+		}
+	}
+
+	/**
+	 * 🔗 テンプレート内のリソースURLをハッシュ付きURLへ書き換えるフィルター
+	 */
+	@Bean
+	public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+		return new ResourceUrlEncodingFilter();
+	}
+}
@@ -0,0 +1,48 @@
+package com.an0mas.bot.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 🗃️ CachedValue:
+ * 無効化されるまで値を保持する、ロック不要の小さなキャッシュ。
+ *
+ * 読み込み中に {@link #invalidate()} が走った場合は、読み込んだ（古いかもしれない）値を保存しない。
+ */
+public class CachedValue<T> {
+
+	private volatile T value;
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * 📥 キャッシュ済みの値を返す。無ければ loader で読み込んで保持する
+	 */
+	public T get(Supplier<T> loader) {
+		T current = value;
+		if (current != null) {
+			return current;
+		}
+		long gen = generation.get();
+		T loaded = loader.get();
+		if (loaded != null && generation.get() == gen) {
+			value = loaded;
+		}
+		return loaded;
+	}
+
+	/**
+	 * ✏️ 値を直接セットする（自プロセスの書き込み直後など）
+	 */
+	public void set(T newValue) {
+		generation.incrementAndGet();
+		value = newValue;
+	}
+
+	/**
+	 * 🧹 キャッシュを破棄する（次回の get で再読み込み）
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		value = null;
+	}
+}
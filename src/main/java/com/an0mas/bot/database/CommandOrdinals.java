@@ -0,0 +1,120 @@
+package com.an0mas.bot.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔢 CommandOrdinals:
+ * コマンド名 ⇔ 連番（0 から詰めた番号）の対応表。権限はこの番号をビット位置にしたビットマスクで持つ。
+ *
+ * - {@code CommandRegistry.freeze()} が登録済みのコマンドに登録順で番号を振る（先頭の 64 個は long 1語に収まる）
+ * - 登録されていない名前（削除済みコマンドへの古い許可、Bot を持たない Web UI プロセスなど）は、出てきた時に末尾へ追加する
+ * - 番号はプロセス内でだけ有効（追加のみで付け替えない）。保存時はスナップショットにコマンド名表を一緒に書く
+ */
+public final class CommandOrdinals {
+
+	private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+	private static volatile String[] names = new String[0];
+
+	private CommandOrdinals() {
+	}
+
+	/**
+	 * 📝 コマンド名に番号を振る（既に番号があるものはそのまま）
+	 */
+	public static synchronized void assign(List<String> commandNames) {
+		commandNames.forEach(CommandOrdinals::ordinalOrAssign);
+	}
+
+	/**
+	 * 🔎 コマンド名の番号（未知なら -1。番号は増やさない）
+	 */
+	public static int ordinal(String commandName) {
+		Integer ordinal = ordinals.get(commandName);
+		return ordinal != null ? ordinal : -1;
+	}
+
+	/**
+	 * 🔎 番号のコマンド名
+	 */
+	public static String name(int ordinal) {
+		return names[ordinal];
+	}
+
+	/** 🔢 これまでに振った番号の数 */
+	public static int size() {
+		return names.length;
+	}
+
+	/**
+	 * ➕ コマンド名の番号（未知なら末尾に追加する）
+	 */
+	static int ordinalOrAssign(String commandName) {
+		Integer ordinal = ordinals.get(commandName);
+		if (ordinal != null) {
+			return ordinal;
+		}
+		synchronized (CommandOrdinals.class) {
+			ordinal = ordinals.get(commandName);
+			if (ordinal == null) {
+				String[] current = names;
+				String[] grown = Arrays.copyOf(current, current.length + 1);
+				grown[current.length] = commandName.intern();
+				names = grown; // 名前を先に公開してから番号を引けるようにする
+				ordinal = current.length;
+				ordinals.put(commandName, ordinal);
+			}
+			return ordinal;
+		}
+	}
+
+	// ========== ビットマスク ==========
+
+	/** ✅ マスクに番号のビットが立っているか */
+	static boolean contains(long[] mask, int ordinal) {
+		int word = ordinal >>> 6;
+		return ordinal >= 0 && word < mask.length && (mask[word] & (1L << ordinal)) != 0;
+	}
+
+	/** ➕ ビットを立てた新しいマスク（元のマスクは変更しない） */
+	static long[] with(long[] mask, int ordinal) {
+		int word = ordinal >>> 6;
+		long[] copy = Arrays.copyOf(mask, Math.max(mask.length, word + 1));
+		copy[word] |= 1L << ordinal;
+		return copy;
+	}
+
+	/** ➖ ビットを下ろした新しいマスク（空になったら長さ 0。元のマスクは変更しない） */
+	static long[] without(long[] mask, int ordinal) {
+		if (!contains(mask, ordinal)) {
+			return mask;
+		}
+		long[] copy = mask.clone();
+		copy[ordinal >>> 6] &= ~(1L << ordinal);
+		int length = copy.length;
+		while (length > 0 && copy[length - 1] == 0) {
+			length--;
+		}
+		return length == copy.length ? copy : Arrays.copyOf(copy, length);
+	}
+
+	/**
+	 * 📋 マスクをコマンド名の一覧にする（番号順。名前は表の文字列をそのまま使う）
+	 */
+	static List<String> decode(long[] mask) {
+		String[] table = names;
+		List<String> commands = new ArrayList<>();
+		for (int word = 0; word < mask.length; word++) {
+			long bits = mask[word];
+			while (bits != 0) {
+				commands.add(table[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+				bits &= bits - 1;
+			}
+		}
+		return Collections.unmodifiableList(commands);
+	}
+}
@@ -0,0 +1,169 @@
+package com.an0mas.bot.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 🔔 DataVersionWatcher:
+ * SQLite の {@code PRAGMA data_version} を監視し、別プロセス（WebUI ⇔ Bot）を含む
+ * 他コネクションからの変更を検知してキャッシュ無効化リスナーを呼び出すクラス。
+ *
+ * - 監視は専用コネクション1本＋バックグラウンドスレッド1本のみ（リクエストごとのポーリングはしない）
+ * - {@code data_version} が変わったときだけ {@code change_versions} テーブルを読み、
+ *   バージョンが進んだスコープ（settings / blacklist / feedback など）のリスナーだけを呼ぶ
+ * - 書き込み側は {@link #bump(Connection, String)} でスコープのバージョンを進める
+ */
+public class DataVersionWatcher {
+	private static final Logger logger = LoggerFactory.getLogger(DataVersionWatcher.class);
+
+	private static final String BUMP_SQL = "INSERT INTO change_versions (scope, version, updated_at) VALUES (?, 1, ?) "
+			+ "ON CONFLICT(scope) DO UPDATE SET version = version + 1, updated_at = excluded.updated_at";
+
+	private final String jdbcUrl;
+	private final String name;
+	private final long intervalMillis;
+
+	private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+	private final Map<String, Long> lastVersions = new HashMap<>();
+	private boolean initialized;
+
+	private volatile boolean running;
+	private Thread thread;
+
+	/**
+	 * @param jdbcUrl 監視対象DBの JDBC URL（プールとは別に専用コネクションを開く）
+	 * @param name ログ・スレッド名に使う識別名
+	 * @param intervalMillis {@code data_version} の確認間隔（ミリ秒）
+	 */
+	public DataVersionWatcher(String jdbcUrl, String name, long intervalMillis) {
+		this.jdbcUrl = jdbcUrl;
+		this.name = name;
+		this.intervalMillis = intervalMillis;
+	}
+
+	/**
+	 * 👂 スコープの変更リスナーを登録する（監視スレッド上で呼ばれるので軽い処理にすること）
+	 */
+	public void addListener(String scope, Runnable listener) {
+		listeners.computeIfAbsent(scope, k -> new CopyOnWriteArrayList<>()).add(listener);
+	}
+
+	/**
+	 * 📣 スコープのリスナーを即時に呼ぶ（自プロセス内の書き込み直後の無効化用）
+	 */
+	public void fire(String scope) {
+		for (Runnable listener : listeners.getOrDefault(scope, List.of())) {
+			try {
+				listener.run();
+			} catch (Exception e) {
+				logger.error("❌ 変更リスナーの実行に失敗しました（{} / {}）: {}", name, scope, e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * ⬆️ スコープのバージョンを進める（書き込みと同じコネクションで呼ぶ）
+	 */
+	public static void bump(Connection conn, String scope) throws SQLException {
+		try (PreparedStatement pstmt = conn.prepareStatement(BUMP_SQL)) {
+			pstmt.setString(1, scope);
+			pstmt.setLong(2, System.currentTimeMillis());
+			pstmt.executeUpdate();
+		}
+	}
+
+	/**
+	 * ▶️ 監視を開始する（デーモンスレッド）
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::run, "data-version-watcher-" + name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * ⏹️ 監視を停止する
+	 */
+	public synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	private void run() {
+		while (running) {
+			try (Connection conn = DriverManager.getConnection(jdbcUrl);
+					Statement stmt = conn.createStatement()) {
+
+				long lastDataVersion = -1;
+				while (running) {
+					long dataVersion = readDataVersion(stmt);
+					if (dataVersion != lastDataVersion) {
+						lastDataVersion = dataVersion;
+						dispatchChangedScopes(stmt);
+					}
+					Thread.sleep(intervalMillis);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				logger.warn("⚠️ 変更監視でエラーが発生しました（{}）。再接続します: {}", name, e.getMessage());
+				try {
+					Thread.sleep(Math.max(intervalMillis, 1000));
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private static long readDataVersion(Statement stmt) throws SQLException {
+		try (ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+
+	private void dispatchChangedScopes(Statement stmt) {
+		Map<String, Long> current = new HashMap<>();
+		try (ResultSet rs = stmt.executeQuery("SELECT scope, version FROM change_versions")) {
+			while (rs.next()) {
+				current.put(rs.getString("scope"), rs.getLong("version"));
+			}
+		} catch (SQLException e) {
+			// テーブル未作成（初期化前）の場合は何もしない
+			logger.debug("change_versions を読めませんでした（{}）: {}", name, e.getMessage());
+			return;
+		}
+
+		// 初回は現在値を覚えるだけ（起動前の変更は各キャッシュが初回読み込みで反映する）
+		boolean firstRead = !initialized;
+		initialized = true;
+		for (Map.Entry<String, Long> entry : current.entrySet()) {
+			Long previous = lastVersions.put(entry.getKey(), entry.getValue());
+			if (!firstRead && !entry.getValue().equals(previous)) {
+				logger.debug("🔔 変更を検知（{} / {}）: v{}", name, entry.getKey(), entry.getValue());
+				fire(entry.getKey());
+			}
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.an0mas.bot.database;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -7,14 +8,26 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.an0mas.bot.database.PermissionEvent.Subject;
+import com.an0mas.bot.util.HashedTimingWheel;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -22,31 +35,110 @@ import io.github.cdimascio.dotenv.Dotenv;
 
 /**
  * 📂 DatabaseHelper:
- * SQLiteを使って、コマンド権限・ブラックリスト・設定（メンテナンス状態）などを管理するユーティリティクラス。
+ * SQLiteを使って、コマンド権限・ブラックリスト・Botの設定（{@link Settings}）などを管理するユーティリティクラス。
  */
 public class DatabaseHelper {
 	private static final Logger logger = LoggerFactory.getLogger(DatabaseHelper.class);
 
+	/** 🔔 変更通知スコープ（change_versions.scope） */
+	public static final String SCOPE_SETTINGS = "settings";
+	public static final String SCOPE_PERMISSIONS = "permissions";
+	public static final String SCOPE_BLACKLIST = "blacklist";
+
 	private static final HikariDataSource dataSource;
+	private static final PoolWaitTracker poolWaits = new PoolWaitTracker();
+	private static final Path dbPath;
+	private static final DataVersionWatcher changeWatcher;
 
-	private static final Dotenv dotenv = Dotenv.load();
+	private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); // .env が無ければ環境変数のみ
 	private static final String SCHEMA_FILE = "schemas/schema.sql";
+	private static final String DB_NAME = "permissions"; // 📊 計測（JFR・SqlStats・プール統計）に載せるDB名
+
+	// 🎛️ 設定のスナップショット（変更通知で丸ごと読み直して差し替える。読む側はロックもクエリも使わない）
+	private static final Object settingsLock = new Object();
+	private static volatile SettingsSnapshot settingsSnapshot;
+
+	// 🧾 権限ビュー（スナップショット＋イベントログの末尾から復元し、変更通知で末尾だけ追いつく）
+	private static final Object permissionViewLock = new Object();
+	private static volatile PermissionState permissionState;
+	private static volatile boolean permissionStateStale;
+	private static long lastSnapshotSeq;
+	private static final int SNAPSHOT_EVERY = Integer.parseInt(dotenv.get("PERMISSION_SNAPSHOT_EVERY", "1000")); // 📸 スナップショット間隔（イベント数）
+	private static final int SNAPSHOTS_KEPT = 2;
+
+	private static final String EVENT_SELECT_SQL = "SELECT seq, type, subject, subject_id, guild_id, command_name, expires_at,"
+			+ " actor_id, created_at FROM permission_events";
+	private static final String EVENT_INSERT_SQL = "INSERT INTO permission_events"
+			+ " (type, subject, subject_id, guild_id, command_name, expires_at, actor_id, created_at)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	// ⌛ 期限付きの許可・ブロックの失効（1秒刻み・512スロットのタイミングホイール。DBのポーリングはしない）
+	private static final HashedTimingWheel<ScheduledExpiry> expiryWheel = new HashedTimingWheel<>("permissions",
+			1000, 512, DatabaseHelper::expireDue);
+	private static final Map<PermissionKey, HashedTimingWheel.Timeout<ScheduledExpiry>> expiryTimers = new ConcurrentHashMap<>();
+	private static final List<Consumer<Set<String>>> guildExpiryListeners = new CopyOnWriteArrayList<>();
 
 	static {
+		dbPath = Path.of(dotenv.get("DB_PATH", "data/command_permissions.db"));
+		String jdbcUrl = "jdbc:sqlite:" + dbPath;
+
 		HikariConfig config = new HikariConfig();
-		config.setJdbcUrl("jdbc:sqlite:" + dotenv.get("DB_PATH", "data/command_permissions.db"));
-		config.setMaximumPoolSize(10); // 最大プールサイズ
-		config.setMinimumIdle(5);     // 最小アイドルコネクション数
+		config.setJdbcUrl(jdbcUrl);
+		config.setMaximumPoolSize(Integer.parseInt(dotenv.get("DB_POOL_MAX_SIZE", "10"))); // 最大プールサイズ
+		config.setMinimumIdle(Integer.parseInt(dotenv.get("DB_POOL_MIN_IDLE", "5")));    // 最小アイドルコネクション数
 		config.setIdleTimeout(30000); // 30秒間アイドル状態ならコネクションを閉じる
 		config.setConnectionTimeout(10000); // 10秒でタイムアウト
 		config.setLeakDetectionThreshold(2000); // コネクションリーク検出（2秒）
+		config.setMetricsTrackerFactory(poolWaits); // ⏳ 取得待ち時間の計測（ダッシュボード・readiness）
+		config.addDataSourceProperty("journal_mode", "WAL"); // 読み取りが書き込みを待たない（ロック待ちを減らす）
 		dataSource = new HikariDataSource(config);
+
+		// 🔔 別プロセス（WebUI / Bot）からの変更を検知してキャッシュを無効化
+		changeWatcher = new DataVersionWatcher(jdbcUrl, "permissions",
+				Long.parseLong(dotenv.get("CHANGE_WATCH_INTERVAL_MS", "50")));
+		changeWatcher.addListener(SCOPE_SETTINGS, DatabaseHelper::reloadSettings);
+		changeWatcher.addListener(SCOPE_PERMISSIONS, DatabaseHelper::markPermissionStateStale);
+		changeWatcher.addListener(SCOPE_BLACKLIST, DatabaseHelper::markPermissionStateStale);
+		changeWatcher.start();
 	}
 
 	private static Connection getConnection() throws SQLException {
 		return dataSource.getConnection();
 	}
 
+	/**
+	 * 🏊 コネクションプールの使用状況を取得（DBアクセスなし）
+	 */
+	public static PoolStats getPoolStats() {
+		return PoolStats.of(DB_NAME, dataSource, poolWaits);
+	}
+
+	/**
+	 * 🪶 SQLite ファイルの状態（ページ数・WAL サイズなど）を取得（読めなければ null）
+	 */
+	public static SqliteStats getSqliteStats() {
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			return SqliteStats.read(DB_NAME, conn, dbPath);
+		} catch (Exception e) {
+			logger.warn("⚠️ SQLite の状態を取得できませんでした: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 🔌 コネクションプールを閉じる（停止処理の最後に呼ぶ）
+	 */
+	public static void close() {
+		changeWatcher.stop();
+		snapshotIfBehind(1); // 📸 次回の起動がスナップショットだけで済むように
+		expiryWheel.stop();
+		if (!dataSource.isClosed()) {
+			dataSource.close();
+			logger.info("🔌 コマンド権限DBのコネクションプールを閉じました");
+		}
+	}
+
 	// ========== 初期化 ==========
 
 	/**
@@ -60,159 +152,988 @@ public class DatabaseHelper {
 			return;
 		}
 
-		try (Connection conn = getConnection();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				Statement stmt = conn.createStatement()) {
 
+			// SQLite JDBC は1回の execute で先頭の1文しか実行しないため、文ごとに分割して実行する
 			String schema = Files.readString(schemaPath);
-			stmt.execute(schema);
+			for (String sql : schema.split(";")) {
+				if (!sql.isBlank()) {
+					stmt.execute(sql);
+				}
+			}
+			// 🧱 期限列が無い古いDBに追加する
+			for (String table : List.of("server_permissions", "user_permissions", "blacklist", "permission_events")) {
+				addColumnIfMissing(stmt, table, "expires_at", "INTEGER");
+			}
+			addColumnIfMissing(stmt, "permission_events", "guild_id", "TEXT");
 
 			logger.info("✅ データベース初期化完了！");
 
-			initializeMaintenanceMode();
-
 		} catch (Exception e) {
 			logger.error("❌ データベース初期化中にエラーが発生しました: {}", e.getMessage(), e);
+			return;
 		}
+		reloadSettings();
+		// ⌛ 起動時に権限ビューを復元し、保存済みの期限をホイールに載せ直す（遅延復元だと誰も読むまで失効しない）
+		permissionState();
 	}
 
-	private static void initializeMaintenanceMode() {
-	    String insertSql = "INSERT OR IGNORE INTO settings (key, value, updated_at) VALUES ('maintenance_mode', 'false', datetime('now'))";
-	    executeUpdate(insertSql);
-	    logger.info("🛠️ メンテナンスモード初期化（必要なら挿入）: false");
+	private static void addColumnIfMissing(Statement stmt, String table, String column, String type) throws SQLException {
+		try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+			while (rs.next()) {
+				if (column.equalsIgnoreCase(rs.getString("name"))) {
+					return;
+				}
+			}
+		}
+		stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
+		logger.info("🧱 {} に {} 列を追加しました", table, column);
 	}
 
-	// ========== メンテナンスモード ==========
+	// ========== 変更通知 ==========
+
+	/**
+	 * 👂 スコープ（SCOPE_*）の変更リスナーを登録する
+	 *
+	 * 自プロセスの書き込み直後と、別プロセスの書き込みを検知したときに呼ばれる。
+	 */
+	public static void addChangeListener(String scope, Runnable listener) {
+		changeWatcher.addListener(scope, listener);
+	}
+
+	/**
+	 * ⌛ サーバー・ロールへの許可が期限切れで外れたときのリスナーを登録する（引数は影響のあったサーバーID）
+	 *
+	 * 期限切れを処理したプロセス（ホイールのスレッド）で呼ばれる。
+	 */
+	public static void addGuildExpiryListener(Consumer<Set<String>> listener) {
+		guildExpiryListeners.add(listener);
+	}
+
+	// ========== 設定 ==========
+
+	/**
+	 * 📸 現在の設定のスナップショット（初回だけDBから読む。以降は変更通知で差し替わったものを返す）
+	 */
+	public static SettingsSnapshot getSettings() {
+		SettingsSnapshot snapshot = settingsSnapshot;
+		if (snapshot != null) {
+			return snapshot;
+		}
+		synchronized (settingsLock) {
+			if (settingsSnapshot == null) {
+				reloadSettings();
+			}
+			return settingsSnapshot;
+		}
+	}
+
+	/** 🌐 全体の設定値（未設定なら既定値） */
+	public static <T> T getSetting(Setting<T> setting) {
+		return getSettings().get(setting);
+	}
+
+	/** 🏠 サーバーでの設定値（サーバーの上書き → 全体の値 → 既定値の順） */
+	public static <T> T getSetting(Setting<T> setting, String guildId) {
+		return getSettings().get(setting, guildId);
+	}
+
+	/**
+	 * ✏️ 設定を変更する（変更履歴に1行追記し、バージョンを進める）
+	 *
+	 * @param guildId サーバーの上書きならサーバーID、全体の設定なら null
+	 * @param rawValue 新しい値（null なら既定値に戻す＝保存している値を消す）
+	 * @param expectedVersion 読み込んだ時点の {@link SettingsSnapshot#version()}（-1 なら競合を検出しない）
+	 * @throws IllegalArgumentException 値が不正、またはサーバーごとに上書きできない項目のとき
+	 */
+	public static Settings.UpdateResult updateSetting(Setting<?> setting, String guildId, String rawValue,
+			String actorId, long expectedVersion) {
+		if (guildId != null && !setting.guildOverridable()) {
+			throw new IllegalArgumentException(setting.key() + " はサーバーごとに変更できません");
+		}
+		String newValue = rawValue != null ? setting.format(setting.parse(rawValue)) : null;
+
+		String selectSql = guildId != null
+				? "SELECT value FROM guild_settings WHERE guild_id = ? AND key = ?"
+				: "SELECT value FROM settings WHERE key = ?";
+		String writeSql = newValue == null
+				? (guildId != null ? "DELETE FROM guild_settings WHERE guild_id = ? AND key = ?" : "DELETE FROM settings WHERE key = ?")
+				: (guildId != null
+						? "INSERT OR REPLACE INTO guild_settings (guild_id, key, value, updated_at) VALUES (?, ?, ?, datetime('now'))"
+						: "INSERT OR REPLACE INTO settings (key, value, updated_at) VALUES (?, ?, datetime('now'))");
+		String changeSql = "INSERT INTO settings_changes (guild_id, key, old_value, new_value, actor_id, changed_at)"
+				+ " VALUES (?, ?, ?, ?, ?, ?)";
+
+		QueryProbe probe = QueryProbe.start();
+		Settings.UpdateResult result = Settings.UpdateResult.FAILED;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try {
+				if (expectedVersion >= 0 && readSettingsVersion(conn) != expectedVersion) {
+					conn.rollback();
+					result = Settings.UpdateResult.CONFLICT;
+					return result;
+				}
+				String oldValue;
+				try (PreparedStatement select = conn.prepareStatement(selectSql)) {
+					bindSettingKey(select, 1, guildId, setting.key());
+					try (ResultSet rs = select.executeQuery()) {
+						oldValue = rs.next() ? rs.getString("value") : null;
+					}
+				}
+				if (Objects.equals(oldValue, newValue)) {
+					conn.rollback();
+					result = Settings.UpdateResult.UNCHANGED;
+					return result;
+				}
+				try (PreparedStatement write = conn.prepareStatement(writeSql);
+						PreparedStatement change = conn.prepareStatement(changeSql)) {
+					int next = bindSettingKey(write, 1, guildId, setting.key());
+					if (newValue != null) {
+						write.setString(next, newValue);
+					}
+					write.executeUpdate();
+
+					change.setString(1, guildId);
+					change.setString(2, setting.key());
+					change.setString(3, oldValue);
+					change.setString(4, newValue);
+					change.setString(5, actorId);
+					change.setLong(6, System.currentTimeMillis());
+					change.executeUpdate();
+				}
+				DataVersionWatcher.bump(conn, SCOPE_SETTINGS);
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			result = Settings.UpdateResult.UPDATED;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ 設定の変更中にエラーが発生しました（ロールバック済み）: {}", e.getMessage(), e);
+			return result;
+		} finally {
+			probe.finish(DB_NAME, "write", writeSql, result == Settings.UpdateResult.UPDATED ? 1 : 0, null);
+		}
+		// 🔄 スナップショットの読み直しは自分のコネクション（ゲートの許可）を返してから行う
+		changeWatcher.fire(SCOPE_SETTINGS);
+		logger.info("🎛️ 設定を変更しました: {}{} = {}（{}）", guildId != null ? guildId + " / " : "", setting.key(),
+				newValue != null ? newValue : "既定値", actorId);
+		return result;
+	}
+
+	/**
+	 * 🧾 設定の変更履歴（新しい順）
+	 */
+	public static List<SettingChange> getSettingChanges(int limit) {
+		String sql = "SELECT seq, guild_id, key, old_value, new_value, actor_id, changed_at FROM settings_changes"
+				+ " ORDER BY seq DESC LIMIT ?";
+		return queryList(sql, rs -> new SettingChange(rs.getLong("seq"), rs.getString("guild_id"), rs.getString("key"),
+				rs.getString("old_value"), rs.getString("new_value"), rs.getString("actor_id"), rs.getLong("changed_at")),
+				String.valueOf(limit));
+	}
 
 	/** 🛠️ 現在のメンテナンスモード状態を取得（true or false） */
 	public static boolean isMaintenanceMode() {
-		String sql = "SELECT value FROM settings WHERE key = 'maintenance_mode'";
-		return querySingleResult(sql, rs -> Boolean.parseBoolean(rs.getString("value")), false);
+		return getSetting(Settings.MAINTENANCE_MODE);
 	}
 
 	/** 🛠️ メンテナンスモードを変更（ON/OFF） */
-	public static void setMaintenanceMode(boolean enabled) {
-		String sql = "UPDATE settings SET value = ?, updated_at = datetime('now') WHERE key = 'maintenance_mode'";
-		executeUpdate(sql, String.valueOf(enabled));
-		logger.info("🛠️ メンテナンスモード更新: {}", enabled);
+	public static void setMaintenanceMode(boolean enabled, String actorId) {
+		updateSetting(Settings.MAINTENANCE_MODE, null, String.valueOf(enabled), actorId, -1);
+	}
+
+	/**
+	 * 🔄 設定を読み直してスナップショットを差し替える（起動時と SCOPE_SETTINGS の変更通知で呼ぶ）
+	 *
+	 * 全体・サーバーの上書き・バージョンを1つの読み取りトランザクションで読むので、途中の状態は見えない。
+	 * 保存されている値が（定義の変更などで）不正になっていた場合は、警告を出して既定値に戻す。
+	 */
+	private static void reloadSettings() {
+		synchronized (settingsLock) {
+			QueryProbe probe = QueryProbe.start();
+			String sql = "SELECT NULL AS guild_id, key, value FROM settings"
+					+ " UNION ALL SELECT guild_id, key, value FROM guild_settings";
+			int rows = 0;
+			try (JdbcGate.Permit permit = JdbcGate.enter();
+					Connection conn = getConnection()) {
+				conn.setAutoCommit(false);
+				try (PreparedStatement pstmt = conn.prepareStatement(sql);
+						ResultSet rs = pstmt.executeQuery()) {
+					Object[] globalValues = new Object[Settings.all().size()];
+					Map<String, Object[]> guildValues = new HashMap<>();
+					while (rs.next()) {
+						rows++;
+						String guildId = rs.getString("guild_id");
+						Setting<?> setting = Settings.byKey(rs.getString("key"));
+						if (setting == null || (guildId != null && !setting.guildOverridable())) {
+							continue; // 削除された項目などは無視する
+						}
+						Object[] target = guildId != null
+								? guildValues.computeIfAbsent(guildId, id -> new Object[globalValues.length])
+								: globalValues;
+						try {
+							target[setting.index()] = setting.parse(rs.getString("value"));
+						} catch (IllegalArgumentException e) {
+							logger.warn("⚠️ 保存されている設定が不正なため既定値を使います: {}{} = {}（{}）",
+									guildId != null ? guildId + " / " : "", setting.key(), rs.getString("value"),
+									e.getMessage());
+						}
+					}
+					settingsSnapshot = new SettingsSnapshot(readSettingsVersion(conn), globalValues, guildValues);
+				} finally {
+					conn.rollback();
+					conn.setAutoCommit(true);
+				}
+			} catch (Exception e) {
+				probe.failed = true;
+				logger.error("❌ 設定の読み込みに失敗しました: {}", e.getMessage(), e);
+				if (settingsSnapshot == null) {
+					settingsSnapshot = SettingsSnapshot.DEFAULTS;
+				}
+			} finally {
+				probe.finish(DB_NAME, "list", sql, rows, null);
+			}
+		}
+	}
+
+	private static long readSettingsVersion(Connection conn) throws SQLException {
+		try (Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM settings_changes")) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+
+	/** 🔗 (guild_id,) key を先頭から詰めて設定し、次の引数の番号を返す */
+	private static int bindSettingKey(PreparedStatement pstmt, int index, String guildId, String key) throws SQLException {
+		if (guildId != null) {
+			pstmt.setString(index++, guildId);
+		}
+		pstmt.setString(index++, key);
+		return index;
 	}
 
 	// ========== コマンド権限 ==========
 
-	public static void addGuildPermission(String guildId, String commandName) {
-		executeUpdate("INSERT INTO server_permissions (guild_id, command_name) VALUES (?, ?)", guildId, commandName);
-		logger.info("✅ サーバー許可追加: {} → {}", guildId, commandName);
+	public static void addGuildPermission(String guildId, String commandName, String actorId) {
+		addGuildPermission(guildId, commandName, actorId, 0);
+	}
+
+	/**
+	 * ✅ サーバーにコマンドを許可する（既に許可済みなら期限だけを置き換える）
+	 *
+	 * @param expiresAt 期限（epoch millis、0 なら無期限）
+	 */
+	public static void addGuildPermission(String guildId, String commandName, String actorId, long expiresAt) {
+		applyPermissionEvents(List.of(PermissionEvent.grant(Subject.GUILD, guildId, commandName, expiresAt, actorId)));
+		logger.info("✅ サーバー許可追加: {} → {}（期限: {}、操作: {}）", guildId, commandName, describeExpiry(expiresAt), actorId);
+	}
+
+	public static void addUserPermission(String userId, String commandName, String actorId) {
+		addUserPermission(userId, commandName, actorId, 0);
+	}
+
+	/**
+	 * ✅ ユーザーにコマンドを許可する（既に許可済みなら期限だけを置き換える）
+	 *
+	 * @param expiresAt 期限（epoch millis、0 なら無期限）
+	 */
+	public static void addUserPermission(String userId, String commandName, String actorId, long expiresAt) {
+		applyPermissionEvents(List.of(PermissionEvent.grant(Subject.USER, userId, commandName, expiresAt, actorId)));
+		logger.info("✅ ユーザー許可追加: {} → {}（期限: {}、操作: {}）", userId, commandName, describeExpiry(expiresAt), actorId);
+	}
+
+	public static void removeGuildPermission(String guildId, String commandName, String actorId) {
+		applyPermissionEvents(List.of(PermissionEvent.revoke(Subject.GUILD, guildId, commandName, actorId)));
+		logger.info("🗑️ サーバー許可を削除: {} → {}（操作: {}）", guildId, commandName, actorId);
+	}
+
+	public static void removeUserPermission(String userId, String commandName, String actorId) {
+		applyPermissionEvents(List.of(PermissionEvent.revoke(Subject.USER, userId, commandName, actorId)));
+		logger.info("🗑️ ユーザー許可を削除: {} → {}（操作: {}）", userId, commandName, actorId);
 	}
 
-	public static void addUserPermission(String userId, String commandName) {
-		executeUpdate("INSERT INTO user_permissions (user_id, command_name) VALUES (?, ?)", userId, commandName);
-		logger.info("✅ ユーザー許可追加: {} → {}", userId, commandName);
+	/**
+	 * 🎭 サーバー内のロールにコマンドを許可する（そのロールを持つメンバー全員が使える）
+	 *
+	 * @param roleId ロールID（@everyone ならサーバーIDと同じ）
+	 * @param expiresAt 期限（epoch millis、0 なら無期限）
+	 */
+	public static void addRolePermission(String guildId, String roleId, String commandName, String actorId,
+			long expiresAt) {
+		applyPermissionEvents(List.of(PermissionEvent.grantRole(guildId, roleId, commandName, expiresAt, actorId)));
+		logger.info("✅ ロール許可追加: {}/{} → {}（期限: {}、操作: {}）", guildId, roleId, commandName,
+				describeExpiry(expiresAt), actorId);
 	}
 
-	public static void removeGuildPermission(String guildId, String commandName) {
-		executeUpdate("DELETE FROM server_permissions WHERE guild_id = ? AND command_name = ?", guildId, commandName);
-		logger.info("🗑️ サーバー許可を削除: {} → {}", guildId, commandName);
+	public static void removeRolePermission(String roleId, String commandName, String actorId) {
+		String guildId = permissionState().roleGuild(roleId);
+		applyPermissionEvents(List.of(PermissionEvent.revokeRole(guildId, roleId, commandName, actorId)));
+		logger.info("🗑️ ロール許可を削除: {}/{} → {}（操作: {}）", guildId, roleId, commandName, actorId);
 	}
 
-	public static void removeUserPermission(String userId, String commandName) {
-		executeUpdate("DELETE FROM user_permissions WHERE user_id = ? AND command_name = ?", userId, commandName);
-		logger.info("🗑️ ユーザー許可を削除: {} → {}", userId, commandName);
+	/**
+	 * 📦 使用許可をまとめて追加する（1トランザクション・1回のコミット）
+	 *
+	 * 既に同じ許可がある行は追加しない（イベントも記録しない）。
+	 *
+	 * @return 実際に追加された件数
+	 */
+	public static int addPermissions(List<PermissionGrant> grants, String actorId) {
+		int affected = applyPermissionEvents(grants.stream().map(g -> PermissionEvent.of(g, true, actorId)).toList());
+		logger.info("✅ 許可を一括追加: {} 件中 {} 件（操作: {}）", grants.size(), affected, actorId);
+		return affected;
 	}
-	
+
+	/**
+	 * 📦 使用許可をまとめて削除する（1トランザクション・1回のコミット）
+	 *
+	 * @return 実際に削除された件数
+	 */
+	public static int removePermissions(List<PermissionGrant> grants, String actorId) {
+		int affected = applyPermissionEvents(grants.stream().map(g -> PermissionEvent.of(g, false, actorId)).toList());
+		logger.info("🗑️ 許可を一括削除: {} 件中 {} 件（操作: {}）", grants.size(), affected, actorId);
+		return affected;
+	}
+
 	// ========== 一覧取得（Guild/User） ==========
+	// 📖 全て権限ビュー（メモリ上の PermissionState）から読む。DBへのアクセスは変更があった後の1回だけ
+	// 🔢 許可は対象ごとのコマンド番号のビットマスクなので、判定はビット1個の確認、一覧はマスクの展開
 
 	public static boolean isGuildCommandAllowed(String guildId, String commandName) {
-		return exists("SELECT 1 FROM server_permissions WHERE guild_id = ? AND command_name = ?", guildId, commandName);
+		return permissionState().isGranted(Subject.GUILD, guildId, commandName);
 	}
 
 	public static boolean isUserCommandAllowed(String userId, String commandName) {
-		return exists("SELECT 1 FROM user_permissions WHERE user_id = ? AND command_name = ?", userId, commandName);
+		return permissionState().isGranted(Subject.USER, userId, commandName);
 	}
 
 	public static List<String> getGuildsAllowedForCommand(String commandName) {
-		return queryList("SELECT DISTINCT guild_id FROM server_permissions WHERE command_name = ?",
-				rs -> rs.getString("guild_id"), commandName);
+		return permissionState().subjectsAllowed(Subject.GUILD, commandName);
 	}
 
 	public static List<String> getCommandsAllowedForGuild(String guildId) {
-		return queryList("SELECT DISTINCT command_name FROM server_permissions WHERE guild_id = ?",
-				rs -> rs.getString("command_name"), guildId);
+		return permissionState().commandsFor(Subject.GUILD, guildId);
 	}
 
 	public static List<String> getCommandsAllowedForUser(String userId) {
-		return queryList("SELECT DISTINCT command_name FROM user_permissions WHERE user_id = ?",
-				rs -> rs.getString("command_name"), userId);
+		return permissionState().commandsFor(Subject.USER, userId);
 	}
 
 	public static Map<String, List<String>> getAllGuildPermissions() {
-		String sql = "SELECT guild_id, command_name FROM server_permissions";
-		Map<String, List<String>> permissions = new HashMap<>();
-
-		queryList(sql, rs -> {
-			String guildId = rs.getString("guild_id");
-			String commandName = rs.getString("command_name");
-			permissions.computeIfAbsent(guildId, k -> new ArrayList<>()).add(commandName);
-			return null; // Return null, as the map is already updated.
-		});
+		return toListMap(permissionState().grants(Subject.GUILD));
+	}
 
+	public static Map<String, List<String>> getAllUserPermissions() {
+		return toListMap(permissionState().grants(Subject.USER));
+	}
+
+	/**
+	 * 🌊 サーバーごとの許可を1件ずつ渡す（スナップショットを直接たどる。一覧のコピーは作らない）
+	 */
+	public static void forEachGuildPermission(PermissionConsumer consumer) throws IOException {
+		forEachPermission(Subject.GUILD, consumer);
+	}
+
+	/**
+	 * 🌊 ユーザーごとの許可を1件ずつ渡す（スナップショットを直接たどる。一覧のコピーは作らない）
+	 */
+	public static void forEachUserPermission(PermissionConsumer consumer) throws IOException {
+		forEachPermission(Subject.USER, consumer);
+	}
+
+	private static void forEachPermission(Subject subject, PermissionConsumer consumer) throws IOException {
+		for (Map.Entry<String, long[]> entry : permissionState().grants(subject).entrySet()) {
+			consumer.accept(entry.getKey(), CommandOrdinals.decode(entry.getValue()));
+		}
+	}
+
+	/**
+	 * 🎭 メンバーのロールのどれかにコマンドが許可されているか（サーバーごとのビット列で判定。DB・Discord へのアクセスなし）
+	 *
+	 * @param memberRoleIds インタラクションに含まれるメンバーのロールID（@everyone として guildId も含めてよい）
+	 */
+	public static boolean isRoleCommandAllowed(String guildId, long[] memberRoleIds, String commandName) {
+		return permissionState().roleBits(guildId).allows(CommandOrdinals.ordinal(commandName), memberRoleIds);
+	}
+
+	public static List<String> getCommandsAllowedForRole(String roleId) {
+		return permissionState().commandsFor(Subject.ROLE, roleId);
+	}
+
+	/**
+	 * 🎭 ロールごとの許可（サーバーID → ロールID → コマンド名）
+	 */
+	public static Map<String, Map<String, List<String>>> getAllRolePermissions() {
+		PermissionState state = permissionState();
+		Map<String, Map<String, List<String>>> permissions = new LinkedHashMap<>();
+		state.grants(Subject.ROLE).forEach((roleId, commands) -> permissions
+				.computeIfAbsent(String.valueOf(state.roleGuild(roleId)), id -> new LinkedHashMap<>())
+				.put(roleId, CommandOrdinals.decode(commands)));
 		return permissions;
 	}
 
-	public static Map<String, List<String>> getAllUserPermissions() {
-		String sql = "SELECT user_id, command_name FROM user_permissions";
-		Map<String, List<String>> permissions = new HashMap<>();
-
-		queryList(sql, rs -> {
-			String userId = rs.getString("user_id");
-			String commandName = rs.getString("command_name");
-			permissions.computeIfAbsent(userId, k -> new ArrayList<>()).add(commandName);
-			return null; // Return null, as the map is already updated.
+	/**
+	 * 🏠 サーバーにコマンドとして登録すべきもの（サーバーへの許可＋そのサーバーのロールへの許可）
+	 */
+	public static List<String> getCommandsToRegisterForGuild(String guildId) {
+		return commandsToRegister(permissionState(), guildId);
+	}
+
+	private static List<String> commandsToRegister(PermissionState state, String guildId) {
+		Set<String> commands = new LinkedHashSet<>(state.commandsFor(Subject.GUILD, guildId));
+		commands.addAll(state.roleBits(guildId).commands());
+		return List.copyOf(commands);
+	}
+
+	/**
+	 * 🏠 全サーバー分の {@link #getCommandsToRegisterForGuild(String)}
+	 */
+	public static Map<String, List<String>> getAllCommandsToRegister() {
+		PermissionState state = permissionState();
+		Set<String> guildIds = new LinkedHashSet<>(state.grants(Subject.GUILD).keySet());
+		state.grants(Subject.ROLE).keySet().forEach(roleId -> {
+			String guildId = state.roleGuild(roleId);
+			if (guildId != null) {
+				guildIds.add(guildId);
+			}
 		});
+		Map<String, List<String>> registrations = new LinkedHashMap<>(guildIds.size() * 4 / 3 + 1);
+		for (String guildId : guildIds) {
+			registrations.put(guildId, commandsToRegister(state, guildId));
+		}
+		return registrations;
+	}
 
+	/** 📋 マスクをコマンド名の一覧に戻す（名前は番号表の文字列をそのまま使う） */
+	private static Map<String, List<String>> toListMap(Map<String, long[]> grants) {
+		Map<String, List<String>> permissions = new LinkedHashMap<>(grants.size() * 4 / 3 + 1);
+		grants.forEach((id, commands) -> permissions.put(id, CommandOrdinals.decode(commands)));
 		return permissions;
 	}
 
 	// ========== ブラックリスト管理 ==========
 
 	public static boolean isUserBlacklisted(String userId) {
-		return exists("SELECT 1 FROM blacklist WHERE user_id = ?", userId);
+		return permissionState().blocked().contains(userId);
+	}
+
+	public static void addUserToBlacklist(String userId, String actorId) {
+		addUserToBlacklist(userId, actorId, 0);
 	}
 
-	public static void addUserToBlacklist(String userId) {
-		executeUpdate("INSERT OR IGNORE INTO blacklist (user_id) VALUES (?)", userId);
-		logger.info("⛔ ブラックリスト追加: {}", userId);
+	/**
+	 * ⛔ ユーザーをブロックする（既にブロック中なら期限だけを置き換える）
+	 *
+	 * @param expiresAt 期限（epoch millis、0 なら無期限）
+	 */
+	public static void addUserToBlacklist(String userId, String actorId, long expiresAt) {
+		applyPermissionEvents(List.of(PermissionEvent.block(userId, expiresAt, actorId)));
+		logger.info("⛔ ブラックリスト追加: {}（期限: {}、操作: {}）", userId, describeExpiry(expiresAt), actorId);
 	}
 
-	public static void removeUserFromBlacklist(String userId) {
-		executeUpdate("DELETE FROM blacklist WHERE user_id = ?", userId);
-		logger.info("✅ ブラックリスト解除: {}", userId);
+	public static void removeUserFromBlacklist(String userId, String actorId) {
+		applyPermissionEvents(List.of(PermissionEvent.unblock(userId, actorId)));
+		logger.info("✅ ブラックリスト解除: {}（操作: {}）", userId, actorId);
 	}
 
 	public static List<String> getAllBlacklistedUsers() {
-		return queryList("SELECT user_id FROM blacklist", rs -> rs.getString("user_id"));
+		return List.copyOf(permissionState().blocked());
+	}
+
+	/**
+	 * 🌊 ブロック中のユーザーIDを1件ずつ渡す（スナップショットを直接たどる）
+	 */
+	public static void forEachBlacklistedUser(RowConsumer<String> consumer) throws IOException {
+		for (String userId : permissionState().blocked()) {
+			consumer.accept(userId);
+		}
+	}
+
+	// ========== 期限 ==========
+
+	/**
+	 * ⌛ ブロックの期限（epoch millis。無期限・未ブロックなら 0）
+	 */
+	public static long getBlockExpiry(String userId) {
+		return permissionState().expiries().getOrDefault(PermissionKey.block(userId), 0L);
+	}
+
+	/**
+	 * ⌛ 許可の期限（epoch millis。無期限・未許可なら 0）
+	 */
+	public static long getPermissionExpiry(PermissionGrant grant) {
+		PermissionKey key = new PermissionKey(grant.guild() ? Subject.GUILD : Subject.USER, grant.targetId(),
+				grant.commandName());
+		return permissionState().expiries().getOrDefault(key, 0L);
+	}
+
+	/**
+	 * ⌛ ロールへの許可の期限（epoch millis。無期限・未許可なら 0）
+	 */
+	public static long getRolePermissionExpiry(String roleId, String commandName) {
+		return permissionState().expiries().getOrDefault(new PermissionKey(Subject.ROLE, roleId, commandName), 0L);
+	}
+
+	private static String describeExpiry(long expiresAt) {
+		return expiresAt > 0 ? Instant.ofEpochMilli(expiresAt).toString() : "無期限";
+	}
+
+	/**
+	 * ⏲️ 期限をホイールに登録し直す（期限なしなら取り消す）。同じ対象の前の登録は取り消す
+	 */
+	private static void trackExpiry(PermissionKey key, long expiresAt) {
+		HashedTimingWheel.Timeout<ScheduledExpiry> previous = expiresAt > 0
+				? expiryTimers.put(key, expiryWheel.schedule(new ScheduledExpiry(key, expiresAt), expiresAt))
+				: expiryTimers.remove(key);
+		if (previous != null) {
+			previous.cancel();
+		}
+	}
+
+	private static void trackExpiry(PermissionEvent event) {
+		boolean adds = event.type() == PermissionEvent.Type.GRANT || event.type() == PermissionEvent.Type.BLOCK;
+		trackExpiry(event.key(), adds ? event.expiresAt() : 0);
+	}
+
+	/**
+	 * ⌛ ホイールから期限切れがまとめて届いたら、失効イベントとして反映する（期限が延びていたものはテーブル側で弾かれる）
+	 */
+	private static void expireDue(List<ScheduledExpiry> due) {
+		// 🏠 ロールのサーバーは許可が外れると引けなくなるので、反映前に集めておく
+		PermissionState state = permissionState();
+		Set<String> guildIds = new LinkedHashSet<>();
+		for (ScheduledExpiry expiry : due) {
+			expiryTimers.computeIfPresent(expiry.key(), (key, timeout) -> timeout.value() == expiry ? null : timeout);
+			String guildId = switch (expiry.key().subject()) {
+			case GUILD -> expiry.key().subjectId();
+			case ROLE -> state.roleGuild(expiry.key().subjectId());
+			case USER -> null;
+			};
+			if (guildId != null) {
+				guildIds.add(guildId);
+			}
+		}
+		int expired = applyPermissionEvents(due.stream().map(e -> PermissionEvent.expire(e.key(), e.deadline())).toList());
+		if (expired > 0) {
+			logger.info("⌛ 期限切れの許可・ブロックを {} 件外しました", expired);
+			if (!guildIds.isEmpty()) {
+				for (Consumer<Set<String>> listener : guildExpiryListeners) {
+					try {
+						listener.accept(guildIds);
+					} catch (Exception e) {
+						logger.warn("⚠️ 期限切れリスナーの処理に失敗しました: {}", e.getMessage());
+					}
+				}
+			}
+		}
+	}
+
+	/** ⏲️ ホイールに載せる期限1件 */
+	private record ScheduledExpiry(PermissionKey key, long deadline) {
+	}
+
+	// ========== 権限イベントログ ==========
+
+	/**
+	 * 🧾 権限イベントを seq の昇順で取得する（監査用）
+	 *
+	 * @param afterSeq この seq より後のイベントだけを返す（先頭からなら 0）
+	 * @param limit 最大件数
+	 */
+	public static List<PermissionEvent> getPermissionEvents(long afterSeq, int limit) {
+		return queryList(EVENT_SELECT_SQL + " WHERE seq > ? ORDER BY seq LIMIT ?", DatabaseHelper::mapPermissionEvent,
+				String.valueOf(afterSeq), String.valueOf(limit));
+	}
+
+	/**
+	 * 📖 現在の権限ビュー（初回はスナップショット＋末尾から復元、変更通知の後は末尾だけ適用）
+	 */
+	private static PermissionState permissionState() {
+		PermissionState state = permissionState;
+		if (state != null && !permissionStateStale) {
+			return state;
+		}
+		synchronized (permissionViewLock) {
+			if (permissionState == null) {
+				permissionState = restorePermissionState();
+			} else if (permissionStateStale) {
+				// 先にフラグを下ろす（読み込み中に届いた変更は次回の呼び出しで拾う）
+				permissionStateStale = false;
+				permissionState = catchUp(permissionState);
+			}
+			return permissionState;
+		}
+	}
+
+	private static void markPermissionStateStale() {
+		permissionStateStale = true;
+	}
+
+	/**
+	 * 🔄 最新のスナップショットを読み、その後のイベントだけを適用する
+	 */
+	private static PermissionState restorePermissionState() {
+		long start = System.nanoTime();
+		bootstrapPermissionEvents();
+
+		PermissionState base = PermissionState.EMPTY;
+		byte[] snapshot = querySingleResult("SELECT state FROM permission_snapshots ORDER BY seq DESC LIMIT 1",
+				rs -> rs.getBytes("state"), null);
+		if (snapshot != null) {
+			try {
+				base = PermissionState.decode(snapshot);
+			} catch (IllegalArgumentException e) {
+				logger.warn("⚠️ 権限スナップショットを読み込めないため、イベントログ全体から復元します: {}", e.getMessage());
+			}
+		}
+		lastSnapshotSeq = base.seq();
+
+		List<PermissionEvent> tail = queryList(EVENT_SELECT_SQL + " WHERE seq > ? ORDER BY seq",
+				DatabaseHelper::mapPermissionEvent, String.valueOf(base.seq()));
+		PermissionState.Builder builder = base.toBuilder();
+		tail.forEach(builder::apply);
+		PermissionState state = builder.build();
+
+		logger.info("🧾 権限ビューを復元: スナップショット #{} + 末尾 {} 件（{} ms）", base.seq(), tail.size(),
+				(System.nanoTime() - start) / 1_000_000);
+		// 期限は永続化されているので、再起動しても残り時間のまま（過ぎていれば次の tick で）失効する
+		state.expiries().forEach(DatabaseHelper::trackExpiry);
+		snapshotIfBehind(state, SNAPSHOT_EVERY);
+		return state;
+	}
+
+	private static PermissionState catchUp(PermissionState current) {
+		List<PermissionEvent> tail = queryList(EVENT_SELECT_SQL + " WHERE seq > ? ORDER BY seq",
+				DatabaseHelper::mapPermissionEvent, String.valueOf(current.seq()));
+		if (tail.isEmpty()) {
+			return current;
+		}
+		PermissionState.Builder builder = current.toBuilder();
+		tail.forEach(builder::apply);
+		tail.forEach(DatabaseHelper::trackExpiry); // 別プロセスで付いた期限もこのプロセスで失効させる
+		PermissionState state = builder.build();
+		snapshotIfBehind(state, SNAPSHOT_EVERY);
+		return state;
+	}
+
+	/**
+	 * 🚚 イベントログ導入前のDB向け: ログもスナップショットも空なら、現在のテーブルの内容をイベントとして取り込む
+	 */
+	private static void bootstrapPermissionEvents() {
+		boolean empty = !exists("SELECT 1 FROM permission_events LIMIT 1")
+				&& !exists("SELECT 1 FROM permission_snapshots LIMIT 1");
+		if (!empty) {
+			return;
+		}
+		String now = String.valueOf(System.currentTimeMillis());
+		int imported = executeUpdate("INSERT INTO permission_events"
+				+ " (type, subject, subject_id, command_name, expires_at, actor_id, created_at)"
+				+ " SELECT 'grant', 'guild', guild_id, command_name, expires_at, ?1, ?2 FROM server_permissions"
+				+ " UNION ALL SELECT 'grant', 'user', user_id, command_name, expires_at, ?1, ?2 FROM user_permissions"
+				+ " UNION ALL SELECT 'block', 'user', user_id, NULL, expires_at, ?1, ?2 FROM blacklist",
+				PermissionEvent.MIGRATION_ACTOR, now);
+		if (imported > 0) {
+			logger.info("🚚 既存の権限 {} 件をイベントログに取り込みました", imported);
+		}
+	}
+
+	/**
+	 * 📸 最後のスナップショットから threshold 件以上進んでいれば、現在の状態をスナップショットにする
+	 */
+	private static void snapshotIfBehind(int threshold) {
+		synchronized (permissionViewLock) {
+			PermissionState state = permissionState;
+			if (state != null) {
+				snapshotIfBehind(state, threshold);
+			}
+		}
+	}
+
+	private static void snapshotIfBehind(PermissionState state, int threshold) {
+		if (threshold <= 0 || state.seq() - lastSnapshotSeq < threshold) {
+			return;
+		}
+		long start = System.nanoTime();
+		byte[] data = state.encode();
+		if (writePermissionSnapshot(state.seq(), data)) {
+			lastSnapshotSeq = state.seq();
+			logger.info("📸 権限スナップショットを保存: #{}（{} バイト、{} ms）", state.seq(), data.length,
+					(System.nanoTime() - start) / 1_000_000);
+		}
 	}
 
 	// ========== 共通ユーティリティ ==========
 
 	private static boolean exists(String sql, String... params) {
-		return querySingleResult(sql, ResultSet::next, false, params);
+		// querySingleResult が先頭行へ進めた時点で1行以上あることが分かる
+		return querySingleResult(sql, rs -> true, false, params);
 	}
 
 	private static int executeUpdate(String sql, String... params) {
-		try (Connection conn = getConnection();
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
 				pstmt.setString(i + 1, params[i]);
 			}
-			return pstmt.executeUpdate();
+			affected = pstmt.executeUpdate();
+			return affected;
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
 			return 0;
+		} finally {
+			probe.finish(DB_NAME, "update", sql, affected, () -> explainQueryPlan(sql, params));
+		}
+	}
+
+	/**
+	 * ✏️ 書き込みと同じトランザクションでスコープのバージョンを進め、自プロセスのキャッシュも即時に無効化する
+	 */
+	private static int executeWrite(String scope, String sql, String... params) {
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+				for (int i = 0; i < params.length; i++) {
+					pstmt.setString(i + 1, params[i]);
+				}
+				affected = pstmt.executeUpdate();
+				if (affected > 0) {
+					DataVersionWatcher.bump(conn, scope);
+				}
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			if (affected > 0) {
+				changeWatcher.fire(scope);
+			}
+			return affected;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+			return 0;
+		} finally {
+			probe.finish(DB_NAME, "write", sql, affected, () -> explainQueryPlan(sql, params));
+		}
+	}
+
+	/**
+	 * 🧾 権限イベントをテーブルに反映し、実際に変化があったものだけをイベントログに追記する（全体で1トランザクション）
+	 *
+	 * どれか1件でも失敗した場合は全てロールバックして 0 を返す。
+	 *
+	 * @return 変化があったイベントの件数
+	 */
+	private static int applyPermissionEvents(List<PermissionEvent> events) {
+		if (events.isEmpty()) {
+			return 0;
+		}
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		Set<String> scopes = new HashSet<>();
+		List<PermissionEvent> applied = new ArrayList<>();
+		Map<String, PreparedStatement> statements = new HashMap<>();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement append = conn.prepareStatement(EVENT_INSERT_SQL)) {
+				for (PermissionEvent event : events) {
+					int changed = 0;
+					for (String sql : projectionSql(event)) {
+						PreparedStatement pstmt = statements.get(sql);
+						if (pstmt == null) {
+							pstmt = conn.prepareStatement(sql);
+							statements.put(sql, pstmt);
+						}
+						bindProjection(pstmt, event);
+						changed += pstmt.executeUpdate();
+					}
+					if (changed == 0) {
+						continue; // 変化なし（既に同じ期限で許可済み・未許可など）はイベントにしない
+					}
+					append.setString(1, event.type().dbValue());
+					append.setString(2, event.subject().dbValue());
+					append.setString(3, event.subjectId());
+					append.setString(4, event.guildId());
+					append.setString(5, event.commandName());
+					setExpiresAt(append, 6, event.expiresAt());
+					append.setString(7, event.actorId());
+					append.setLong(8, event.createdAt());
+					append.executeUpdate();
+					applied.add(event);
+					scopes.add(event.key().isBlock() ? SCOPE_BLACKLIST : SCOPE_PERMISSIONS);
+				}
+				affected = applied.size();
+				for (String scope : scopes) {
+					DataVersionWatcher.bump(conn, scope);
+				}
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				for (PreparedStatement pstmt : statements.values()) {
+					pstmt.close();
+				}
+				conn.setAutoCommit(true);
+			}
+			applied.forEach(DatabaseHelper::trackExpiry);
+			scopes.forEach(changeWatcher::fire);
+			return affected;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ 権限の更新中にエラーが発生しました（ロールバック済み）: {}", e.getMessage(), e);
+			return 0;
+		} finally {
+			probe.finish(DB_NAME, "batch", String.join("; ", statements.keySet()), affected, null);
+		}
+	}
+
+	/**
+	 * 🗂️ イベントを現在値のテーブルに反映する SQL（順に実行。?1 = 対象ID、?2 = コマンド名、?3 = 期限、?4 = ロールのサーバーID）
+	 */
+	private static List<String> projectionSql(PermissionEvent event) {
+		String table = switch (event.subject()) {
+		case GUILD -> "server_permissions";
+		case USER -> "user_permissions";
+		case ROLE -> "role_permissions";
+		};
+		String idColumn = switch (event.subject()) {
+		case GUILD -> "guild_id";
+		case USER -> "user_id";
+		case ROLE -> "role_id";
+		};
+		String match = " WHERE " + idColumn + " = ?1 AND command_name = ?2";
+		boolean block = event.key().isBlock();
+		return switch (event.type()) {
+		// 既にあれば期限だけを置き換え、無ければ追加する
+		case GRANT -> List.of(
+				"UPDATE " + table + " SET expires_at = ?3" + match + " AND expires_at IS NOT ?3",
+				event.subject() == Subject.ROLE
+						? "INSERT INTO role_permissions (role_id, command_name, expires_at, guild_id) SELECT ?1, ?2, ?3, ?4"
+								+ " WHERE NOT EXISTS (SELECT 1 FROM role_permissions" + match + ")"
+						: "INSERT INTO " + table + " (" + idColumn + ", command_name, expires_at) SELECT ?1, ?2, ?3"
+								+ " WHERE NOT EXISTS (SELECT 1 FROM " + table + match + ")");
+		case REVOKE -> List.of("DELETE FROM " + table + match);
+		case BLOCK -> List.of("INSERT INTO blacklist (user_id, expires_at) VALUES (?1, ?3)"
+				+ " ON CONFLICT (user_id) DO UPDATE SET expires_at = excluded.expires_at"
+				+ " WHERE expires_at IS NOT excluded.expires_at");
+		case UNBLOCK -> List.of("DELETE FROM blacklist WHERE user_id = ?1");
+		// 期限が延長・撤廃されていれば expires_at が ?3 より後（または NULL）なので何も消えない
+		case EXPIRE -> List.of(block
+				? "DELETE FROM blacklist WHERE user_id = ?1 AND expires_at <= ?3"
+				: "DELETE FROM " + table + match + " AND expires_at <= ?3");
+		};
+	}
+
+	private static void bindProjection(PreparedStatement pstmt, PermissionEvent event) throws SQLException {
+		int count = pstmt.getParameterMetaData().getParameterCount();
+		pstmt.setString(1, event.subjectId());
+		if (count >= 2) {
+			pstmt.setString(2, event.commandName());
+		}
+		if (count >= 3) {
+			setExpiresAt(pstmt, 3, event.expiresAt());
+		}
+		if (count >= 4) {
+			pstmt.setString(4, event.guildId());
+		}
+	}
+
+	private static void setExpiresAt(PreparedStatement pstmt, int index, long expiresAt) throws SQLException {
+		if (expiresAt > 0) {
+			pstmt.setLong(index, expiresAt);
+		} else {
+			pstmt.setNull(index, Types.INTEGER);
+		}
+	}
+
+	private static PermissionEvent mapPermissionEvent(ResultSet rs) throws SQLException {
+		return new PermissionEvent(rs.getLong("seq"), PermissionEvent.Type.fromDb(rs.getString("type")),
+				Subject.fromDb(rs.getString("subject")), rs.getString("subject_id"), rs.getString("guild_id"),
+				rs.getString("command_name"), rs.getLong("expires_at"), rs.getString("actor_id"), rs.getLong("created_at"));
+	}
+
+	/**
+	 * 📸 スナップショットを保存し、古いものを SNAPSHOTS_KEPT 件だけ残して削除する
+	 */
+	private static boolean writePermissionSnapshot(long seq, byte[] state) {
+		String sql = "INSERT OR REPLACE INTO permission_snapshots (seq, created_at, state) VALUES (?, ?, ?)";
+		QueryProbe probe = QueryProbe.start();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement insert = conn.prepareStatement(sql);
+					PreparedStatement prune = conn.prepareStatement("DELETE FROM permission_snapshots WHERE seq NOT IN"
+							+ " (SELECT seq FROM permission_snapshots ORDER BY seq DESC LIMIT " + SNAPSHOTS_KEPT + ")")) {
+				insert.setLong(1, seq);
+				insert.setLong(2, System.currentTimeMillis());
+				insert.setBytes(3, state);
+				insert.executeUpdate();
+				prune.executeUpdate();
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			return true;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ 権限スナップショットの保存に失敗しました: {}", e.getMessage(), e);
+			return false;
+		} finally {
+			probe.finish(DB_NAME, "write", sql, 1, null);
+		}
+	}
+
+	/**
+	 * 🔍 実行計画（EXPLAIN QUERY PLAN）を文字列にする（遅いクエリの記録用。取得できなければその旨を返す）
+	 */
+	private static String explainQueryPlan(String sql, String... params) {
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
+				PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+
+			for (int i = 0; i < params.length; i++) {
+				pstmt.setString(i + 1, params[i]);
+			}
+
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					plan.append("  ").append(rs.getString("detail")).append('\n');
+				}
+			}
+			return plan.toString().stripTrailing();
+		} catch (Exception e) {
+			return "  （実行計画を取得できませんでした: " + e.getMessage() + "）";
 		}
 	}
 
 	private static <T> T querySingleResult(String sql, ResultSetMapper<T> mapper, T defaultValue, String... params) {
-		try (Connection conn = getConnection();
+		QueryProbe probe = QueryProbe.start();
+		int rows = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
@@ -221,18 +1142,24 @@ public class DatabaseHelper {
 
 			try (ResultSet rs = pstmt.executeQuery()) {
 				if (rs.next()) {
+					rows = 1;
 					return mapper.map(rs);
 				}
 			}
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+		} finally {
+			probe.finish(DB_NAME, "single", sql, rows, () -> explainQueryPlan(sql, params));
 		}
 		return defaultValue;
 	}
 
 	private static <T> List<T> queryList(String sql, ResultSetMapper<T> mapper, String... params) {
+		QueryProbe probe = QueryProbe.start();
 		List<T> results = new ArrayList<>();
-		try (Connection conn = getConnection();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
@@ -245,11 +1172,30 @@ public class DatabaseHelper {
 				}
 			}
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+		} finally {
+			probe.finish(DB_NAME, "list", sql, results.size(), () -> explainQueryPlan(sql, params));
 		}
 		return results;
 	}
 
+	/**
+	 * 📤 1件ずつ受け取るコールバック（書き出し先の IOException を投げられる）
+	 */
+	@FunctionalInterface
+	public interface RowConsumer<T> {
+		void accept(T row) throws IOException;
+	}
+
+	/**
+	 * 📤 許可を1件ずつ（ID とコマンド名）受け取るコールバック（書き出し先の IOException を投げられる）
+	 */
+	@FunctionalInterface
+	public interface PermissionConsumer {
+		void accept(String id, List<String> commands) throws IOException;
+	}
+
 	@FunctionalInterface
 	private interface ResultSetMapper<T> {
 		T map(ResultSet rs) throws SQLException;
@@ -1,5 +1,6 @@
 package com.an0mas.bot.database;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -8,6 +9,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -26,26 +28,81 @@ import io.github.cdimascio.dotenv.Dotenv;
 public class FeedbackDatabaseHelper {
 	private static final Logger logger = LoggerFactory.getLogger(FeedbackDatabaseHelper.class);
 
+	/** 🔔 変更通知スコープ（change_versions.scope） */
+	public static final String SCOPE_FEEDBACK = "feedback";
+
 	private static final HikariDataSource dataSource;
+	private static final PoolWaitTracker poolWaits = new PoolWaitTracker();
+	private static final Path dbPath;
+	private static final DataVersionWatcher changeWatcher;
 
-	private static final Dotenv dotenv = Dotenv.load();
+	private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); // .env が無ければ環境変数のみ
 	private static final String SCHEMA_FILE = "schemas/feedback_schema.sql";
+	private static final String DB_NAME = "feedback"; // 📊 計測（JFR・SqlStats・プール統計）に載せるDB名
+	private static final int STREAM_CHUNK_SIZE = 500; // 🌊 逐次読み出しで1回のクエリ（コネクションを借りる間）に読む行数
+
+	// 🗃️ 総件数・ストアバージョンのキャッシュ（変更通知で無効化）
+	private static final CachedValue<Integer> countCache = new CachedValue<>();
+	private static final CachedValue<StoreVersion> versionCache = new CachedValue<>();
 
 	static {
+		dbPath = Path.of(dotenv.get("FEEDBACK_DB_PATH", "data/feedbacks.db"));
+		String jdbcUrl = "jdbc:sqlite:" + dbPath;
+
 		HikariConfig config = new HikariConfig();
-		config.setJdbcUrl("jdbc:sqlite:" + dotenv.get("FEEDBACK_DB_PATH", "data/feedbacks.db"));
-		config.setMaximumPoolSize(10); // 最大プールサイズ
-		config.setMinimumIdle(5);     // 最小アイドルコネクション数
+		config.setJdbcUrl(jdbcUrl);
+		config.setMaximumPoolSize(Integer.parseInt(dotenv.get("FEEDBACK_DB_POOL_MAX_SIZE", "10"))); // 最大プールサイズ
+		config.setMinimumIdle(Integer.parseInt(dotenv.get("FEEDBACK_DB_POOL_MIN_IDLE", "5")));    // 最小アイドルコネクション数
 		config.setIdleTimeout(30000); // 30秒間アイドル状態ならコネクションを閉じる
 		config.setConnectionTimeout(10000); // 10秒でタイムアウト
 		config.setLeakDetectionThreshold(2000); // コネクションリーク検出（2秒）
+		config.setMetricsTrackerFactory(poolWaits); // ⏳ 取得待ち時間の計測（ダッシュボード・readiness）
+		config.addDataSourceProperty("journal_mode", "WAL"); // 読み取りが書き込みを待たない（ロック待ちを減らす）
 		dataSource = new HikariDataSource(config);
+
+		// 🔔 別プロセス（WebUI / Bot）からの変更を検知してキャッシュを無効化
+		changeWatcher = new DataVersionWatcher(jdbcUrl, "feedback",
+				Long.parseLong(dotenv.get("CHANGE_WATCH_INTERVAL_MS", "50")));
+		changeWatcher.addListener(SCOPE_FEEDBACK, countCache::invalidate);
+		changeWatcher.addListener(SCOPE_FEEDBACK, versionCache::invalidate);
+		changeWatcher.start();
 	}
 
 	private static Connection getConnection() throws SQLException {
 		return dataSource.getConnection();
 	}
 
+	/**
+	 * 🏊 コネクションプールの使用状況を取得（DBアクセスなし）
+	 */
+	public static PoolStats getPoolStats() {
+		return PoolStats.of(DB_NAME, dataSource, poolWaits);
+	}
+
+	/**
+	 * 🪶 SQLite ファイルの状態（ページ数・WAL サイズなど）を取得（読めなければ null）
+	 */
+	public static SqliteStats getSqliteStats() {
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			return SqliteStats.read(DB_NAME, conn, dbPath);
+		} catch (Exception e) {
+			logger.warn("⚠️ SQLite の状態を取得できませんでした: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 🔌 コネクションプールを閉じる（停止処理の最後に呼ぶ）
+	 */
+	public static void close() {
+		changeWatcher.stop();
+		if (!dataSource.isClosed()) {
+			dataSource.close();
+			logger.info("🔌 フィードバックDBのコネクションプールを閉じました");
+		}
+	}
+
 	// ========== 初期化 ==========
 
 	/**
@@ -59,11 +116,17 @@ public class FeedbackDatabaseHelper {
 			return;
 		}
 
-		try (Connection conn = getConnection();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				Statement stmt = conn.createStatement()) {
 
+			// SQLite JDBC は1回の execute で先頭の1文しか実行しないため、文ごとに分割して実行する
 			String schema = Files.readString(schemaPath);
-			stmt.execute(schema);
+			for (String sql : schema.split(";")) {
+				if (!sql.isBlank()) {
+					stmt.execute(sql);
+				}
+			}
 
 			logger.info("✅ フィードバックDB初期化完了！");
 
@@ -72,6 +135,30 @@ public class FeedbackDatabaseHelper {
 		}
 	}
 
+	// ========== 変更通知 ==========
+
+	/**
+	 * 👂 スコープ（SCOPE_*）の変更リスナーを登録する
+	 *
+	 * 自プロセスの書き込み直後と、別プロセスの書き込みを検知したときに呼ばれる。
+	 */
+	public static void addChangeListener(String scope, Runnable listener) {
+		changeWatcher.addListener(scope, listener);
+	}
+
+	/**
+	 * 🏷️ フィードバックストアのバージョン（追加・削除のたびに増える）
+	 *
+	 * キャッシュ済みなのでDBアクセスなしで返る（変更通知の直後だけ1回読み直す）。
+	 * WebUI の ETag / Last-Modified に使う。
+	 */
+	public static StoreVersion getStoreVersion() {
+		String sql = "SELECT version, updated_at FROM change_versions WHERE scope = ?";
+		return versionCache.get(() -> querySingleResult(sql,
+				rs -> new StoreVersion(rs.getLong("version"), rs.getLong("updated_at")),
+				StoreVersion.INITIAL, SCOPE_FEEDBACK));
+	}
+
 	// ========== フィードバック操作 ==========
 
 	/**
@@ -79,7 +166,7 @@ public class FeedbackDatabaseHelper {
 	 */
 	public static void insertFeedback(String userId, String userName, String title, String content, String timestamp) {
 		String sql = "INSERT INTO feedback (user_id, user_name, title, content, timestamp) VALUES (?, ?, ?, ?, ?)";
-		executeUpdate(sql, userId, userName, title, content, timestamp);
+		executeWrite(sql, userId, userName, title, content, timestamp);
 		logger.info("📨 フィードバックを保存: {}（送信者: {}）", title, userName);
 	}
 
@@ -88,13 +175,7 @@ public class FeedbackDatabaseHelper {
 	 */
 	public static List<FeedbackEntry> getAllFeedbacks() {
 		String sql = "SELECT * FROM feedback ORDER BY id DESC";
-		return queryList(sql, rs -> new FeedbackEntry(
-				rs.getInt("id"),
-				rs.getString("user_id"),
-				rs.getString("user_name"),
-				rs.getString("title"),
-				rs.getString("content"),
-				rs.getString("timestamp")));
+		return queryList(sql, FeedbackDatabaseHelper::mapFeedback);
 	}
 
 	/**
@@ -102,13 +183,7 @@ public class FeedbackDatabaseHelper {
 	 */
 	public static FeedbackEntry getFeedbackById(int id) {
 		String sql = "SELECT * FROM feedback WHERE id = ?";
-		return querySingleResult(sql, rs -> new FeedbackEntry(
-				rs.getInt("id"),
-				rs.getString("user_id"),
-				rs.getString("user_name"),
-				rs.getString("title"),
-				rs.getString("content"),
-				rs.getString("timestamp")), null, id);
+		return querySingleResult(sql, FeedbackDatabaseHelper::mapFeedback, null, id);
 	}
 
 	/**
@@ -116,7 +191,7 @@ public class FeedbackDatabaseHelper {
 	 */
 	public static void deleteFeedbackById(int id) {
 		String sql = "DELETE FROM feedback WHERE id = ?";
-		int affected = executeUpdate(sql, id);
+		int affected = executeWrite(sql, id);
 		if (affected > 0) {
 			logger.info("🗑️ フィードバック削除: ID = {}", id);
 		} else {
@@ -124,18 +199,90 @@ public class FeedbackDatabaseHelper {
 		}
 	}
 
+	/**
+	 * 🗑️ 複数のフィードバックをまとめて削除（1つのバッチ・1トランザクション）
+	 *
+	 * @return 実際に削除された件数
+	 */
+	public static int deleteFeedbacksByIds(Collection<Integer> ids) {
+		String sql = "DELETE FROM feedback WHERE id = ?";
+		List<Object[]> rows = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			rows.add(new Object[] { id });
+		}
+		int affected = executeBatchWrite(sql, rows);
+		logger.info("🗑️ フィードバックを一括削除: {} 件中 {} 件", ids.size(), affected);
+		return affected;
+	}
+
 	/**
 	 * 📃 ページごとのフィードバックを取得
 	 */
 	public static List<FeedbackEntry> getFeedbacksPaged(int offset, int limit) {
 		String sql = "SELECT * FROM feedback ORDER BY id DESC LIMIT ? OFFSET ?";
-		return queryList(sql, rs -> new FeedbackEntry(
-				rs.getInt("id"),
-				rs.getString("user_id"),
-				rs.getString("user_name"),
-				rs.getString("title"),
-				rs.getString("content"),
-				rs.getString("timestamp")), limit, offset);
+		return queryList(sql, FeedbackDatabaseHelper::mapFeedback, limit, offset);
+	}
+
+	/**
+	 * 🌊 フィードバックを新しい順に1件ずつ読み、全件のリストを作らずにコールバックへ渡す
+	 *
+	 * {@value #STREAM_CHUNK_SIZE} 件ずつ id のキーセット（WHERE id < ?）で読み、チャンクを読み終えたら
+	 * コネクション・ゲートの許可・読み取りトランザクションを返してからコールバックを呼ぶ。
+	 * 書き出し先（HTTP クライアント）が遅くてもプールやゲートを占有せず、WAL のチェックポイントも止めない。
+	 * 使用メモリは1チャンク分で一定。
+	 * カーソル（beforeId）より古いものだけを対象にし、beforeId が 0 以下なら先頭から読む。
+	 * limit が 0 以下なら全件。コールバックの IOException（クライアント切断など）はそのまま呼び出し元へ返す。
+	 *
+	 * @return 読んだ件数
+	 */
+	public static int forEachFeedback(int beforeId, int limit, RowConsumer<FeedbackEntry> consumer) throws IOException {
+		int count = 0;
+		int cursor = beforeId;
+		while (limit <= 0 || count < limit) {
+			int chunkSize = limit > 0 ? Math.min(STREAM_CHUNK_SIZE, limit - count) : STREAM_CHUNK_SIZE;
+			List<FeedbackEntry> chunk = readChunk(cursor, chunkSize);
+			for (FeedbackEntry entry : chunk) {
+				consumer.accept(entry);
+			}
+			count += chunk.size();
+			if (chunk.size() < chunkSize) {
+				break;
+			}
+			cursor = chunk.get(chunk.size() - 1).id;
+		}
+		return count;
+	}
+
+	/**
+	 * 📦 forEachFeedback の1チャンク（cursor より古いものを新しい順に最大 size 件）
+	 */
+	private static List<FeedbackEntry> readChunk(int cursor, int size) throws IOException {
+		String sql = "SELECT * FROM feedback" + (cursor > 0 ? " WHERE id < ?" : "") + " ORDER BY id DESC LIMIT ?";
+		Object[] params = cursor > 0 ? new Object[] { cursor, size } : new Object[] { size };
+
+		QueryProbe probe = QueryProbe.start();
+		List<FeedbackEntry> chunk = new ArrayList<>(size);
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
+				PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+			for (int i = 0; i < params.length; i++) {
+				pstmt.setObject(i + 1, params[i]);
+			}
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					chunk.add(mapFeedback(rs));
+				}
+			}
+			return chunk;
+		} catch (SQLException e) {
+			// 途中まで書き出したレスポンスを正常終了させないよう、呼び出し元に中断させる
+			probe.failed = true;
+			logger.error("❌ フィードバックの逐次読み出し中にエラーが発生しました: {}", e.getMessage(), e);
+			throw new IOException("フィードバックの読み出しに失敗しました", e);
+		} finally {
+			probe.finish(DB_NAME, "stream", sql, chunk.size(), () -> explainQueryPlan(sql, params));
+		}
 	}
 
 	/**
@@ -143,27 +290,153 @@ public class FeedbackDatabaseHelper {
 	 */
 	public static int getFeedbackCount() {
 		String sql = "SELECT COUNT(*) FROM feedback";
-		return querySingleResult(sql, rs -> rs.getInt(1), 0);
+		return countCache.get(() -> querySingleResult(sql, rs -> rs.getInt(1), 0));
 	}
 
 	// ========== 共通ユーティリティ ==========
 
+	private static FeedbackEntry mapFeedback(ResultSet rs) throws SQLException {
+		return new FeedbackEntry(
+				rs.getInt("id"),
+				rs.getString("user_id"),
+				rs.getString("user_name"),
+				rs.getString("title"),
+				rs.getString("content"),
+				rs.getString("timestamp"));
+	}
+
 	private static int executeUpdate(String sql, Object... params) {
-		try (Connection conn = getConnection();
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
 				pstmt.setObject(i + 1, params[i]);
 			}
-			return pstmt.executeUpdate();
+			affected = pstmt.executeUpdate();
+			return affected;
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
 			return 0;
+		} finally {
+			probe.finish(DB_NAME, "update", sql, affected, () -> explainQueryPlan(sql, params));
+		}
+	}
+
+	/**
+	 * ✏️ 書き込みと同じトランザクションで feedback スコープのバージョンを進め、自プロセスのキャッシュも即時に無効化する
+	 */
+	private static int executeWrite(String sql, Object... params) {
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+				for (int i = 0; i < params.length; i++) {
+					pstmt.setObject(i + 1, params[i]);
+				}
+				affected = pstmt.executeUpdate();
+				if (affected > 0) {
+					DataVersionWatcher.bump(conn, SCOPE_FEEDBACK);
+				}
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			if (affected > 0) {
+				changeWatcher.fire(SCOPE_FEEDBACK);
+			}
+			return affected;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+			return 0;
+		} finally {
+			probe.finish(DB_NAME, "write", sql, affected, () -> explainQueryPlan(sql, params));
+		}
+	}
+
+	/**
+	 * 📦 同じ SQL をパラメーター行ごとにバッチ実行し、1トランザクションでコミットする（失敗時は全てロールバック）
+	 */
+	private static int executeBatchWrite(String sql, List<Object[]> rows) {
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		QueryProbe probe = QueryProbe.start();
+		int affected = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+				for (Object[] params : rows) {
+					for (int i = 0; i < params.length; i++) {
+						pstmt.setObject(i + 1, params[i]);
+					}
+					pstmt.addBatch();
+				}
+				for (int count : pstmt.executeBatch()) {
+					affected += Math.max(count, 0);
+				}
+				if (affected > 0) {
+					DataVersionWatcher.bump(conn, SCOPE_FEEDBACK);
+				}
+				conn.commit();
+			} catch (Exception e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			if (affected > 0) {
+				changeWatcher.fire(SCOPE_FEEDBACK);
+			}
+			return affected;
+		} catch (Exception e) {
+			probe.failed = true;
+			logger.error("❌ 一括更新中にエラーが発生しました（ロールバック済み）: {}", e.getMessage(), e);
+			return 0;
+		} finally {
+			probe.finish(DB_NAME, "batch", sql, affected, null);
+		}
+	}
+
+	/**
+	 * 🔍 実行計画（EXPLAIN QUERY PLAN）を文字列にする（遅いクエリの記録用。取得できなければその旨を返す）
+	 */
+	private static String explainQueryPlan(String sql, Object... params) {
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
+				PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+
+			for (int i = 0; i < params.length; i++) {
+				pstmt.setObject(i + 1, params[i]);
+			}
+
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					plan.append("  ").append(rs.getString("detail")).append('\n');
+				}
+			}
+			return plan.toString().stripTrailing();
+		} catch (Exception e) {
+			return "  （実行計画を取得できませんでした: " + e.getMessage() + "）";
 		}
 	}
 
 	private static <T> T querySingleResult(String sql, ResultSetMapper<T> mapper, T defaultValue, Object... params) {
-		try (Connection conn = getConnection();
+		QueryProbe probe = QueryProbe.start();
+		int rows = 0;
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
@@ -172,18 +445,24 @@ public class FeedbackDatabaseHelper {
 
 			try (ResultSet rs = pstmt.executeQuery()) {
 				if (rs.next()) {
+					rows = 1;
 					return mapper.map(rs);
 				}
 			}
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+		} finally {
+			probe.finish(DB_NAME, "single", sql, rows, () -> explainQueryPlan(sql, params));
 		}
 		return defaultValue;
 	}
 
 	private static <T> List<T> queryList(String sql, ResultSetMapper<T> mapper, Object... params) {
+		QueryProbe probe = QueryProbe.start();
 		List<T> results = new ArrayList<>();
-		try (Connection conn = getConnection();
+		try (JdbcGate.Permit permit = JdbcGate.enter();
+				Connection conn = getConnection();
 				PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
 			for (int i = 0; i < params.length; i++) {
@@ -196,11 +475,22 @@ public class FeedbackDatabaseHelper {
 				}
 			}
 		} catch (Exception e) {
+			probe.failed = true;
 			logger.error("❌ クエリ実行中にエラーが発生しました: {}", e.getMessage(), e);
+		} finally {
+			probe.finish(DB_NAME, "list", sql, results.size(), () -> explainQueryPlan(sql, params));
 		}
 		return results;
 	}
 
+	/**
+	 * 📤 逐次読み出しで1行ずつ受け取るコールバック（書き出し先の IOException を投げられる）
+	 */
+	@FunctionalInterface
+	public interface RowConsumer<T> {
+		void accept(T row) throws IOException;
+	}
+
 	@FunctionalInterface
 	private interface ResultSetMapper<T> {
 		T map(ResultSet rs) throws SQLException;
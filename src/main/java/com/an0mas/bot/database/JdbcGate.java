@@ -0,0 +1,50 @@
+package com.an0mas.bot.database;
+
+import java.util.concurrent.Semaphore;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * 🚪 JdbcGate:
+ * 仮想スレッドから SQLite（JNI）に同時に入れる数を制限するゲート。
+ *
+ * SQLite JDBC の呼び出しはネイティブコード（＋ synchronized）なので、実行中・ロック待ち中は
+ * 仮想スレッドがキャリアスレッドを占有（pinning）してしまう。
+ * 入口で {@link Semaphore} を使って待たせれば、待機中の仮想スレッドはキャリアから外れるため、
+ * キャリアが JDBC で埋まって他のリクエスト処理が止まることを防げる。
+ *
+ * プラットフォームスレッド（Botのイベントスレッドや通常のTomcatスレッド）は素通りする。
+ */
+public class JdbcGate {
+
+	private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); // .env が無ければ環境変数のみ
+
+	/** 🔢 同時に JDBC に入れる仮想スレッド数（既定: CPUコア数 - 1、最低1） */
+	private static final int PERMITS = Integer.parseInt(dotenv.get("JDBC_VIRTUAL_CONCURRENCY",
+			String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() - 1))));
+
+	private static final Semaphore semaphore = new Semaphore(PERMITS, true);
+
+	private static final Permit NOOP = () -> {
+	};
+
+	/**
+	 * 🎫 JDBC を使う前に呼ぶ（try-with-resources で必ず解放すること）
+	 */
+	public static Permit enter() {
+		if (!Thread.currentThread().isVirtual()) {
+			return NOOP;
+		}
+		semaphore.acquireUninterruptibly();
+		return semaphore::release;
+	}
+
+	/**
+	 * 🎫 ゲートの通行許可
+	 */
+	@FunctionalInterface
+	public interface Permit extends AutoCloseable {
+		@Override
+		void close();
+	}
+}
@@ -0,0 +1,121 @@
+package com.an0mas.bot.database;
+
+import java.util.Locale;
+
+/**
+ * 🧾 権限イベント1件（permission_events の1行）
+ *
+ * 許可・ブロックの変更は全てこのイベントとして追記され、テーブルの現在値とスナップショットはその適用結果になる。
+ *
+ * @param seq 連番（追記前は 0）
+ * @param type 操作の種類
+ * @param subject 対象の種類（ブロック・解除は常に USER）
+ * @param subjectId サーバーID・ユーザーID・ロールID
+ * @param guildId ロールへの許可・削除ではロールのあるサーバーID（それ以外は null）
+ * @param commandName コマンド名（ブロック・解除では null）
+ * @param expiresAt GRANT / BLOCK: 期限（epoch millis、0 なら無期限）。EXPIRE: 失効させる期限（これ以前の期限のものだけを外す）
+ * @param actorId 操作したユーザーのID（{@link #SYSTEM_ACTOR} など）
+ * @param createdAt 記録時刻（epoch millis）
+ */
+public record PermissionEvent(long seq, Type type, Subject subject, String subjectId, String guildId,
+		String commandName, long expiresAt, String actorId, long createdAt) {
+
+	/** 🤖 ユーザー操作ではない変更（ベンチマークのシードなど）の操作者 */
+	public static final String SYSTEM_ACTOR = "system";
+
+	/** 🚚 既存テーブルから初回に取り込んだイベントの操作者 */
+	public static final String MIGRATION_ACTOR = "migration";
+
+	/** ⌛ 期限切れによる失効の操作者 */
+	public static final String EXPIRY_ACTOR = "expiry";
+
+	public enum Type {
+		/** 許可（期限付きなら expiresAt > 0） */
+		GRANT,
+		REVOKE,
+		/** ブロック（期限付きなら expiresAt > 0） */
+		BLOCK,
+		UNBLOCK,
+		/** ⌛ 期限切れ（commandName があれば許可、無ければブロックを外す） */
+		EXPIRE;
+
+		public String dbValue() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+
+		static Type fromDb(String value) {
+			return valueOf(value.toUpperCase(Locale.ROOT));
+		}
+	}
+
+	public enum Subject {
+		GUILD, USER,
+		/** 🎭 サーバー内のロール（そのロールを持つメンバーに許可） */
+		ROLE;
+
+		public String dbValue() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+
+		static Subject fromDb(String value) {
+			return valueOf(value.toUpperCase(Locale.ROOT));
+		}
+	}
+
+	public static PermissionEvent grant(Subject subject, String subjectId, String commandName, long expiresAt,
+			String actorId) {
+		return new PermissionEvent(0, Type.GRANT, subject, subjectId, null, commandName, expiresAt, actorId,
+				System.currentTimeMillis());
+	}
+
+	public static PermissionEvent revoke(Subject subject, String subjectId, String commandName, String actorId) {
+		return new PermissionEvent(0, Type.REVOKE, subject, subjectId, null, commandName, 0, actorId,
+				System.currentTimeMillis());
+	}
+
+	public static PermissionEvent grantRole(String guildId, String roleId, String commandName, long expiresAt,
+			String actorId) {
+		return new PermissionEvent(0, Type.GRANT, Subject.ROLE, roleId, guildId, commandName, expiresAt, actorId,
+				System.currentTimeMillis());
+	}
+
+	public static PermissionEvent revokeRole(String guildId, String roleId, String commandName, String actorId) {
+		return new PermissionEvent(0, Type.REVOKE, Subject.ROLE, roleId, guildId, commandName, 0, actorId,
+				System.currentTimeMillis());
+	}
+
+	public static PermissionEvent block(String userId, long expiresAt, String actorId) {
+		return new PermissionEvent(0, Type.BLOCK, Subject.USER, userId, null, null, expiresAt, actorId,
+				System.currentTimeMillis());
+	}
+
+	public static PermissionEvent unblock(String userId, String actorId) {
+		return new PermissionEvent(0, Type.UNBLOCK, Subject.USER, userId, null, null, 0, actorId,
+				System.currentTimeMillis());
+	}
+
+	/**
+	 * ⌛ 期限 deadline 以前に切れる許可・ブロックを外すイベント（期限が延長・撤廃されていれば何もしない）
+	 *
+	 * 比べる期限は現在時刻で頭打ちにする（タイマーが早く発火しても、まだ切れていないものは消さない）。
+	 */
+	static PermissionEvent expire(PermissionKey key, long deadline) {
+		long now = System.currentTimeMillis();
+		return new PermissionEvent(0, Type.EXPIRE, key.subject(), key.subjectId(), null, key.commandName(),
+				Math.min(deadline, now), EXPIRY_ACTOR, now);
+	}
+
+	/** 🔑 このイベントが対象とする許可・ブロック */
+	PermissionKey key() {
+		return new PermissionKey(subject, subjectId, commandName);
+	}
+
+	/**
+	 * 🔁 一括操作の1件をイベントにする
+	 */
+	static PermissionEvent of(PermissionGrant grant, boolean add, String actorId) {
+		Subject subject = grant.guild() ? Subject.GUILD : Subject.USER;
+		return add ? grant(subject, grant.targetId(), grant.commandName(), 0, actorId)
+				: revoke(subject, grant.targetId(), grant.commandName(), actorId);
+	}
+}
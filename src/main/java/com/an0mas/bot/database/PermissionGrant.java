@@ -0,0 +1,11 @@
+package com.an0mas.bot.database;
+
+/**
+ * 🔑 コマンド使用許可1件（一括追加・削除の単位）
+ *
+ * @param guild true = サーバー単位の許可 / false = ユーザー単位の許可
+ * @param targetId サーバーIDまたはユーザーID
+ * @param commandName コマンド名
+ */
+public record PermissionGrant(boolean guild, String targetId, String commandName) {
+}
@@ -0,0 +1,21 @@
+package com.an0mas.bot.database;
+
+import com.an0mas.bot.database.PermissionEvent.Subject;
+
+/**
+ * 🔑 許可1件またはブロック1件を指すキー（期限の管理に使う）
+ *
+ * @param subject 対象の種類
+ * @param subjectId サーバーID・ユーザーID・ロールID
+ * @param commandName コマンド名（ブロックなら null）
+ */
+record PermissionKey(Subject subject, String subjectId, String commandName) {
+
+	static PermissionKey block(String userId) {
+		return new PermissionKey(Subject.USER, userId, null);
+	}
+
+	boolean isBlock() {
+		return commandName == null;
+	}
+}
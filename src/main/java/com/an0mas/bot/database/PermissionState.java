@@ -0,0 +1,438 @@
+package com.an0mas.bot.database;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import com.an0mas.bot.database.PermissionEvent.Subject;
+
+/**
+ * 🧮 PermissionState:
+ * 権限イベントを seq まで適用した結果（サーバー・ユーザー・ロールごとの許可コマンド、ブロック中のユーザー、期限付きのものの期限）。
+ *
+ * - 許可は対象ごとに {@link CommandOrdinals} の番号をビット位置にした long[] のマスクで持つ（判定はビット1個の確認）
+ * - 公開後は変更しない（読み取りはロック不要）。イベントの適用は {@link #toBuilder()} のコピーに対して行う
+ * - コピーは外側のマップだけで、マスクは変更のあった対象の分だけ新しく作る（配列は公開後に書き換えない）
+ * - ロールの許可はサーバーごとに {@link RolePermissionBits} へ初回の判定時に変換し、この状態が置き換わるまで使い回す
+ * - {@link #encode()} / {@link #decode(byte[])} でスナップショット用のバイナリに変換する
+ */
+final class PermissionState {
+
+	static final PermissionState EMPTY = new PermissionState(0, Map.of(), Map.of(), Map.of(), Map.of(), Set.of(), Map.of());
+
+	private static final long[] NO_COMMANDS = new long[0];
+
+	/**
+	 * 📐 スナップショットの形式
+	 *
+	 * <pre>
+	 * "PS" 版数(1)  seq(varlong)
+	 * コマンド名表: 件数(varint) + UTF 文字列 …（書き出し時の番号順）
+	 * サーバー: 件数(varint) + [ID, マスク] …
+	 * ユーザー: 同上
+	 * ブロック: 件数(varint) + ID …
+	 * 期限: 件数(varint) + [種類(0=サーバー許可 / 1=ユーザー許可 / 2=ブロック / 3=ロール許可), ID, (許可なら)コマンド番号, 期限(varlong)] …
+	 * ロール: 件数(varint) + [ロールID, サーバーID, マスク] …
+	 * CRC32(int)
+	 * </pre>
+	 *
+	 * マスクは語数(varint) + 語(varlong) …（コマンド名表の添字がビット位置）。
+	 * ID は10進の snowflake なら (値 << 1) の varlong、それ以外は 1 の後に UTF 文字列。
+	 */
+	private static final int MAGIC = ('P' << 8) | 'S';
+	private static final int FORMAT_VERSION = 1;
+
+	private final long seq;
+	private final Map<String, long[]> guildGrants;
+	private final Map<String, long[]> userGrants;
+	private final Map<String, long[]> roleGrants;
+	/** ロールID → そのロールのあるサーバーID */
+	private final Map<String, String> roleGuilds;
+	private final Set<String> blocked;
+	private final Map<PermissionKey, Long> expiries;
+	private final Map<String, RolePermissionBits> roleBits = new ConcurrentHashMap<>();
+
+	private PermissionState(long seq, Map<String, long[]> guildGrants, Map<String, long[]> userGrants,
+			Map<String, long[]> roleGrants, Map<String, String> roleGuilds, Set<String> blocked,
+			Map<PermissionKey, Long> expiries) {
+		this.seq = seq;
+		this.guildGrants = guildGrants;
+		this.userGrants = userGrants;
+		this.roleGrants = roleGrants;
+		this.roleGuilds = roleGuilds;
+		this.blocked = blocked;
+		this.expiries = expiries;
+	}
+
+	/** 🔢 適用済みの最後のイベントの seq */
+	long seq() {
+		return seq;
+	}
+
+	boolean isGranted(Subject subject, String subjectId, String commandName) {
+		long[] mask = grants(subject).get(subjectId);
+		return mask != null && CommandOrdinals.contains(mask, CommandOrdinals.ordinal(commandName));
+	}
+
+	List<String> commandsFor(Subject subject, String subjectId) {
+		long[] mask = grants(subject).get(subjectId);
+		return mask != null ? CommandOrdinals.decode(mask) : List.of();
+	}
+
+	List<String> subjectsAllowed(Subject subject, String commandName) {
+		int ordinal = CommandOrdinals.ordinal(commandName);
+		List<String> subjects = new ArrayList<>();
+		if (ordinal < 0) {
+			return subjects;
+		}
+		grants(subject).forEach((id, mask) -> {
+			if (CommandOrdinals.contains(mask, ordinal)) {
+				subjects.add(id);
+			}
+		});
+		return subjects;
+	}
+
+	/** 🗺️ 対象ID → 許可コマンドのマスク（配列は読み取り専用として扱うこと） */
+	Map<String, long[]> grants(Subject subject) {
+		return switch (subject) {
+		case GUILD -> guildGrants;
+		case USER -> userGrants;
+		case ROLE -> roleGrants;
+		};
+	}
+
+	/** 🎭 ロールのあるサーバーID（許可が無いロールなら null） */
+	String roleGuild(String roleId) {
+		return roleGuilds.get(roleId);
+	}
+
+	/**
+	 * 🎭 サーバー内のロールへの許可をビット列にしたもの（状態ごとに1回だけ組み立てる）
+	 */
+	RolePermissionBits roleBits(String guildId) {
+		return roleBits.computeIfAbsent(guildId, id -> {
+			Map<String, long[]> grantsByRole = new HashMap<>();
+			roleGuilds.forEach((roleId, guild) -> {
+				if (guild.equals(id)) {
+					grantsByRole.put(roleId, roleGrants.get(roleId));
+				}
+			});
+			return RolePermissionBits.compile(grantsByRole);
+		});
+	}
+
+	Set<String> blocked() {
+		return blocked;
+	}
+
+	/** ⌛ 期限付きの許可・ブロックとその期限（epoch millis） */
+	Map<PermissionKey, Long> expiries() {
+		return expiries;
+	}
+
+	Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	/**
+	 * ✏️ イベントを順に適用して新しい状態を作る（1スレッドで使う）
+	 */
+	static final class Builder {
+		private long seq;
+		private final Map<String, long[]> guildGrants;
+		private final Map<String, long[]> userGrants;
+		private final Map<String, long[]> roleGrants;
+		private final Map<String, String> roleGuilds;
+		private final Set<String> blocked;
+		private final Map<PermissionKey, Long> expiries;
+
+		private Builder(PermissionState base) {
+			seq = base.seq;
+			guildGrants = new LinkedHashMap<>(base.guildGrants);
+			userGrants = new LinkedHashMap<>(base.userGrants);
+			roleGrants = new LinkedHashMap<>(base.roleGrants);
+			roleGuilds = new HashMap<>(base.roleGuilds);
+			blocked = new LinkedHashSet<>(base.blocked);
+			expiries = new HashMap<>(base.expiries);
+		}
+
+		Builder apply(PermissionEvent event) {
+			switch (event.type()) {
+			case GRANT -> {
+				Map<String, long[]> grants = map(event.subject());
+				int ordinal = CommandOrdinals.ordinalOrAssign(event.commandName());
+				grants.put(event.subjectId(),
+						CommandOrdinals.with(grants.getOrDefault(event.subjectId(), NO_COMMANDS), ordinal));
+				if (event.subject() == Subject.ROLE && event.guildId() != null) {
+					roleGuilds.put(event.subjectId(), event.guildId());
+				}
+				setExpiry(event.key(), event.expiresAt());
+			}
+			case REVOKE -> revoke(event);
+			case BLOCK -> {
+				blocked.add(event.subjectId());
+				setExpiry(event.key(), event.expiresAt());
+			}
+			case UNBLOCK -> unblock(event);
+			case EXPIRE -> {
+				// テーブル側で期限を確かめて外せたときだけ記録されるイベントなので、そのまま外す
+				if (event.key().isBlock()) {
+					unblock(event);
+				} else {
+					revoke(event);
+				}
+			}
+			}
+			seq = Math.max(seq, event.seq());
+			return this;
+		}
+
+		private void revoke(PermissionEvent event) {
+			Map<String, long[]> grants = map(event.subject());
+			long[] mask = grants.get(event.subjectId());
+			if (mask != null) {
+				long[] remaining = CommandOrdinals.without(mask, CommandOrdinals.ordinal(event.commandName()));
+				if (remaining.length == 0) {
+					grants.remove(event.subjectId());
+					if (event.subject() == Subject.ROLE) {
+						roleGuilds.remove(event.subjectId());
+					}
+				} else {
+					grants.put(event.subjectId(), remaining);
+				}
+			}
+			expiries.remove(event.key());
+		}
+
+		private void unblock(PermissionEvent event) {
+			blocked.remove(event.subjectId());
+			expiries.remove(event.key());
+		}
+
+		private void setExpiry(PermissionKey key, long expiresAt) {
+			if (expiresAt > 0) {
+				expiries.put(key, expiresAt);
+			} else {
+				expiries.remove(key);
+			}
+		}
+
+		private Map<String, long[]> map(Subject subject) {
+			return switch (subject) {
+			case GUILD -> guildGrants;
+			case USER -> userGrants;
+			case ROLE -> roleGrants;
+			};
+		}
+
+		PermissionState build() {
+			return new PermissionState(seq, Collections.unmodifiableMap(guildGrants),
+					Collections.unmodifiableMap(userGrants), Collections.unmodifiableMap(roleGrants),
+					Collections.unmodifiableMap(roleGuilds), Collections.unmodifiableSet(blocked),
+					Collections.unmodifiableMap(expiries));
+		}
+	}
+
+	// ========== スナップショット ==========
+
+	byte[] encode() {
+		// マスクのビット位置をそのまま書けるよう、番号順のコマンド名表を付ける（次の起動では番号が変わりうる）
+		int tableSize = CommandOrdinals.size();
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + 12 * (guildGrants.size() + userGrants.size() + blocked.size()));
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeShort(MAGIC);
+			out.writeByte(FORMAT_VERSION);
+			writeVarLong(out, seq);
+
+			writeVarLong(out, tableSize);
+			for (int ordinal = 0; ordinal < tableSize; ordinal++) {
+				out.writeUTF(CommandOrdinals.name(ordinal));
+			}
+			for (Map<String, long[]> grants : List.of(guildGrants, userGrants)) {
+				writeVarLong(out, grants.size());
+				for (Map.Entry<String, long[]> entry : grants.entrySet()) {
+					writeId(out, entry.getKey());
+					writeMask(out, entry.getValue());
+				}
+			}
+			writeVarLong(out, blocked.size());
+			for (String userId : blocked) {
+				writeId(out, userId);
+			}
+			writeVarLong(out, expiries.size());
+			for (Map.Entry<PermissionKey, Long> entry : expiries.entrySet()) {
+				PermissionKey key = entry.getKey();
+				out.writeByte(key.isBlock() ? 2 : switch (key.subject()) {
+				case GUILD -> 0;
+				case USER -> 1;
+				case ROLE -> 3;
+				});
+				writeId(out, key.subjectId());
+				if (!key.isBlock()) {
+					writeVarLong(out, CommandOrdinals.ordinal(key.commandName()));
+				}
+				writeVarLong(out, entry.getValue());
+			}
+			writeVarLong(out, roleGrants.size());
+			for (Map.Entry<String, long[]> entry : roleGrants.entrySet()) {
+				writeId(out, entry.getKey());
+				writeId(out, roleGuilds.getOrDefault(entry.getKey(), ""));
+				writeMask(out, entry.getValue());
+			}
+
+			CRC32 crc = new CRC32();
+			crc.update(bytes.toByteArray());
+			out.writeInt((int) crc.getValue());
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("権限スナップショットの書き出しに失敗しました", e);
+		}
+	}
+
+	/**
+	 * 📥 スナップショットを読み込む（形式・チェックサムが合わなければ IllegalArgumentException）
+	 */
+	static PermissionState decode(byte[] data) {
+		if (data.length < 4) {
+			throw new IllegalArgumentException("スナップショットが短すぎます");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length - 4);
+		int expected = ((data[data.length - 4] & 0xff) << 24) | ((data[data.length - 3] & 0xff) << 16)
+				| ((data[data.length - 2] & 0xff) << 8) | (data[data.length - 1] & 0xff);
+		if ((int) crc.getValue() != expected) {
+			throw new IllegalArgumentException("スナップショットのチェックサムが一致しません");
+		}
+
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4))) {
+			int version = in.readUnsignedShort() == MAGIC ? in.readUnsignedByte() : -1;
+			if (version != FORMAT_VERSION) {
+				throw new IllegalArgumentException("未対応のスナップショット形式です");
+			}
+			long seq = readVarLong(in);
+
+			// 表の添字 → このプロセスでの番号
+			int[] ordinals = new int[(int) readVarLong(in)];
+			for (int i = 0; i < ordinals.length; i++) {
+				ordinals[i] = CommandOrdinals.ordinalOrAssign(in.readUTF());
+			}
+			List<Map<String, long[]>> sections = new ArrayList<>(2);
+			for (int section = 0; section < 2; section++) {
+				int subjects = (int) readVarLong(in);
+				Map<String, long[]> grants = new LinkedHashMap<>(subjects * 4 / 3 + 1);
+				for (int i = 0; i < subjects; i++) {
+					String id = readId(in);
+					grants.put(id, readMask(in, ordinals));
+				}
+				sections.add(Collections.unmodifiableMap(grants));
+			}
+			int blockedCount = (int) readVarLong(in);
+			Set<String> blocked = new LinkedHashSet<>(blockedCount * 4 / 3 + 1);
+			for (int i = 0; i < blockedCount; i++) {
+				blocked.add(readId(in));
+			}
+			Map<PermissionKey, Long> expiries = new HashMap<>();
+			int expiryCount = (int) readVarLong(in);
+			for (int i = 0; i < expiryCount; i++) {
+				int kind = in.readUnsignedByte();
+				String id = readId(in);
+				PermissionKey key = kind == 2 ? PermissionKey.block(id)
+						: new PermissionKey(kind == 0 ? Subject.GUILD : kind == 1 ? Subject.USER : Subject.ROLE, id,
+								CommandOrdinals.name(ordinals[(int) readVarLong(in)]));
+				expiries.put(key, readVarLong(in));
+			}
+			int roleCount = (int) readVarLong(in);
+			Map<String, long[]> roleGrants = new LinkedHashMap<>(roleCount * 4 / 3 + 1);
+			Map<String, String> roleGuilds = new HashMap<>(roleCount * 4 / 3 + 1);
+			for (int i = 0; i < roleCount; i++) {
+				String roleId = readId(in);
+				String guildId = readId(in);
+				if (!guildId.isEmpty()) {
+					roleGuilds.put(roleId, guildId);
+				}
+				roleGrants.put(roleId, readMask(in, ordinals));
+			}
+			return new PermissionState(seq, sections.get(0), sections.get(1), Collections.unmodifiableMap(roleGrants),
+					Collections.unmodifiableMap(roleGuilds), Collections.unmodifiableSet(blocked),
+					Collections.unmodifiableMap(expiries));
+		} catch (IOException | ArrayIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("スナップショットを読み込めません: " + e.getMessage(), e);
+		}
+	}
+
+	private static void writeMask(DataOutputStream out, long[] mask) throws IOException {
+		writeVarLong(out, mask.length);
+		for (long word : mask) {
+			writeVarLong(out, word);
+		}
+	}
+
+	/**
+	 * 保存時の表の添字で書かれたマスクを、このプロセスの番号のマスクにする
+	 */
+	private static long[] readMask(DataInputStream in, int[] ordinals) throws IOException {
+		long[] mask = NO_COMMANDS;
+		int words = (int) readVarLong(in);
+		for (int word = 0; word < words; word++) {
+			long bits = readVarLong(in);
+			while (bits != 0) {
+				mask = CommandOrdinals.with(mask, ordinals[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+				bits &= bits - 1;
+			}
+		}
+		return mask;
+	}
+
+	/** snowflake（10進・先頭0なし・2^62 未満）なら数値として、それ以外は文字列として書く */
+	private static void writeId(DataOutputStream out, String id) throws IOException {
+		if (!id.isEmpty() && id.length() <= 19 && id.charAt(0) != '0' && id.chars().allMatch(Character::isDigit)) {
+			long value = Long.parseLong(id);
+			if (value < (1L << 62)) {
+				writeVarLong(out, value << 1);
+				return;
+			}
+		}
+		writeVarLong(out, 1);
+		out.writeUTF(id);
+	}
+
+	private static String readId(DataInputStream in) throws IOException {
+		long value = readVarLong(in);
+		return (value & 1) == 0 ? Long.toString(value >>> 1) : in.readUTF();
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("varlong が長すぎます");
+	}
+}
@@ -0,0 +1,49 @@
+package com.an0mas.bot.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * 🏊 コネクションプールの使用状況（Hikari MXBean ＋ 取得待ち時間のスナップショット）
+ *
+ * 待ち時間・保持時間・取得回数は起動からの累積。直近の値は2つのスナップショットの差分で求める。
+ *
+ * @param name プール名（permissions / feedback）
+ * @param active 使用中のコネクション数
+ * @param idle アイドル中のコネクション数
+ * @param total 現在のコネクション総数
+ * @param waiting コネクション待ちのスレッド数
+ * @param max 最大プールサイズ
+ * @param acquisitions コネクション取得回数（累積）
+ * @param waitNanos 取得待ち時間の合計（ナノ秒、累積）
+ * @param maxWaitNanos 取得待ち時間の最大（ナノ秒）
+ * @param usageMillis コネクション保持時間の合計（ミリ秒、累積）
+ * @param timeouts 取得タイムアウト回数（累積）
+ */
+public record PoolStats(String name, int active, int idle, int total, int waiting, int max,
+		long acquisitions, long waitNanos, long maxWaitNanos, long usageMillis, long timeouts) {
+
+	static PoolStats of(String name, HikariDataSource dataSource, PoolWaitTracker waits) {
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		if (pool == null) {
+			return new PoolStats(name, 0, 0, 0, 0, dataSource.getMaximumPoolSize(), 0, 0, 0, 0, 0);
+		}
+		return new PoolStats(name, pool.getActiveConnections(), pool.getIdleConnections(),
+				pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), dataSource.getMaximumPoolSize(),
+				waits.acquisitions(), waits.waitNanos(), waits.maxWaitNanos(), waits.usageMillis(), waits.timeouts());
+	}
+
+	/** ⏳ 取得待ち時間の平均（ミリ秒、起動から） */
+	public double averageWaitMillis() {
+		return acquisitions == 0 ? 0 : waitNanos / 1e6 / acquisitions;
+	}
+
+	/** 🤲 コネクション保持時間の平均（ミリ秒、起動から） */
+	public double averageUsageMillis() {
+		return acquisitions == 0 ? 0 : (double) usageMillis / acquisitions;
+	}
+
+	public double maxWaitMillis() {
+		return maxWaitNanos / 1e6;
+	}
+}
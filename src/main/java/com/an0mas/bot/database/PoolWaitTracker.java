@@ -0,0 +1,65 @@
+package com.an0mas.bot.database;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+
+/**
+ * ⏳ PoolWaitTracker:
+ * Hikari のメトリクスフックでコネクション取得の待ち時間・保持時間・タイムアウトを累積する。
+ *
+ * MXBean は現在の使用数しか持たないため、待ち時間はこちらで数える（ロックなしの加算のみ）。
+ * 値は起動からの累積で、直近の平均は読む側がスナップショットの差分から求める。
+ */
+final class PoolWaitTracker implements MetricsTrackerFactory, IMetricsTracker {
+
+	private final LongAdder acquisitions = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+	private final LongAdder usageMillis = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	@Override
+	public IMetricsTracker create(String poolName, com.zaxxer.hikari.metrics.PoolStats poolStats) {
+		return this;
+	}
+
+	@Override
+	public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+		acquisitions.increment();
+		waitNanos.add(elapsedAcquiredNanos);
+		maxWaitNanos.accumulate(elapsedAcquiredNanos);
+	}
+
+	@Override
+	public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+		usageMillis.add(elapsedBorrowedMillis);
+	}
+
+	@Override
+	public void recordConnectionTimeout() {
+		timeouts.increment();
+	}
+
+	long acquisitions() {
+		return acquisitions.sum();
+	}
+
+	long waitNanos() {
+		return waitNanos.sum();
+	}
+
+	long maxWaitNanos() {
+		return maxWaitNanos.get();
+	}
+
+	long usageMillis() {
+		return usageMillis.sum();
+	}
+
+	long timeouts() {
+		return timeouts.sum();
+	}
+}
@@ -0,0 +1,39 @@
+package com.an0mas.bot.database;
+
+import java.util.function.Supplier;
+
+import com.an0mas.bot.metrics.DbQueryEvent;
+
+/**
+ * ⏱️ QueryProbe:
+ * DBヘルパーのクエリ1回分を計測し、JFR イベント（{@link DbQueryEvent}）と {@link SqlStats} の両方に記録する。
+ *
+ * 使い方: 入口で {@link #start()}、例外時は {@link #failed} を立て、finally で {@link #finish} を呼ぶ。
+ */
+final class QueryProbe {
+
+	private final DbQueryEvent event = DbQueryEvent.start();
+	private final long startNanos = System.nanoTime();
+
+	/** ❌ 例外で終わったか */
+	boolean failed;
+
+	private QueryProbe() {
+	}
+
+	static QueryProbe start() {
+		return new QueryProbe();
+	}
+
+	/**
+	 * ✅ 計測を終えて記録する
+	 *
+	 * @param plan 遅かった場合に実行計画を取得する処理（null なら取得しない）
+	 */
+	void finish(String database, String operation, String sql, long rows, Supplier<String> plan) {
+		long elapsed = System.nanoTime() - startNanos;
+		event.failed = failed;
+		event.finish(database, operation, sql, rows);
+		SqlStats.record(database, sql, elapsed, rows, failed, plan);
+	}
+}
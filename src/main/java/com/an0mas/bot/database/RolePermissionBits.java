@@ -0,0 +1,88 @@
+package com.an0mas.bot.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🎭 RolePermissionBits:
+ * 1サーバー分の「コマンド → 許可されたロール」を long のビット列にまとめたもの。
+ *
+ * - 許可を持つロールIDを昇順に並べ、その位置をビット番号にする（64ロールまでは long 1個）
+ * - コマンドは {@link CommandOrdinals} の番号で引く（名前のハッシュ表は使わない）
+ * - メンバーの判定はロールIDごとに二分探索してビットを AND するだけ（メンバーキャッシュ・REST は使わない）
+ * - 作成後は変更しない（PermissionState と同じ寿命で共有する）
+ */
+final class RolePermissionBits {
+
+	static final RolePermissionBits EMPTY = new RolePermissionBits(new long[0], new long[0][]);
+
+	/** 昇順のロールID（添字 = ビット番号） */
+	private final long[] roleIds;
+	/** コマンド番号 → 許可されたロールのビット列（許可が無ければ null） */
+	private final long[][] masksByCommand;
+
+	private RolePermissionBits(long[] roleIds, long[][] masksByCommand) {
+		this.roleIds = roleIds;
+		this.masksByCommand = masksByCommand;
+	}
+
+	/**
+	 * 🔧 ロールIDごとの許可コマンドのマスクからビット列を組み立てる
+	 */
+	static RolePermissionBits compile(Map<String, long[]> grantsByRole) {
+		if (grantsByRole.isEmpty()) {
+			return EMPTY;
+		}
+		long[] roleIds = grantsByRole.keySet().stream().mapToLong(Long::parseLong).sorted().toArray();
+		int words = (roleIds.length + 63) >>> 6;
+		long[][] masksByCommand = new long[CommandOrdinals.size()][];
+		grantsByRole.forEach((roleId, commands) -> {
+			int bit = Arrays.binarySearch(roleIds, Long.parseLong(roleId));
+			for (int word = 0; word < commands.length; word++) {
+				long bits = commands[word];
+				while (bits != 0) {
+					int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+					if (masksByCommand[ordinal] == null) {
+						masksByCommand[ordinal] = new long[words];
+					}
+					masksByCommand[ordinal][bit >>> 6] |= 1L << bit;
+					bits &= bits - 1;
+				}
+			}
+		});
+		return new RolePermissionBits(roleIds, masksByCommand);
+	}
+
+	/**
+	 * ✅ いずれかのロールにコマンドが許可されているか
+	 *
+	 * @param commandOrdinal コマンド番号（未知なら -1）
+	 * @param memberRoleIds メンバーのロールID（@everyone を含めるならサーバーID も）
+	 */
+	boolean allows(int commandOrdinal, long[] memberRoleIds) {
+		long[] mask = commandOrdinal >= 0 && commandOrdinal < masksByCommand.length ? masksByCommand[commandOrdinal] : null;
+		if (mask == null) {
+			return false;
+		}
+		for (long roleId : memberRoleIds) {
+			int bit = Arrays.binarySearch(roleIds, roleId);
+			if (bit >= 0 && (mask[bit >>> 6] & (1L << bit)) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** 📋 いずれかのロールに許可されているコマンド */
+	List<String> commands() {
+		List<String> commands = new ArrayList<>();
+		for (int ordinal = 0; ordinal < masksByCommand.length; ordinal++) {
+			if (masksByCommand[ordinal] != null) {
+				commands.add(CommandOrdinals.name(ordinal));
+			}
+		}
+		return commands;
+	}
+}
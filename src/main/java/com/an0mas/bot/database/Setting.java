@@ -0,0 +1,116 @@
+package com.an0mas.bot.database;
+
+import java.util.function.Function;
+
+/**
+ * 🎛️ Setting:
+ * 型付きの設定項目1つ分の定義（キー・型・既定値・検証）。
+ *
+ * - 値はDBに文字列で保存し、{@link #parse(String)} で型付きの値に変換する（不正な値は IllegalArgumentException）
+ * - guildOverridable の項目だけサーバーごとの上書きを持てる
+ * - index は {@link Settings} が振る連番で、スナップショットの配列の添字になる
+ *
+ * @param <T> 値の型（Boolean / Integer / String）
+ */
+public final class Setting<T> {
+
+	private final int index;
+	private final String key;
+	private final String type;
+	private final String description;
+	private final T defaultValue;
+	private final boolean guildOverridable;
+	private final Function<String, T> parser;
+
+	private Setting(int index, String key, String type, String description, T defaultValue, boolean guildOverridable,
+			Function<String, T> parser) {
+		this.index = index;
+		this.key = key;
+		this.type = type;
+		this.description = description;
+		this.defaultValue = defaultValue;
+		this.guildOverridable = guildOverridable;
+		this.parser = parser;
+	}
+
+	/** ✅ true / false の設定（on/off・yes/no も受け付ける） */
+	static Setting<Boolean> bool(int index, String key, String description, boolean defaultValue,
+			boolean guildOverridable) {
+		return new Setting<>(index, key, "bool", description, defaultValue, guildOverridable, raw -> switch (raw.strip().toLowerCase()) {
+		case "true", "on", "yes", "1" -> true;
+		case "false", "off", "no", "0" -> false;
+		default -> throw new IllegalArgumentException("true / false で指定してください");
+		});
+	}
+
+	/** 🔢 範囲付きの整数の設定 */
+	static Setting<Integer> integer(int index, String key, String description, int defaultValue, int min, int max,
+			boolean guildOverridable) {
+		return new Setting<>(index, key, "int", description, defaultValue, guildOverridable, raw -> {
+			int value;
+			try {
+				value = Integer.parseInt(raw.strip());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("整数で指定してください");
+			}
+			if (value < min || value > max) {
+				throw new IllegalArgumentException(min + "〜" + max + " の範囲で指定してください");
+			}
+			return value;
+		});
+	}
+
+	/** 📝 長さ制限付きの文字列の設定（前後の空白は除く） */
+	static Setting<String> text(int index, String key, String description, String defaultValue, int maxLength,
+			boolean guildOverridable) {
+		return new Setting<>(index, key, "text", description, defaultValue, guildOverridable, raw -> {
+			String value = raw.strip();
+			if (value.isEmpty() || value.length() > maxLength) {
+				throw new IllegalArgumentException("1〜" + maxLength + " 文字で指定してください");
+			}
+			return value;
+		});
+	}
+
+	/**
+	 * 🔎 文字列を型付きの値に変換する
+	 *
+	 * @throws IllegalArgumentException 型・範囲が不正なとき（メッセージはそのまま利用者に見せられる文言）
+	 */
+	public T parse(String raw) {
+		if (raw == null) {
+			throw new IllegalArgumentException("値を指定してください");
+		}
+		return parser.apply(raw);
+	}
+
+	/** 🧾 値を保存・表示用の文字列にする */
+	public String format(Object value) {
+		return String.valueOf(value);
+	}
+
+	int index() {
+		return index;
+	}
+
+	public String key() {
+		return key;
+	}
+
+	/** 🏷️ 型の表示名（bool / int / text） */
+	public String type() {
+		return type;
+	}
+
+	public String description() {
+		return description;
+	}
+
+	public T defaultValue() {
+		return defaultValue;
+	}
+
+	public boolean guildOverridable() {
+		return guildOverridable;
+	}
+}
@@ -0,0 +1,17 @@
+package com.an0mas.bot.database;
+
+/**
+ * 🧾 SettingChange:
+ * 設定の変更履歴1件（settings_changes の1行）。
+ *
+ * @param seq 連番（設定のバージョン）
+ * @param guildId サーバーの上書きならサーバーID、全体の設定なら null
+ * @param key 設定のキー
+ * @param oldValue 変更前の値（null なら未設定）
+ * @param newValue 変更後の値（null なら既定値に戻した）
+ * @param actorId 変更したユーザーのID（webui / system など）
+ * @param changedAt 変更日時（epoch millis）
+ */
+public record SettingChange(long seq, String guildId, String key, String oldValue, String newValue, String actorId,
+		long changedAt) {
+}
@@ -0,0 +1,66 @@
+package com.an0mas.bot.database;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🎛️ Settings:
+ * Botの設定項目の一覧（/config と Web の設定画面で編集できるもの）。
+ *
+ * 値は {@link DatabaseHelper#getSetting(Setting)} / {@link DatabaseHelper#getSetting(Setting, String)} で読む。
+ * 読み取りはメモリ上のスナップショットを見るだけなので、項目を増やしてもインタラクションごとのクエリは増えない。
+ * 新しい項目はここに定数を足し、ALL に追加するだけでよい（index は ALL の並び順と揃える）。
+ */
+public final class Settings {
+
+	/** 🛠️ メンテナンスモード（開発者以外のコマンドを止める） */
+	public static final Setting<Boolean> MAINTENANCE_MODE = Setting.bool(0, "maintenance_mode",
+			"メンテナンスモード（開発者以外のコマンドを止める）", false, false);
+
+	/** 💬 メンテナンス中にコマンドへ返すメッセージ */
+	public static final Setting<String> MAINTENANCE_MESSAGE = Setting.text(1, "maintenance_message",
+			"メンテナンス中にコマンドへ返すメッセージ", "⚠️ 現在メンテナンスモード中のため、このコマンドは実行できません。", 200, false);
+
+	/** 📨 /feedback を受け付けるか（サーバーごとに上書き可） */
+	public static final Setting<Boolean> FEEDBACK_ENABLED = Setting.bool(2, "feedback_enabled",
+			"/feedback を受け付けるか", true, true);
+
+	/** 📋 /feedbacklist の1ページの件数（詳細ボタンが1行に並ぶので最大5） */
+	public static final Setting<Integer> FEEDBACK_PAGE_SIZE = Setting.integer(3, "feedback_page_size",
+			"/feedbacklist の1ページの件数", 5, 1, 5, false);
+
+	private static final List<Setting<?>> ALL = List.of(MAINTENANCE_MODE, MAINTENANCE_MESSAGE, FEEDBACK_ENABLED,
+			FEEDBACK_PAGE_SIZE);
+
+	private static final Map<String, Setting<?>> BY_KEY = ALL.stream()
+			.collect(Collectors.toUnmodifiableMap(Setting::key, Function.identity()));
+
+	private Settings() {
+	}
+
+	/** 📋 全項目（定義順） */
+	public static List<Setting<?>> all() {
+		return ALL;
+	}
+
+	/** 🔎 キーから項目を引く（未知なら null） */
+	public static Setting<?> byKey(String key) {
+		return key != null ? BY_KEY.get(key.strip().toLowerCase()) : null;
+	}
+
+	/**
+	 * 📮 設定変更の結果
+	 */
+	public enum UpdateResult {
+		/** ✅ 変更した */
+		UPDATED,
+		/** ➖ 既に同じ値だった */
+		UNCHANGED,
+		/** 🔀 読み込んだ後に別の変更が入っていた（version が古い） */
+		CONFLICT,
+		/** ❌ DBエラー */
+		FAILED
+	}
+}
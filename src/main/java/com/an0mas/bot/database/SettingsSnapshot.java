@@ -0,0 +1,74 @@
+package com.an0mas.bot.database;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 📸 SettingsSnapshot:
+ * ある時点の設定（全体の値＋サーバーごとの上書き）の不変なコピー。
+ *
+ * - 値は {@link Setting#index()} を添字にした配列で持つ（未設定は null → 既定値）
+ * - DatabaseHelper が volatile フィールドで丸ごと差し替えるので、読む側はロックもクエリも使わない
+ * - version は設定の変更履歴（settings_changes）の最後の seq。Web の編集画面で競合の検出に使う
+ */
+public final class SettingsSnapshot {
+
+	static final SettingsSnapshot DEFAULTS = new SettingsSnapshot(0, new Object[Settings.all().size()], Map.of());
+
+	private final long version;
+	private final Object[] globalValues;
+	private final Map<String, Object[]> guildValues;
+
+	SettingsSnapshot(long version, Object[] globalValues, Map<String, Object[]> guildValues) {
+		this.version = version;
+		this.globalValues = globalValues;
+		this.guildValues = guildValues;
+	}
+
+	/** 🔢 設定のバージョン（変更のたびに進む） */
+	public long version() {
+		return version;
+	}
+
+	/** 🌐 全体の値（未設定なら既定値） */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Setting<T> setting) {
+		Object value = globalValues[setting.index()];
+		return value != null ? (T) value : setting.defaultValue();
+	}
+
+	/** 🏠 サーバーの値（上書きがあればそれ、無ければ全体の値） */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Setting<T> setting, String guildId) {
+		Object[] overrides = guildId != null ? guildValues.get(guildId) : null;
+		Object value = overrides != null ? overrides[setting.index()] : null;
+		return value != null ? (T) value : get(setting);
+	}
+
+	/** 🔎 全体の値が保存されているか（false なら既定値） */
+	public boolean isSet(Setting<?> setting) {
+		return globalValues[setting.index()] != null;
+	}
+
+	/** 🔎 サーバーの上書きの値（無ければ null） */
+	public Object override(Setting<?> setting, String guildId) {
+		Object[] overrides = guildValues.get(guildId);
+		return overrides != null ? overrides[setting.index()] : null;
+	}
+
+	/** 📋 サーバーごとの上書き（サーバーID → キー → 値） */
+	public Map<String, Map<String, Object>> overrides() {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		guildValues.forEach((guildId, values) -> {
+			Map<String, Object> byKey = new LinkedHashMap<>();
+			for (Setting<?> setting : Settings.all()) {
+				if (values[setting.index()] != null) {
+					byKey.put(setting.key(), values[setting.index()]);
+				}
+			}
+			result.put(guildId, byKey);
+		});
+		return Collections.unmodifiableMap(result);
+	}
+}
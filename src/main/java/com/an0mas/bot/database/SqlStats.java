@@ -0,0 +1,176 @@
+package com.an0mas.bot.database;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * 📊 SqlStats:
+ * DBヘルパーが実行した SQL を「正規化した SQL」ごとに集計するクラス。
+ *
+ * - 回数・合計時間・最大時間・行数・エラー数をロックなしで加算する
+ * - SLOW_QUERY_MS（既定 200ms、0 で無効）を超えたクエリは WARN で記録し、実行計画（EXPLAIN QUERY PLAN）を添える
+ * - 実行計画は文ごとに1回だけ取得して覚えておく（遅いクエリが続いても EXPLAIN を繰り返さない）
+ *
+ * 正規化では空白をまとめ、文字列・数値のリテラルを ? に、IN (?, ?, ...) を IN (?) に置き換える。
+ */
+public final class SqlStats {
+	private static final Logger logger = LoggerFactory.getLogger(SqlStats.class);
+
+	private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load(); // .env が無ければ環境変数のみ
+
+	/** 🐢 これより遅いクエリを記録する（ナノ秒、0 なら無効） */
+	private static final long SLOW_QUERY_NANOS = Long.parseLong(dotenv.get("SLOW_QUERY_MS", "200")) * 1_000_000L;
+
+	/** 🧮 集計する文の上限（動的に組み立てた SQL で増え続けないように） */
+	private static final int MAX_STATEMENTS = 500;
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+	private static final String OVERFLOW_SQL = "(その他)";
+
+	private static final Map<String, String> normalized = new ConcurrentHashMap<>();
+	private static final Map<String, Entry> statements = new ConcurrentHashMap<>();
+
+	private SqlStats() {
+	}
+
+	/**
+	 * ✍️ 1回分の実行を記録する
+	 *
+	 * @param database DB名（permissions / feedback）
+	 * @param sql 実行した SQL（プレースホルダーのまま）
+	 * @param elapsedNanos 実行時間
+	 * @param rows 影響を受けた行数、または読んだ行数
+	 * @param failed 例外で終わったか
+	 * @param plan 遅かった場合に実行計画を取得する処理（null なら取得しない）
+	 */
+	public static void record(String database, String sql, long elapsedNanos, long rows, boolean failed,
+			Supplier<String> plan) {
+		Entry entry = entryFor(database, sql);
+		entry.count.increment();
+		entry.totalNanos.add(elapsedNanos);
+		entry.maxNanos.accumulate(elapsedNanos);
+		entry.rows.add(rows);
+		if (failed) {
+			entry.errors.increment();
+		}
+
+		if (SLOW_QUERY_NANOS > 0 && elapsedNanos >= SLOW_QUERY_NANOS) {
+			if (entry.plan == null && plan != null) {
+				entry.plan = plan.get();
+			}
+			logger.warn("🐢 遅いクエリ（{}ms, {} 行, {}）: {}\n{}", elapsedNanos / 1_000_000, rows, database,
+					entry.sql, entry.plan != null ? entry.plan : "（実行計画なし）");
+		}
+	}
+
+	/**
+	 * 🏆 合計時間の長い順に上位の文を返す
+	 */
+	public static List<StatementStats> top(int limit) {
+		return statements.values().stream()
+				.map(Entry::snapshot)
+				.sorted(Comparator.comparingLong(StatementStats::totalNanos).reversed())
+				.limit(limit)
+				.toList();
+	}
+
+	/**
+	 * 🧹 集計をリセットする
+	 */
+	public static void reset() {
+		statements.clear();
+	}
+
+	/**
+	 * 🧽 SQL を集計キー用に正規化する
+	 */
+	static String normalize(String sql) {
+		String result = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+		result = STRING_LITERAL.matcher(result).replaceAll("?");
+		result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+		return IN_LIST.matcher(result).replaceAll("IN (?)");
+	}
+
+	private static Entry entryFor(String database, String sql) {
+		String key = normalized.get(sql);
+		if (key == null) {
+			key = normalize(sql);
+			if (normalized.size() < MAX_STATEMENTS * 4) {
+				normalized.put(sql, key);
+			}
+		}
+		String statement = key;
+		String entryKey = database + "\u0000" + statement;
+		Entry entry = statements.get(entryKey);
+		if (entry != null) {
+			return entry;
+		}
+		if (statements.size() >= MAX_STATEMENTS) {
+			return statements.computeIfAbsent(database + "\u0000" + OVERFLOW_SQL, k -> new Entry(database, OVERFLOW_SQL));
+		}
+		return statements.computeIfAbsent(entryKey, k -> new Entry(database, statement));
+	}
+
+	/**
+	 * 📋 文ごとの集計値（ダッシュボード表示用のスナップショット）
+	 *
+	 * @param database DB名
+	 * @param sql 正規化した SQL
+	 * @param count 実行回数
+	 * @param totalNanos 合計時間
+	 * @param maxNanos 最大時間
+	 * @param rows 行数の合計
+	 * @param errors エラー回数
+	 * @param plan 遅かったときに取得した実行計画（無ければ null）
+	 */
+	public record StatementStats(String database, String sql, long count, long totalNanos, long maxNanos, long rows,
+			long errors, String plan) {
+
+		public double totalMillis() {
+			return totalNanos / 1e6;
+		}
+
+		public double averageMillis() {
+			return count == 0 ? 0 : totalNanos / 1e6 / count;
+		}
+
+		public double maxMillis() {
+			return maxNanos / 1e6;
+		}
+	}
+
+	private static final class Entry {
+		final String database;
+		final String sql;
+		final LongAdder count = new LongAdder();
+		final LongAdder totalNanos = new LongAdder();
+		final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		final LongAdder rows = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		volatile String plan;
+
+		Entry(String database, String sql) {
+			this.database = database;
+			this.sql = sql;
+		}
+
+		StatementStats snapshot() {
+			return new StatementStats(database, sql, count.sum(), totalNanos.sum(), maxNanos.get(), rows.sum(),
+					errors.sum(), plan);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.an0mas.bot.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 🪶 SQLite ファイルの健全性（PRAGMA とファイルサイズのスナップショット）
+ *
+ * sqlite-jdbc は sqlite3_db_status（キャッシュのヒット・ミス数）を公開していないため、
+ * キャッシュの効き具合は「ページキャッシュに載るページ数 ÷ 総ページ数」（{@link #cacheCoverage()}）で見る。
+ *
+ * @param name DB名（permissions / feedback）
+ * @param pageCount 総ページ数
+ * @param pageSize 1ページのバイト数
+ * @param freelistCount 未使用ページ数（VACUUM で回収できる）
+ * @param cachePages 1コネクションのページキャッシュに載るページ数
+ * @param fileBytes DBファイルのサイズ
+ * @param walBytes WAL ファイルのサイズ（チェックポイント前の書き込み）
+ */
+public record SqliteStats(String name, long pageCount, long pageSize, long freelistCount, long cachePages,
+		long fileBytes, long walBytes) {
+
+	/**
+	 * 📏 PRAGMA を読んでスナップショットを作る（呼び出し側で JdbcGate に入っていること）
+	 */
+	static SqliteStats read(String name, Connection conn, Path dbPath) throws SQLException {
+		long pageCount = pragma(conn, "page_count");
+		long pageSize = pragma(conn, "page_size");
+		long freelistCount = pragma(conn, "freelist_count");
+		long cacheSize = pragma(conn, "cache_size");
+		// 負の cache_size は KiB 単位の指定
+		long cachePages = cacheSize >= 0 ? cacheSize : -cacheSize * 1024 / Math.max(1, pageSize);
+		return new SqliteStats(name, pageCount, pageSize, freelistCount, cachePages,
+				fileSize(dbPath), fileSize(Path.of(dbPath + "-wal")));
+	}
+
+	private static long pragma(Connection conn, String name) throws SQLException {
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+			return rs.next() ? rs.getLong(1) : 0;
+		}
+	}
+
+	private static long fileSize(Path path) {
+		try {
+			return Files.exists(path) ? Files.size(path) : 0;
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	/** 🎯 ページキャッシュに全ページが載る割合（1.0 なら読み取りはメモリで完結しうる） */
+	public double cacheCoverage() {
+		return pageCount == 0 ? 1.0 : Math.min(1.0, (double) cachePages / pageCount);
+	}
+
+	public double fileMegabytes() {
+		return fileBytes / 1048576.0;
+	}
+
+	public double walMegabytes() {
+		return walBytes / 1048576.0;
+	}
+}
@@ -0,0 +1,12 @@
+package com.an0mas.bot.database;
+
+/**
+ * 🏷️ データストアのバージョン（change_versions の1行）
+ *
+ * @param version 書き込みのたびに1ずつ増える値（一度も書き込まれていなければ 0）
+ * @param updatedAt 最後に書き込まれた時刻（epoch millis、未書き込みなら 0）
+ */
+public record StoreVersion(long version, long updatedAt) {
+
+	public static final StoreVersion INITIAL = new StoreVersion(0, 0);
+}
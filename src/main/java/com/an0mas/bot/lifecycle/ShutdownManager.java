@@ -0,0 +1,185 @@
+package com.an0mas.bot.lifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+
+import net.dv8tion.jda.api.JDA;
+
+/**
+ * 🛑 ShutdownManager:
+ * Bot のライフサイクル（受付停止 → 処理中インタラクションの排出 → フラッシュ → 切断）を管理するクラス。
+ *
+ * 停止の流れ：
+ * 1. 新しいインタラクションの受付を止める（{@link #tryBegin()} が false を返すようになる）
+ * 2. 実行中のコマンド／ボタン／モーダル処理（＝その中のDB書き込み）が終わるのを期限まで待つ
+ * 3. 登録されたフラッシュ処理（メトリクス・通知など）を実行
+ * 4. JDA を停止し、キュー済みの RestAction を期限まで送り切る
+ * 5. 両DBのコネクションプールを閉じる
+ */
+public class ShutdownManager {
+	private static final Logger logger = LoggerFactory.getLogger(ShutdownManager.class);
+
+	/** ⏱️ 停止処理全体の既定の期限（ミリ秒） */
+	private static final long DEFAULT_TIMEOUT_MS = 10_000;
+
+	/** 💬 停止処理中に届いたインタラクションへの返信文言 */
+	public static final String REJECT_MESSAGE = "⚠️ 現在Botを再起動中です。しばらくしてからお試しください。";
+
+	private static volatile boolean accepting = true;
+	private static final AtomicBoolean shutdownStarted = new AtomicBoolean(false);
+	private static final AtomicInteger inFlight = new AtomicInteger();
+	private static final Object drainLock = new Object();
+
+	private static final List<FlushTask> flushTasks = new ArrayList<>();
+
+	/**
+	 * ▶️ インタラクション処理の開始を宣言する
+	 *
+	 * @return 受付中なら true（必ず {@link #end()} と対にすること）／停止中なら false
+	 */
+	public static boolean tryBegin() {
+		if (!accepting) {
+			return false;
+		}
+		inFlight.incrementAndGet();
+		if (!accepting) {
+			// 受付停止と競合した場合は取り消す
+			end();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * ⏹️ インタラクション処理の終了を宣言する
+	 */
+	public static void end() {
+		if (inFlight.decrementAndGet() == 0 && !accepting) {
+			synchronized (drainLock) {
+				drainLock.notifyAll();
+			}
+		}
+	}
+
+	/** 🚦 新しいインタラクションを受け付けているか */
+	public static boolean isAccepting() {
+		return accepting;
+	}
+
+	/** 📊 処理中のインタラクション数 */
+	public static int getInFlightCount() {
+		return inFlight.get();
+	}
+
+	/**
+	 * 🧹 停止時に実行するフラッシュ処理を登録する（メトリクス送信・通知など）
+	 *
+	 * 処理中インタラクションの排出後、JDA 停止前に登録順で実行される。
+	 */
+	public static void registerFlushTask(String name, Runnable task) {
+		synchronized (flushTasks) {
+			flushTasks.add(new FlushTask(name, task));
+		}
+	}
+
+	/**
+	 * 🛑 Bot を停止する（何度呼ばれても実行は1回だけ）
+	 *
+	 * @param jda 停止対象の JDA（未起動なら null 可）
+	 */
+	public static void shutdown(JDA jda) {
+		if (!shutdownStarted.compareAndSet(false, true)) {
+			return;
+		}
+
+		long timeoutMs = getTimeoutMillis();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+		logger.info("🛑 Botを停止します...（期限: {}ms）", timeoutMs);
+
+		// 1️⃣ 受付停止
+		accepting = false;
+
+		// 2️⃣ 処理中のインタラクションを排出
+		if (!awaitInFlight(deadline)) {
+			logger.warn("⚠️ 期限内に完了しなかったインタラクションがあります: {} 件", inFlight.get());
+		}
+
+		// 3️⃣ フラッシュ処理
+		List<FlushTask> tasks;
+		synchronized (flushTasks) {
+			tasks = List.copyOf(flushTasks);
+		}
+		for (FlushTask task : tasks) {
+			try {
+				task.runnable().run();
+			} catch (Exception e) {
+				logger.error("❌ フラッシュ処理に失敗しました（{}）: {}", task.name(), e.getMessage(), e);
+			}
+		}
+
+		// 4️⃣ JDA 停止（キュー済み RestAction は期限まで送信を続ける）
+		if (jda != null) {
+			jda.shutdown();
+			try {
+				if (!jda.awaitShutdown(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())))) {
+					logger.warn("⚠️ 期限内にJDAが停止しなかったため強制終了します");
+					jda.shutdownNow();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				jda.shutdownNow();
+			}
+		}
+
+		// 5️⃣ コネクションプールを閉じる
+		DatabaseHelper.close();
+		FeedbackDatabaseHelper.close();
+
+		logger.info("✅ Botを停止しました");
+	}
+
+	private static boolean awaitInFlight(long deadline) {
+		synchronized (drainLock) {
+			while (inFlight.get() > 0) {
+				long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remainingMs <= 0) {
+					return false;
+				}
+				try {
+					drainLock.wait(remainingMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static long getTimeoutMillis() {
+		String value = ConfigLoader.get("SHUTDOWN_TIMEOUT_MS");
+		if (value == null || value.isBlank()) {
+			return DEFAULT_TIMEOUT_MS;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warn("⚠️ SHUTDOWN_TIMEOUT_MS が不正です（{}）。既定値を使用します", value);
+			return DEFAULT_TIMEOUT_MS;
+		}
+	}
+
+	private record FlushTask(String name, Runnable runnable) {
+	}
+}
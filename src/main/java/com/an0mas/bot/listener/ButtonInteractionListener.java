@@ -5,10 +5,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.an0mas.bot.database.DatabaseHelper;
 import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.Settings;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+import com.an0mas.bot.metrics.BotMetrics;
+import com.an0mas.bot.metrics.InteractionEvent;
 import com.an0mas.bot.model.FeedbackEntry;
 import com.an0mas.bot.util.EmbedUtil;
+import com.an0mas.bot.util.LogContext;
 
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
@@ -20,17 +28,30 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
  * ⏮️⏭️ フィードバック一覧のページ切り替えや詳細表示を処理するリスナー
  */
 public class ButtonInteractionListener extends ListenerAdapter {
-
-	private static final int PAGE_SIZE = 5;
+	private static final Logger logger = LoggerFactory.getLogger(ButtonInteractionListener.class);
 
 	@Override
 	public void onButtonInteraction(@NotNull ButtonInteractionEvent event) {
-		String buttonId = event.getComponentId();
-
-		if (buttonId.startsWith("feedback_page_")) {
-			handleFeedbackListPagination(event);
-		} else if (buttonId.startsWith("feedback_detail_")) {
-			handleFeedbackDetail(event);
+		// 🛑 停止処理中は新しい操作を受け付けない
+		if (!ShutdownManager.tryBegin()) {
+			event.reply(ShutdownManager.REJECT_MESSAGE).setEphemeral(true).queue();
+			return;
+		}
+		long start = System.nanoTime();
+		InteractionEvent jfrEvent = InteractionEvent.start();
+		try (LogContext logContext = LogContext.of(event)) {
+			String buttonId = event.getComponentId();
+
+			if (buttonId.startsWith("feedback_page_")) {
+				handleFeedbackListPagination(event);
+			} else if (buttonId.startsWith("feedback_detail_")) {
+				handleFeedbackDetail(event);
+			}
+		} finally {
+			BotMetrics.recordInteraction(System.nanoTime() - start);
+			jfrEvent.finish("button", event.getComponentId(),
+					event.getGuild() != null ? event.getGuild().getId() : null, event.getUser().getId());
+			ShutdownManager.end();
 		}
 	}
 
@@ -59,8 +80,12 @@ public class ButtonInteractionListener extends ListenerAdapter {
 				return;
 
 			List<FeedbackEntry> allFeedbacks = FeedbackDatabaseHelper.getAllFeedbacks();
-			int start = (newPage - 1) * PAGE_SIZE;
-			int end = Math.min(start + PAGE_SIZE, allFeedbacks.size());
+			// 📏 件数や1ページの件数（設定）が表示後に変わっていてもはみ出さないように数え直す
+			int pageSize = DatabaseHelper.getSetting(Settings.FEEDBACK_PAGE_SIZE);
+			totalPages = Math.max(1, (int) Math.ceil(allFeedbacks.size() / (double) pageSize));
+			newPage = Math.min(newPage, totalPages);
+			int start = (newPage - 1) * pageSize;
+			int end = Math.min(start + pageSize, allFeedbacks.size());
 			List<FeedbackEntry> pageItems = allFeedbacks.subList(start, end);
 
 			EmbedBuilder embed = new EmbedBuilder()
@@ -91,7 +116,7 @@ public class ButtonInteractionListener extends ListenerAdapter {
 					.queue();
 
 		} catch (Exception e) {
-			e.printStackTrace();
+			logger.error("❌ フィードバック一覧のページ切り替え中にエラーが発生しました: {}", e.getMessage(), e);
 		}
 	}
 
@@ -120,7 +145,7 @@ public class ButtonInteractionListener extends ListenerAdapter {
 			event.replyEmbeds(embed.build()).setEphemeral(true).queue();
 
 		} catch (Exception e) {
-			e.printStackTrace();
+			logger.error("❌ フィードバック詳細の表示中にエラーが発生しました: {}", e.getMessage(), e);
 			event.reply("⚠️ 詳細表示中にエラーが発生しました。").setEphemeral(true).queue();
 		}
 	}
@@ -9,6 +9,10 @@ import org.jetbrains.annotations.NotNull;
 
 import com.an0mas.bot.config.ConfigLoader;
 import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+import com.an0mas.bot.metrics.BotMetrics;
+import com.an0mas.bot.metrics.InteractionEvent;
+import com.an0mas.bot.util.LogContext;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
@@ -23,9 +27,23 @@ public class ModalInteractionListener extends ListenerAdapter {
 
 	@Override
 	public void onModalInteraction(@NotNull ModalInteractionEvent event) {
-		// 🎯 モーダルIDで処理を分岐（今回はフィードバック専用モーダル）
-		if ("feedback_modal".equals(event.getModalId())) {
-			handleFeedbackModal(event);
+		// 🛑 停止処理中は新しい送信を受け付けない
+		if (!ShutdownManager.tryBegin()) {
+			event.reply(ShutdownManager.REJECT_MESSAGE).setEphemeral(true).queue();
+			return;
+		}
+		long start = System.nanoTime();
+		InteractionEvent jfrEvent = InteractionEvent.start();
+		try (LogContext logContext = LogContext.of(event)) {
+			// 🎯 モーダルIDで処理を分岐（今回はフィードバック専用モーダル）
+			if ("feedback_modal".equals(event.getModalId())) {
+				handleFeedbackModal(event);
+			}
+		} finally {
+			BotMetrics.recordInteraction(System.nanoTime() - start);
+			jfrEvent.finish("modal", event.getModalId(),
+					event.getGuild() != null ? event.getGuild().getId() : null, event.getUser().getId());
+			ShutdownManager.end();
 		}
 	}
 
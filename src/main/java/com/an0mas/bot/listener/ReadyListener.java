@@ -1,13 +1,17 @@
 package com.an0mas.bot.listener;
 
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 
 public class ReadyListener extends ListenerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(ReadyListener.class);
+
     @Override
     public void onReady(@NotNull ReadyEvent event) {
-        System.out.println("✅ Botが起動しました！ようこそ、" + event.getJDA().getSelfUser().getName());
+        logger.info("✅ Botが起動しました！ようこそ、{}", event.getJDA().getSelfUser().getName());
     }
 }
@@ -8,6 +8,12 @@ import com.an0mas.bot.command.BaseCommand;
 import com.an0mas.bot.command.CommandRegistry;
 import com.an0mas.bot.config.ConfigLoader;
 import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.Settings;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+import com.an0mas.bot.metrics.BotMetrics;
+import com.an0mas.bot.metrics.InteractionEvent;
+import com.an0mas.bot.util.AccessControlUtil;
+import com.an0mas.bot.util.LogContext;
 
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
@@ -18,7 +24,24 @@ public class SlashCommandListener extends ListenerAdapter {
 
     @Override
     public void onSlashCommandInteraction(@NotNull SlashCommandInteractionEvent event) {
-        
+        // 🛑 停止処理中は新しいコマンドを受け付けない
+        if (!ShutdownManager.tryBegin()) {
+            event.reply(ShutdownManager.REJECT_MESSAGE).setEphemeral(true).queue();
+            return;
+        }
+        long start = System.nanoTime();
+        InteractionEvent jfrEvent = InteractionEvent.start();
+        try (LogContext logContext = LogContext.of(event)) {
+            handle(event);
+        } finally {
+            BotMetrics.recordInteraction(System.nanoTime() - start);
+            jfrEvent.finish("slash", event.getFullCommandName(),
+                    event.getGuild() != null ? event.getGuild().getId() : null, event.getUser().getId());
+            ShutdownManager.end();
+        }
+    }
+
+    private void handle(SlashCommandInteractionEvent event) {
         String commandName = event.getName();
         String guildId = event.getGuild() != null ? event.getGuild().getId() : null;
         String userId = event.getUser().getId();
@@ -29,7 +52,7 @@ public class SlashCommandListener extends ListenerAdapter {
             String ownerId = ConfigLoader.get("BOT_OWNER_ID");
             if (!userId.equals(ownerId)) {
             logger.warn("⛔ メンテナンスモード中のため、ユーザー {} はコマンドを実行できません: {}", userId, commandName);
-            event.reply("⚠️ 現在メンテナンスモード中のため、このコマンドは実行できません。").setEphemeral(true).queue();
+            event.reply(DatabaseHelper.getSetting(Settings.MAINTENANCE_MESSAGE)).setEphemeral(true).queue();
             return;
             }
         }
@@ -43,8 +66,10 @@ public class SlashCommandListener extends ListenerAdapter {
         if (command.isRestricted()) {
             boolean guildAllowed = guildId != null && DatabaseHelper.isGuildCommandAllowed(guildId, commandName);
             boolean userAllowed = DatabaseHelper.isUserCommandAllowed(userId, commandName);
+            boolean roleAllowed = !guildAllowed && !userAllowed
+                    && AccessControlUtil.isAllowedByRoles(event.getMember(), commandName);
 
-            if (!guildAllowed && !userAllowed) {
+            if (!guildAllowed && !userAllowed && !roleAllowed) {
                 event.reply("⚠️ このコマンドは使用できません。").setEphemeral(true).queue();
                 return;
             }
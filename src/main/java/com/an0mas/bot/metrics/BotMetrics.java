@@ -0,0 +1,194 @@
+package com.an0mas.bot.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.an0mas.bot.BotLauncher;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.lifecycle.ShutdownManager;
+
+import net.dv8tion.jda.api.JDA;
+
+/**
+ * 📈 BotMetrics:
+ * インタラクションの処理時間などをプロセス内で集計し、1秒ごとのスナップショットをリングバッファに保持するクラス。
+ *
+ * - 記録側（リスナー）はロックなしで件数を足し、配列に書き込むだけ
+ * - 件数はバケットと別のカウンタを getAndSet(0) で読み出すので、切り替えの瞬間に記録されたものも失われない
+ * - 1秒ごとに専用スレッドが集計してリングバッファへ追加し、購読者（SSEなど）へ1回だけ通知する
+ * - DBへのアクセスはフィードバック件数（キャッシュ済み）のみで、購読者の数には依存しない
+ */
+public class BotMetrics {
+	private static final Logger logger = LoggerFactory.getLogger(BotMetrics.class);
+
+	/** 🧮 リングバッファに保持する秒数（5分） */
+	public static final int HISTORY_SECONDS = 300;
+
+	/** 🎯 1秒あたりにパーセンタイル計算用として保持する処理時間の上限 */
+	private static final int MAX_SAMPLES_PER_SECOND = 4096;
+
+	private static final MetricsSnapshot[] ring = new MetricsSnapshot[HISTORY_SECONDS];
+	private static int ringHead; // 次に書き込む位置
+	private static int ringSize;
+
+	private static final AtomicLong interactions = new AtomicLong();
+	private static volatile Bucket current = new Bucket();
+	private static final List<Consumer<MetricsSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+
+	private static int lastFeedbackCount = -1;
+
+	private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "bot-metrics-sampler");
+		t.setDaemon(true);
+		return t;
+	});
+
+	static {
+		sampler.scheduleAtFixedRate(BotMetrics::sample, 1, 1, TimeUnit.SECONDS);
+		ShutdownManager.registerFlushTask("metrics", BotMetrics::flush);
+	}
+
+	/**
+	 * ⏱️ インタラクション1件の処理時間を記録する
+	 *
+	 * @param elapsedNanos 処理時間（ナノ秒）
+	 */
+	public static void recordInteraction(long elapsedNanos) {
+		interactions.incrementAndGet();
+		current.record(elapsedNanos);
+	}
+
+	/**
+	 * 👂 1秒ごとのスナップショットを購読する（集計スレッド上で呼ばれるので軽い処理にすること）
+	 */
+	public static void subscribe(Consumer<MetricsSnapshot> subscriber) {
+		subscribers.add(subscriber);
+	}
+
+	public static void unsubscribe(Consumer<MetricsSnapshot> subscriber) {
+		subscribers.remove(subscriber);
+	}
+
+	/**
+	 * 📜 直近 seconds 秒分のスナップショットを古い順で取得する
+	 */
+	public static synchronized List<MetricsSnapshot> getHistory(int seconds) {
+		int count = Math.min(seconds, ringSize);
+		List<MetricsSnapshot> history = new ArrayList<>(count);
+		for (int i = count; i > 0; i--) {
+			history.add(ring[Math.floorMod(ringHead - i, HISTORY_SECONDS)]);
+		}
+		return history;
+	}
+
+	/**
+	 * 📸 最新のスナップショット（まだ無ければ null）
+	 */
+	public static synchronized MetricsSnapshot getLatest() {
+		return ringSize == 0 ? null : ring[Math.floorMod(ringHead - 1, HISTORY_SECONDS)];
+	}
+
+	private static void sample() {
+		try {
+			MetricsSnapshot snapshot = collect();
+			synchronized (BotMetrics.class) {
+				ring[ringHead] = snapshot;
+				ringHead = (ringHead + 1) % HISTORY_SECONDS;
+				ringSize = Math.min(ringSize + 1, HISTORY_SECONDS);
+			}
+			for (Consumer<MetricsSnapshot> subscriber : subscribers) {
+				try {
+					subscriber.accept(snapshot);
+				} catch (Exception e) {
+					logger.warn("⚠️ メトリクス購読者の処理に失敗しました: {}", e.getMessage());
+				}
+			}
+		} catch (Exception e) {
+			logger.error("❌ メトリクスの集計に失敗しました: {}", e.getMessage(), e);
+		}
+	}
+
+	private static MetricsSnapshot collect() {
+		Bucket bucket = current;
+		current = new Bucket();
+		// 🔢 件数は切り替えと無関係に数える（古いバケットへの書き込みが遅れても次の1秒に入る）
+		long count = interactions.getAndSet(0);
+
+		long[] samples = bucket.drainSamples();
+		Arrays.sort(samples);
+
+		JDA jda = BotLauncher.getJda();
+		long gatewayPing = jda != null ? jda.getGatewayPing() : -1;
+
+		// 📨 件数はキャッシュ済み（変更通知があった時だけDBを読む）
+		int feedbackCount = FeedbackDatabaseHelper.getFeedbackCount();
+		int arrivals = lastFeedbackCount < 0 ? 0 : Math.max(0, feedbackCount - lastFeedbackCount);
+		lastFeedbackCount = feedbackCount;
+
+		return new MetricsSnapshot(
+				System.currentTimeMillis(),
+				(int) count,
+				percentileMillis(samples, 0.50),
+				percentileMillis(samples, 0.95),
+				percentileMillis(samples, 0.99),
+				ShutdownManager.getInFlightCount(),
+				gatewayPing,
+				arrivals,
+				List.of(DatabaseHelper.getPoolStats(), FeedbackDatabaseHelper.getPoolStats()));
+	}
+
+	private static double percentileMillis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1_000_000.0;
+	}
+
+	/**
+	 * 🧹 停止時の最終集計（直近1分の概要をログに残して集計スレッドを止める）
+	 */
+	private static void flush() {
+		sample();
+		sampler.shutdown();
+
+		int total = getHistory(60).stream().mapToInt(MetricsSnapshot::interactions).sum();
+		logger.info("📈 停止前の直近1分間のインタラクション数: {} 件", total);
+	}
+
+	/**
+	 * 🪣 1秒分の処理時間のサンプル（パーセンタイル用。件数は {@link BotMetrics#interactions} で数える）
+	 */
+	private static class Bucket {
+		private final AtomicInteger count = new AtomicInteger();
+		private final long[] samples = new long[MAX_SAMPLES_PER_SECOND];
+
+		void record(long elapsedNanos) {
+			int index = count.getAndIncrement();
+			if (index < MAX_SAMPLES_PER_SECOND) {
+				samples[index] = Math.max(1, elapsedNanos);
+			}
+		}
+
+		/**
+		 * 切り替え直後は番号を取っただけでまだ書き込まれていない枠（0）があり得るので除く
+		 */
+		long[] drainSamples() {
+			return Arrays.stream(samples, 0, Math.min(count.get(), MAX_SAMPLES_PER_SECOND))
+					.filter(sample -> sample != 0)
+					.toArray();
+		}
+	}
+}
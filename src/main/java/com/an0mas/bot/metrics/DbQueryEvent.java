@@ -0,0 +1,62 @@
+package com.an0mas.bot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 🗄️ DBヘルパーのクエリ1回分を表す JFR イベント
+ *
+ * 記録中でなければ begin / commit はほぼ何もしない（JIT で消える）ため、常に埋め込んでおける。
+ * SQL はプレースホルダーのまま記録し、パラメーター（ユーザーIDなど）は載せない。
+ */
+@Name("com.an0mas.bot.DbQuery")
+@Label("DB Query")
+@Category({ "An0MasBot", "Database" })
+@Description("DatabaseHelper / FeedbackDatabaseHelper のクエリ実行")
+@StackTrace(false)
+public class DbQueryEvent extends Event {
+
+	@Label("Database")
+	public String database;
+
+	@Label("Operation")
+	@Description("update / write / batch / single / list / stream")
+	public String operation;
+
+	@Label("SQL")
+	public String sql;
+
+	@Label("Rows")
+	@Description("影響を受けた行数、または読んだ行数")
+	public long rows;
+
+	@Label("Failed")
+	public boolean failed;
+
+	/**
+	 * ⏱️ 計測を開始したイベントを返す
+	 */
+	public static DbQueryEvent start() {
+		DbQueryEvent event = new DbQueryEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * ✅ 結果を詰めて記録する（記録中でなければ何もしない）
+	 */
+	public void finish(String database, String operation, String sql, long rows) {
+		end();
+		if (shouldCommit()) {
+			this.database = database;
+			this.operation = operation;
+			this.sql = sql;
+			this.rows = rows;
+			commit();
+		}
+	}
+}
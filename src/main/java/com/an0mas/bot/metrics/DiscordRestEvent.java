@@ -0,0 +1,69 @@
+package com.an0mas.bot.metrics;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * 🌐 JDA が Discord に送った REST リクエスト1回分を表す JFR イベント
+ *
+ * JDA の OkHttp に {@link #INTERCEPTOR} を挟んで記録する。429 も1回ずつ記録されるため、
+ * レート制限による待ちがどのインタラクションに重なったかを突き合わせられる。
+ * パスの ID とインタラクションのトークンは伏せる。
+ */
+@Name("com.an0mas.bot.DiscordRest")
+@Label("Discord REST Request")
+@Category({ "An0MasBot", "Discord" })
+@Description("JDA から Discord への HTTP リクエスト")
+@StackTrace(false)
+public class DiscordRestEvent extends Event {
+
+	private static final Pattern SNOWFLAKE = Pattern.compile("/\\d{15,}");
+	private static final Pattern INTERACTION_TOKEN = Pattern.compile("(/interactions/\\{id\\}|/webhooks/\\{id\\})/[^/]+");
+
+	/** 🔌 JDA の OkHttpClient に追加するインターセプター */
+	public static final Interceptor INTERCEPTOR = DiscordRestEvent::intercept;
+
+	@Label("Method")
+	public String method;
+
+	@Label("Route")
+	public String route;
+
+	@Label("Status")
+	public int status;
+
+	private static Response intercept(Interceptor.Chain chain) throws IOException {
+		DiscordRestEvent event = new DiscordRestEvent();
+		event.begin();
+		Request request = chain.request();
+		int status = 0;
+		try {
+			Response response = chain.proceed(request);
+			status = response.code();
+			return response;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.method = request.method();
+				event.route = route(request.url().encodedPath());
+				event.status = status;
+				event.commit();
+			}
+		}
+	}
+
+	private static String route(String path) {
+		String masked = SNOWFLAKE.matcher(path).replaceAll("/{id}");
+		return INTERACTION_TOKEN.matcher(masked).replaceAll("$1/{token}");
+	}
+}
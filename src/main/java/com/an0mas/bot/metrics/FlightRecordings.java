@@ -0,0 +1,91 @@
+package com.an0mas.bot.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * 🎥 FlightRecordings:
+ * 本番プロセスで時間を区切った JFR 記録を取るためのヘルパー。
+ *
+ * - JDK 同梱の "default" 設定（常時有効にしても負荷 1% 程度）に、Bot 独自のイベント（{@link InteractionEvent}・{@link DbQueryEvent}・{@link DiscordRestEvent}）を加えて記録する
+ * - 同時に取れる記録は1つだけ（重ねて依頼された場合は失敗を返す）
+ * - 記録は一時ファイルに書き出し、その Path を返す（削除は呼び出し側の責任）
+ */
+public final class FlightRecordings {
+	private static final Logger logger = LoggerFactory.getLogger(FlightRecordings.class);
+
+	/** ⏳ 1回の記録の上限 */
+	public static final Duration MAX_DURATION = Duration.ofMinutes(5);
+
+	private static final AtomicBoolean recording = new AtomicBoolean();
+
+	private FlightRecordings() {
+	}
+
+	/**
+	 * 🔴 指定時間だけ記録し、終わったら .jfr ファイルの Path で完了する
+	 *
+	 * @param duration 記録時間（{@link #MAX_DURATION} まで）
+	 */
+	public static CompletableFuture<Path> record(Duration duration) {
+		if (duration.isNegative() || duration.isZero() || duration.compareTo(MAX_DURATION) > 0) {
+			return CompletableFuture.failedFuture(
+					new IllegalArgumentException("記録時間は 1 秒〜" + MAX_DURATION.toSeconds() + " 秒で指定してください"));
+		}
+		if (!recording.compareAndSet(false, true)) {
+			return CompletableFuture.failedFuture(new IllegalStateException("既に記録中です"));
+		}
+
+		Recording jfr;
+		try {
+			jfr = new Recording(Configuration.getConfiguration("default"));
+			jfr.setName("an0mas-" + System.currentTimeMillis());
+			jfr.enable(InteractionEvent.class).withThreshold(Duration.ZERO);
+			jfr.enable(DbQueryEvent.class).withThreshold(Duration.ZERO);
+			jfr.enable(DiscordRestEvent.class).withThreshold(Duration.ZERO);
+			jfr.setToDisk(true);
+			jfr.start();
+		} catch (IOException | ParseException | RuntimeException e) {
+			recording.set(false);
+			logger.error("❌ JFR の記録を開始できませんでした: {}", e.getMessage(), e);
+			return CompletableFuture.failedFuture(e);
+		}
+		logger.info("🎥 JFR の記録を開始しました（{} 秒）", duration.toSeconds());
+
+		CompletableFuture<Path> result = new CompletableFuture<>();
+		CompletableFuture.delayedExecutor(duration.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+			try (jfr) {
+				jfr.stop();
+				Path file = Files.createTempFile("an0mas-", ".jfr");
+				jfr.dump(file);
+				logger.info("🎞️ JFR の記録を書き出しました: {}（{} バイト）", file, Files.size(file));
+				result.complete(file);
+			} catch (IOException | RuntimeException e) {
+				logger.error("❌ JFR の記録を書き出せませんでした: {}", e.getMessage(), e);
+				result.completeExceptionally(e);
+			} finally {
+				recording.set(false);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * 🔎 記録中かどうか
+	 */
+	public static boolean isRecording() {
+		return recording.get();
+	}
+}
@@ -0,0 +1,58 @@
+package com.an0mas.bot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 🎯 スラッシュコマンド・ボタン・モーダルの処理1回分を表す JFR イベント
+ *
+ * 同じスレッドで発生した {@link DbQueryEvent} と時間帯で突き合わせれば、遅いインタラクションの内訳が分かる。
+ */
+@Name("com.an0mas.bot.Interaction")
+@Label("Interaction")
+@Category({ "An0MasBot", "Interaction" })
+@Description("SlashCommandListener / ButtonInteractionListener / ModalInteractionListener の処理")
+@StackTrace(false)
+public class InteractionEvent extends Event {
+
+	@Label("Type")
+	@Description("slash / button / modal")
+	public String type;
+
+	@Label("Name")
+	@Description("コマンド名、ボタンのコンポーネントID、またはモーダルID")
+	public String name;
+
+	@Label("Guild ID")
+	public String guildId;
+
+	@Label("User ID")
+	public String userId;
+
+	/**
+	 * ⏱️ 計測を開始したイベントを返す
+	 */
+	public static InteractionEvent start() {
+		InteractionEvent event = new InteractionEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * ✅ 結果を詰めて記録する（記録中でなければ何もしない）
+	 */
+	public void finish(String type, String name, String guildId, String userId) {
+		end();
+		if (shouldCommit()) {
+			this.type = type;
+			this.name = name;
+			this.guildId = guildId;
+			this.userId = userId;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.an0mas.bot.metrics;
+
+import java.util.List;
+
+import com.an0mas.bot.database.PoolStats;
+
+/**
+ * 📸 1秒ごとに採取されるBotの統計値
+ *
+ * @param timestamp 採取時刻（epoch millis）
+ * @param interactions この1秒間に処理したインタラクション数
+ * @param p50Ms 処理時間の中央値（ミリ秒）
+ * @param p95Ms 処理時間の95パーセンタイル（ミリ秒）
+ * @param p99Ms 処理時間の99パーセンタイル（ミリ秒）
+ * @param inFlight 採取時点で処理中のインタラクション数
+ * @param gatewayPingMs Gateway の ping（Bot未起動のプロセスでは -1）
+ * @param feedbackArrivals この1秒間に届いたフィードバック数
+ * @param pools DBコネクションプールの使用状況
+ */
+public record MetricsSnapshot(
+		long timestamp,
+		int interactions,
+		double p50Ms,
+		double p95Ms,
+		double p99Ms,
+		int inFlight,
+		long gatewayPingMs,
+		int feedbackArrivals,
+		List<PoolStats> pools) {
+}
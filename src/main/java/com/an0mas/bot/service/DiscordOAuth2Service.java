@@ -0,0 +1,122 @@
+package com.an0mas.bot.service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.json.JSONObject;
+import org.springframework.stereotype.Service;
+
+import com.an0mas.bot.config.ConfigLoader;
+import com.an0mas.bot.model.DiscordUser;
+
+/**
+ * 🔑 DiscordOAuth2Service:
+ * Discord OAuth2（認可コード → アクセストークン → ユーザー情報）を非同期で処理するサービス。
+ *
+ * - 共有の {@link HttpClient} を使い、コネクションを再利用（keep-alive）する
+ * - 接続・応答それぞれにタイムアウトを設定
+ * - 2回の往復は CompletableFuture で連結し、サーブレットスレッドを待たせない
+ * - API のベースURLは {@code DISCORD_API_BASE} で差し替え可能（ローカルのスタブサーバーで検証できる）
+ */
+@Service
+public class DiscordOAuth2Service {
+
+	private static final String DEFAULT_API_BASE = "https://discord.com/api";
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(CONNECT_TIMEOUT)
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.build();
+
+	private final String apiBase;
+
+	public DiscordOAuth2Service() {
+		String configured = ConfigLoader.get("DISCORD_API_BASE");
+		this.apiBase = (configured == null || configured.isBlank()) ? DEFAULT_API_BASE : configured;
+	}
+
+	/**
+	 * 🔗 Discord の認可画面URL
+	 */
+	public String buildAuthorizeUrl() {
+		return apiBase + "/oauth2/authorize"
+				+ "?client_id=" + ConfigLoader.get("DISCORD_CLIENT_ID")
+				+ "&redirect_uri=" + encode(ConfigLoader.get("DISCORD_REDIRECT_URI"))
+				+ "&response_type=code"
+				+ "&scope=identify";
+	}
+
+	/**
+	 * 🔑 認可コードからユーザー情報を取得する（トークン交換 → ユーザー情報取得）
+	 */
+	public CompletableFuture<DiscordUser> login(String code) {
+		return exchangeCodeForToken(code).thenCompose(this::fetchUserInfo);
+	}
+
+	/**
+	 * 🔑 認可コードをアクセストークンに交換する
+	 */
+	public CompletableFuture<String> exchangeCodeForToken(String code) {
+		String data = "client_id=" + encode(ConfigLoader.get("DISCORD_CLIENT_ID"))
+				+ "&client_secret=" + encode(ConfigLoader.get("DISCORD_CLIENT_SECRET"))
+				+ "&grant_type=authorization_code"
+				+ "&code=" + encode(code)
+				+ "&redirect_uri=" + encode(ConfigLoader.get("DISCORD_REDIRECT_URI"));
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create(apiBase + "/oauth2/token"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(data))
+				.build();
+
+		return send(request).thenApply(json -> json.getString("access_token"));
+	}
+
+	/**
+	 * 🧑‍💼 アクセストークンからユーザー情報を取得する
+	 *
+	 * ログインのたびにトークンが変わるため、結果はキャッシュしない
+	 */
+	public CompletableFuture<DiscordUser> fetchUserInfo(String accessToken) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(apiBase + "/users/@me"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Authorization", "Bearer " + accessToken)
+				.GET()
+				.build();
+
+		return send(request).thenApply(json -> {
+			String username = json.getString("username") + "#" + json.optString("discriminator", "0");
+			String id = json.getString("id");
+			String avatar = json.optString("avatar", null);
+
+			String avatarUrl = avatar != null
+					? "https://cdn.discordapp.com/avatars/" + id + "/" + avatar + ".png"
+					: "https://cdn.discordapp.com/embed/avatars/0.png";
+			return new DiscordUser(username, avatarUrl);
+		});
+	}
+
+	private CompletableFuture<JSONObject> send(HttpRequest request) {
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+				.thenApply(response -> {
+					if (response.statusCode() / 100 != 2) {
+						throw new CompletionException(new IllegalStateException(
+								"Discord API エラー: " + request.uri().getPath() + " → HTTP " + response.statusCode()));
+					}
+					return new JSONObject(response.body());
+				});
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -1,13 +1,38 @@
 package com.an0mas.bot.util;
 
+import java.util.List;
+
 import com.an0mas.bot.database.DatabaseHelper;
 
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+
 /**
  * ⛔ AccessControlUtil:
- * ブラックリストによるユーザーの利用制限をチェックするユーティリティクラス。
+ * ブラックリストによるユーザーの利用制限と、ロールによるコマンド許可をチェックするユーティリティクラス。
  */
 public class AccessControlUtil {
 
+    /**
+     * 🎭 メンバーのロール（@everyone を含む）のどれかにコマンドが許可されているか
+     *
+     * ロールはインタラクションに含まれるメンバー情報をそのまま使う（メンバーキャッシュ・REST は使わない）。
+     *
+     * @param member インタラクションのメンバー（DM なら null → false）
+     */
+    public static boolean isAllowedByRoles(Member member, String commandName) {
+        if (member == null) {
+            return false;
+        }
+        List<Role> roles = member.getRoles();
+        long[] roleIds = new long[roles.size() + 1];
+        for (int i = 0; i < roles.size(); i++) {
+            roleIds[i] = roles.get(i).getIdLong();
+        }
+        roleIds[roles.size()] = member.getGuild().getIdLong(); // @everyone のロールIDはサーバーIDと同じ
+        return DatabaseHelper.isRoleCommandAllowed(member.getGuild().getId(), roleIds, commandName);
+    }
+
     /**
      * ⛔ 指定されたユーザーがブロックされているかをチェック
      * 
@@ -20,15 +45,28 @@ public class AccessControlUtil {
 
     /**
      * ⛔ 指定されたユーザーをブロックリストに追加
+     *
+     * @param actorId 操作したユーザーのID（権限イベントログに残る）
+     */
+    public static void blockUser(String userId, String actorId) {
+        DatabaseHelper.addUserToBlacklist(userId, actorId);
+    }
+
+    /**
+     * ⏳ 指定されたユーザーを期限付きでブロック（期限が来ると自動で解除される）
+     *
+     * @param expiresAt 期限（epoch millis、0 なら無期限）
      */
-    public static void blockUser(String userId) {
-        DatabaseHelper.addUserToBlacklist(userId);
+    public static void blockUser(String userId, String actorId, long expiresAt) {
+        DatabaseHelper.addUserToBlacklist(userId, actorId, expiresAt);
     }
 
     /**
      * ⛔ 指定されたユーザーをブロックリストから解除
+     *
+     * @param actorId 操作したユーザーのID（権限イベントログに残る）
      */
-    public static void unblockUser(String userId) {
-        DatabaseHelper.removeUserFromBlacklist(userId);
+    public static void unblockUser(String userId, String actorId) {
+        DatabaseHelper.removeUserFromBlacklist(userId, actorId);
     }
 }
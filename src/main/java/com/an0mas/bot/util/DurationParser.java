@@ -0,0 +1,56 @@
+package com.an0mas.bot.util;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ⏱️ DurationParser:
+ * 「30m」「12h」「7d」「1d12h」のような期間の指定を Duration に変換する。
+ *
+ * 単位は s（秒）/ m（分）/ h（時間）/ d（日）/ w（週）。大文字・空白は許容する。
+ * 長すぎる期間（{@link #MAX} 超え）は読めないものとして扱う（それ以上は無期限を使う）。
+ */
+public final class DurationParser {
+
+	private static final Pattern WHOLE = Pattern.compile("(\\d+[smhdw])+");
+	private static final Pattern PART = Pattern.compile("(\\d+)([smhdw])");
+
+	/** 📏 指定できる最長の期間 */
+	public static final Duration MAX = Duration.ofDays(365);
+
+	private DurationParser() {
+	}
+
+	/**
+	 * 🔍 期間を読む
+	 *
+	 * @return 正の期間（読めない・0・{@link #MAX} 超えなら null）
+	 */
+	public static Duration parse(String text) {
+		if (text == null) {
+			return null;
+		}
+		String normalized = text.replaceAll("\\s+", "").toLowerCase();
+		if (!WHOLE.matcher(normalized).matches()) {
+			return null;
+		}
+		try {
+			Duration total = Duration.ZERO;
+			Matcher m = PART.matcher(normalized);
+			while (m.find()) {
+				long amount = Long.parseLong(m.group(1));
+				total = total.plus(switch (m.group(2)) {
+				case "s" -> Duration.ofSeconds(amount);
+				case "m" -> Duration.ofMinutes(amount);
+				case "h" -> Duration.ofHours(amount);
+				case "d" -> Duration.ofDays(amount);
+				default -> Duration.ofDays(Math.multiplyExact(amount, 7));
+				});
+			}
+			return total.isZero() || total.compareTo(MAX) > 0 ? null : total;
+		} catch (ArithmeticException | NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,271 @@
+package com.an0mas.bot.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+/**
+ * 🔎 EntityResolver:
+ * ユーザー・メンバーをIDから引くための共通の窓口（名前の表示用。JDA のメンバーキャッシュ全体には頼らない）。
+ *
+ * - まず JDA のキャッシュ、次に件数上限＋有効期限付きの {@link TtlCache} を見る（存在しないIDも「無い」として覚える）
+ * - 同じユーザーIDへの同時の {@code retrieveUserById} は1回の REST にまとめ、全員に同じ結果を返す
+ * - メンバーはサーバーごとに少しだけ待って集め、{@code retrieveMembersByIds}（1回100人まで）でまとめて取得する
+ * - 結果の future は JDA のスレッドで完了する（重い処理や complete() は呼ばないこと）
+ */
+public class EntityResolver {
+	private static final Logger logger = LoggerFactory.getLogger(EntityResolver.class);
+
+	/** 📏 キャッシュの件数上限と有効期限 */
+	private static final int CACHE_SIZE = 10_000;
+	private static final long CACHE_TTL_MILLIS = Duration.ofMinutes(10).toMillis();
+
+	/** 📦 メンバーの取得をまとめる待ち時間と1回の件数（Discord の上限は100） */
+	private static final long MEMBER_BATCH_DELAY_MILLIS = 50;
+	private static final int MEMBER_BATCH_SIZE = 100;
+	private static final Duration MEMBER_BATCH_TIMEOUT = Duration.ofSeconds(10);
+
+	private static final TtlCache<String, Optional<User>> users = new TtlCache<>(CACHE_SIZE, CACHE_TTL_MILLIS);
+	private static final TtlCache<String, Optional<Member>> members = new TtlCache<>(CACHE_SIZE, CACHE_TTL_MILLIS);
+
+	/** ✈️ 取得中のユーザー（ユーザーID → 結果）。同じIDの同時リクエストはここに相乗りする */
+	private static final Map<String, CompletableFuture<User>> inFlightUsers = new ConcurrentHashMap<>();
+	/** ✈️ 取得中・取得待ちのメンバー（サーバーID:ユーザーID → 結果） */
+	private static final Map<String, CompletableFuture<Member>> inFlightMembers = new ConcurrentHashMap<>();
+	/** 📥 サーバーごとの取得待ちのユーザーID（次のバッチで送る） */
+	private static final Map<String, List<String>> pendingMembers = new HashMap<>();
+
+	private static final ScheduledExecutorService batcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "entity-resolver");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private EntityResolver() {
+	}
+
+	// ========== ユーザー ==========
+
+	/**
+	 * 👤 ユーザーを引く（存在しない・取得に失敗したときは null で完了）
+	 */
+	public static CompletableFuture<User> retrieveUser(JDA jda, String userId) {
+		if (!isSnowflake(userId)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		User cached = jda.getUserById(userId);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		Optional<User> known = users.get(userId);
+		if (known != null) {
+			return CompletableFuture.completedFuture(known.orElse(null));
+		}
+
+		CompletableFuture<User> created = new CompletableFuture<>();
+		CompletableFuture<User> existing = inFlightUsers.putIfAbsent(userId, created);
+		if (existing != null) {
+			return existing; // 🤝 取得中のリクエストに相乗り
+		}
+		try {
+			jda.retrieveUserById(userId).queue(user -> {
+				users.put(userId, Optional.of(user));
+				complete(inFlightUsers, userId, created, user);
+			}, error -> {
+				if (isUnknown(error)) {
+					users.put(userId, Optional.empty());
+				} else {
+					logger.warn("⚠️ ユーザーを取得できませんでした（{}）: {}", userId, error.getMessage());
+				}
+				complete(inFlightUsers, userId, created, null);
+			});
+		} catch (Exception e) {
+			// 停止処理中などでリクエストを積めなかった場合も、相乗りしている呼び出し元を待たせない
+			logger.warn("⚠️ ユーザーの取得を開始できませんでした（{}）: {}", userId, e.getMessage());
+			complete(inFlightUsers, userId, created, null);
+		}
+		return created;
+	}
+
+	/**
+	 * 👥 複数のユーザーをまとめて引く（見つかったものだけを ID → ユーザーで返す。順序は引数の順）
+	 */
+	public static CompletableFuture<Map<String, User>> retrieveUsers(JDA jda, Collection<String> userIds) {
+		Map<String, CompletableFuture<User>> futures = new LinkedHashMap<>();
+		for (String userId : new LinkedHashSet<>(userIds)) {
+			futures.put(userId, retrieveUser(jda, userId));
+		}
+		return collect(futures);
+	}
+
+	// ========== メンバー ==========
+
+	/**
+	 * 🏠 サーバーのメンバーを引く（サーバーにいない・取得に失敗したときは null で完了）
+	 */
+	public static CompletableFuture<Member> retrieveMember(Guild guild, String userId) {
+		if (!isSnowflake(userId)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Member cached = guild.getMemberById(userId);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+		String key = guild.getId() + ":" + userId;
+		Optional<Member> known = members.get(key);
+		if (known != null) {
+			return CompletableFuture.completedFuture(known.orElse(null));
+		}
+
+		CompletableFuture<Member> created = new CompletableFuture<>();
+		CompletableFuture<Member> existing = inFlightMembers.putIfAbsent(key, created);
+		if (existing != null) {
+			return existing;
+		}
+		enqueueMember(guild, userId);
+		return created;
+	}
+
+	/**
+	 * 👥 サーバーの複数のメンバーをまとめて引く（見つかったものだけを ID → メンバーで返す）
+	 */
+	public static CompletableFuture<Map<String, Member>> retrieveMembers(Guild guild, Collection<String> userIds) {
+		Map<String, CompletableFuture<Member>> futures = new LinkedHashMap<>();
+		for (String userId : new LinkedHashSet<>(userIds)) {
+			futures.put(userId, retrieveMember(guild, userId));
+		}
+		return collect(futures);
+	}
+
+	/**
+	 * 📥 取得待ちに積む。サーバーの最初の1件で送信を予約し、100件たまったらその場で送る
+	 */
+	private static void enqueueMember(Guild guild, String userId) {
+		List<String> full = null;
+		boolean schedule;
+		synchronized (pendingMembers) {
+			List<String> pending = pendingMembers.get(guild.getId());
+			schedule = pending == null;
+			if (schedule) {
+				pending = new ArrayList<>();
+				pendingMembers.put(guild.getId(), pending);
+			}
+			pending.add(userId);
+			if (pending.size() >= MEMBER_BATCH_SIZE) {
+				full = pendingMembers.remove(guild.getId());
+			}
+		}
+		if (full != null) {
+			sendMemberBatch(guild, full);
+		} else if (schedule) {
+			batcher.schedule(() -> flushMembers(guild), MEMBER_BATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static void flushMembers(Guild guild) {
+		List<String> batch;
+		synchronized (pendingMembers) {
+			batch = pendingMembers.remove(guild.getId());
+		}
+		if (batch != null) {
+			sendMemberBatch(guild, batch);
+		}
+	}
+
+	/**
+	 * 📤 1回の retrieveMembersByIds で取得し、返ってこなかったIDは「サーバーにいない」として完了させる
+	 */
+	private static void sendMemberBatch(Guild guild, List<String> userIds) {
+		String prefix = guild.getId() + ":";
+		long[] ids = userIds.stream().mapToLong(Long::parseLong).toArray();
+		logger.debug("🔎 メンバーをまとめて取得します（{}）: {} 件", guild.getId(), ids.length);
+		try {
+			guild.retrieveMembersByIds(ids).setTimeout(MEMBER_BATCH_TIMEOUT).onSuccess(found -> {
+				Map<String, Member> byId = new HashMap<>();
+				found.forEach(member -> byId.put(member.getId(), member));
+				for (String userId : userIds) {
+					Member member = byId.get(userId);
+					members.put(prefix + userId, Optional.ofNullable(member));
+					if (member != null) {
+						users.put(userId, Optional.of(member.getUser())); // 👤 ユーザーとしても使い回す
+					}
+					complete(inFlightMembers, prefix + userId, null, member);
+				}
+			}).onError(error -> {
+				logger.warn("⚠️ メンバーを取得できませんでした（{}）: {}", guild.getId(), error.getMessage());
+				userIds.forEach(userId -> complete(inFlightMembers, prefix + userId, null, null));
+			});
+		} catch (Exception e) {
+			// 停止処理中などで要求を送れなかった場合も、取得待ちの呼び出し元を待たせない
+			logger.warn("⚠️ メンバーの取得を開始できませんでした（{}）: {}", guild.getId(), e.getMessage());
+			userIds.forEach(userId -> complete(inFlightMembers, prefix + userId, null, null));
+		}
+	}
+
+	// ========== 共通 ==========
+
+	/**
+	 * ✅ 取得中の表から外してから完了させる（完了後に来たリクエストはキャッシュに当たる）
+	 *
+	 * @param future 完了させる future（null なら表に登録されているもの）
+	 */
+	private static <T> void complete(Map<String, CompletableFuture<T>> inFlight, String key, CompletableFuture<T> future,
+			T value) {
+		CompletableFuture<T> removed = inFlight.remove(key);
+		CompletableFuture<T> target = future != null ? future : removed;
+		if (target != null) {
+			target.complete(value);
+		}
+	}
+
+	private static <T> CompletableFuture<Map<String, T>> collect(Map<String, CompletableFuture<T>> futures) {
+		return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+			Map<String, T> result = new LinkedHashMap<>();
+			futures.forEach((id, future) -> {
+				T value = future.join();
+				if (value != null) {
+					result.put(id, value);
+				}
+			});
+			return result;
+		});
+	}
+
+	private static boolean isUnknown(Throwable error) {
+		return error instanceof ErrorResponseException response
+				&& (response.getErrorResponse() == ErrorResponse.UNKNOWN_USER
+						|| response.getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER);
+	}
+
+	private static boolean isSnowflake(String id) {
+		if (id == null || id.isEmpty() || id.length() > 19 || !id.chars().allMatch(Character::isDigit)) {
+			return false;
+		}
+		try {
+			return Long.parseLong(id) > 0;
+		} catch (NumberFormatException e) {
+			return false; // 19桁でも long に収まらない値（9999999999999999999 など）
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.an0mas.bot.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.model.FeedbackEntry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 📦 フィードバックの一括エクスポート（CSV / NDJSON）
+ *
+ * DBの行を1件ずつ読みながらそのまま書き出すため、件数に関係なく1行分のバッファしか使わない。
+ * WebUI のダウンロードと /feedbackexport コマンドの両方から使う。
+ */
+public class FeedbackExporter {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final String[] CSV_HEADER = { "id", "user_id", "user_name", "title", "content", "timestamp" };
+
+	/**
+	 * 🗂️ 出力形式
+	 */
+	public enum Format {
+		CSV("csv", "text/csv"),
+		NDJSON("ndjson", "application/x-ndjson");
+
+		private final String extension;
+		private final String contentType;
+
+		Format(String extension, String contentType) {
+			this.extension = extension;
+			this.contentType = contentType;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		/**
+		 * 🔤 "csv" / "ndjson" から形式を取得（不明な場合は null）
+		 */
+		public static Format fromName(String name) {
+			for (Format format : values()) {
+				if (format.extension.equalsIgnoreCase(name)) {
+					return format;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * 🌊 全フィードバック（新しい順）を out に書き出す。out は閉じない。
+	 *
+	 * @return 書き出した件数
+	 */
+	public static int export(Format format, OutputStream out) throws IOException {
+		return switch (format) {
+		case CSV -> writeCsv(out);
+		case NDJSON -> writeNdjson(out);
+		};
+	}
+
+	private static int writeCsv(OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writer.write('\uFEFF'); // 📎 Excel で文字化けしないよう BOM を付ける
+		writeCsvRow(writer, CSV_HEADER);
+		int count = FeedbackDatabaseHelper.forEachFeedback(0, 0, entry -> writeCsvRow(writer,
+				String.valueOf(entry.id), entry.userId, entry.userName, entry.title, entry.content, entry.timestamp));
+		writer.flush();
+		return count;
+	}
+
+	private static void writeCsvRow(Writer writer, String... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeCsvField(writer, values[i]);
+		}
+		writer.write("\r\n");
+	}
+
+	/**
+	 * ✂️ RFC 4180 形式でフィールドを書く（カンマ・改行・ダブルクォートを含む場合はクォートする）
+	 */
+	private static void writeCsvField(Writer writer, String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+				|| value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	private static int writeNdjson(OutputStream out) throws IOException {
+		try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+			json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			json.setRootValueSeparator(null);
+			return FeedbackDatabaseHelper.forEachFeedback(0, 0, entry -> {
+				writeJson(json, entry);
+				json.writeRaw('\n');
+			});
+		}
+	}
+
+	private static void writeJson(JsonGenerator json, FeedbackEntry entry) throws IOException {
+		json.writeStartObject();
+		json.writeNumberField("id", entry.id);
+		json.writeStringField("userId", entry.userId);
+		json.writeStringField("userName", entry.userName);
+		json.writeStringField("title", entry.title);
+		json.writeStringField("content", entry.content);
+		json.writeStringField("timestamp", entry.timestamp);
+		json.writeEndObject();
+	}
+}
@@ -0,0 +1,208 @@
+package com.an0mas.bot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ⏲️ HashedTimingWheel:
+ * 多数の期限（一時ブロック・期限付き許可など）を O(1) で登録・発火させるハッシュ化タイミングホイール。
+ *
+ * - 期限は tick 単位に丸めて「スロット番号 = tick % スロット数」に入れ、1周を超えるものは残り周回数を持たせる
+ * - 専用スレッド1本が tick ごとに1スロットだけを見る（登録数に比例する走査やDBのポーリングはしない）
+ * - 何も登録されていない間はスレッドは眠ったまま（登録で起こす）
+ * - 発火は tick ごとにまとめて onExpired に渡す（ホイールのスレッド上で呼ばれる）
+ *
+ * @param <T> 期限に紐づける値
+ */
+public final class HashedTimingWheel<T> {
+	private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+	private final String name;
+	private final long tickNanos;
+	private final int mask;
+	private final List<List<Timeout<T>>> wheel;
+	private final Consumer<List<T>> onExpired;
+
+	/** 📥 登録はここに積み、スロットへの振り分けはホイールのスレッドだけが行う */
+	private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition wakeUp = lock.newCondition();
+
+	private final long startNanos = System.nanoTime();
+	private long tick; // 次に処理する tick（ホイールのスレッドだけが触る）
+	private int scheduled; // スロットに入っている件数（同上）
+
+	private volatile boolean running;
+	private Thread thread;
+
+	/**
+	 * @param name スレッド名・ログに使う識別名
+	 * @param tickMillis 1 tick の長さ（発火の精度）
+	 * @param slots スロット数（2のべき乗に切り上げる）
+	 * @param onExpired 期限が来た値をまとめて受け取る処理
+	 */
+	public HashedTimingWheel(String name, long tickMillis, int slots, Consumer<List<T>> onExpired) {
+		this.name = name;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+		int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+		this.mask = size - 1;
+		this.wheel = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			wheel.add(new ArrayList<>());
+		}
+		this.onExpired = onExpired;
+	}
+
+	/**
+	 * ➕ 期限を登録する（既に過ぎていれば次の tick で発火）
+	 *
+	 * @param deadlineEpochMillis 期限（epoch millis）
+	 * @return 取り消し用のハンドル
+	 */
+	public Timeout<T> schedule(T value, long deadlineEpochMillis) {
+		long delayMillis = Math.max(0, deadlineEpochMillis - System.currentTimeMillis());
+		// ➕ 開始時刻からの経過で持ち、とても遠い期限は long の上限で止める（桁あふれで負になり即発火しないように）
+		long elapsedNanos = System.nanoTime() - startNanos;
+		long delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis); // toNanos 自体も上限で止まる
+		Timeout<T> timeout = new Timeout<>(value,
+				delayNanos > Long.MAX_VALUE - elapsedNanos ? Long.MAX_VALUE : elapsedNanos + delayNanos);
+		pending.add(timeout);
+		start();
+		lock.lock();
+		try {
+			wakeUp.signal();
+		} finally {
+			lock.unlock();
+		}
+		return timeout;
+	}
+
+	/**
+	 * ⏹️ スレッドを止める（登録済みの期限は発火しない）
+	 */
+	public synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	private synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::run, "timing-wheel-" + name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				awaitNextTick();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			transferPending();
+			List<T> expired = expireBucket(wheel.get((int) (tick & mask)));
+			tick++;
+			if (!expired.isEmpty()) {
+				try {
+					onExpired.accept(expired);
+				} catch (Exception e) {
+					logger.error("❌ 期限切れの処理に失敗しました（{}）: {}", name, e.getMessage(), e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 💤 次の tick まで待つ。空のときは登録されるまで眠り、起きたら tick を現在時刻に合わせる
+	 */
+	private void awaitNextTick() throws InterruptedException {
+		lock.lock();
+		try {
+			while (scheduled == 0 && pending.isEmpty()) {
+				wakeUp.await();
+			}
+			if (scheduled == 0) {
+				// 空の間に過ぎた tick は処理するものが無いので飛ばす
+				tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+			}
+			long deadline = startNanos + (tick + 1) * tickNanos;
+			long wait;
+			while ((wait = deadline - System.nanoTime()) > 0) {
+				wakeUp.awaitNanos(wait);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void transferPending() {
+		Timeout<T> timeout;
+		while ((timeout = pending.poll()) != null) {
+			if (timeout.cancelled) {
+				continue;
+			}
+			// tick k のスロットは k+1 tick 目の時刻に処理されるので、期限を含む tick に入れれば遅れは1 tick 以内
+			long deadlineTick = Math.max(tick, timeout.deadlineNanos / tickNanos);
+			timeout.rounds = (deadlineTick - tick) / wheel.size();
+			wheel.get((int) (deadlineTick & mask)).add(timeout);
+			scheduled++;
+		}
+	}
+
+	private List<T> expireBucket(List<Timeout<T>> bucket) {
+		List<T> expired = new ArrayList<>();
+		int kept = 0;
+		for (Timeout<T> timeout : bucket) {
+			if (timeout.cancelled) {
+				scheduled--;
+			} else if (timeout.rounds <= 0) {
+				expired.add(timeout.value);
+				scheduled--;
+			} else {
+				timeout.rounds--;
+				bucket.set(kept++, timeout);
+			}
+		}
+		bucket.subList(kept, bucket.size()).clear();
+		return expired;
+	}
+
+	/**
+	 * 🎫 登録1件（{@link #cancel()} で取り消せる）
+	 */
+	public static final class Timeout<T> {
+		private final T value;
+		private final long deadlineNanos; // startNanos からの経過
+		private long rounds;
+		private volatile boolean cancelled;
+
+		private Timeout(T value, long deadlineNanos) {
+			this.value = value;
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		public T value() {
+			return value;
+		}
+
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+}
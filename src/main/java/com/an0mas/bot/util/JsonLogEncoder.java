@@ -0,0 +1,69 @@
+package com.an0mas.bot.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+/**
+ * 🧾 JsonLogEncoder:
+ * ログ1件を1行の JSON にする logback のエンコーダー（LOG_FORMAT=json のとき使う）。
+ *
+ * 出力例: {"ts":"2025-01-01T00:00:00.123Z","level":"INFO","logger":"...","thread":"...","message":"...",
+ * "interactionId":"...","guildId":"...","userId":"..."}
+ *
+ * - メッセージはプレースホルダーを埋めた後の文字列
+ * - MDC の値（{@link LogContext} が載せる ID など）はトップレベルのフィールドとして出す
+ * - 例外はスタックトレースを1つの文字列として "exception" に入れる
+ *
+ * 非同期アペンダーの書き出しスレッドで呼ばれるため、イベントスレッドの処理時間には入らない。
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final byte[] EMPTY = new byte[0];
+
+	@Override
+	public byte[] headerBytes() {
+		return EMPTY;
+	}
+
+	@Override
+	public byte[] encode(ILoggingEvent event) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+			json.writeStartObject();
+			json.writeStringField("ts", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+			json.writeStringField("level", event.getLevel().toString());
+			json.writeStringField("logger", event.getLoggerName());
+			json.writeStringField("thread", event.getThreadName());
+			json.writeStringField("message", event.getFormattedMessage());
+			for (Map.Entry<String, String> entry : event.getMDCPropertyMap().entrySet()) {
+				json.writeStringField(entry.getKey(), entry.getValue());
+			}
+			IThrowableProxy throwable = event.getThrowableProxy();
+			if (throwable != null) {
+				json.writeStringField("exception", ThrowableProxyUtil.asString(throwable));
+			}
+			json.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		out.write('\n');
+		return out.toByteArray();
+	}
+
+	@Override
+	public byte[] footerBytes() {
+		return EMPTY;
+	}
+}
@@ -0,0 +1,43 @@
+package com.an0mas.bot.util;
+
+import org.slf4j.MDC;
+
+import net.dv8tion.jda.api.interactions.Interaction;
+
+/**
+ * 🏷️ LogContext:
+ * インタラクションの処理中に、ログへインタラクションID・ギルドID・ユーザーIDを載せるための MDC ヘルパー。
+ *
+ * リスナーの入口で try-with-resources として開けば、その中のログ（DBヘルパーを含む）に自動で付き、
+ * 抜けるときに消える。JSON 形式のログ（{@link JsonLogEncoder}）ではトップレベルのフィールドとして出力される。
+ */
+public final class LogContext implements AutoCloseable {
+
+	public static final String INTERACTION_ID = "interactionId";
+	public static final String GUILD_ID = "guildId";
+	public static final String USER_ID = "userId";
+
+	private static final LogContext INSTANCE = new LogContext();
+
+	private LogContext() {
+	}
+
+	/**
+	 * 📌 インタラクションの ID を MDC に載せる
+	 */
+	public static LogContext of(Interaction interaction) {
+		MDC.put(INTERACTION_ID, interaction.getId());
+		MDC.put(USER_ID, interaction.getUser().getId());
+		if (interaction.getGuild() != null) {
+			MDC.put(GUILD_ID, interaction.getGuild().getId());
+		}
+		return INSTANCE;
+	}
+
+	@Override
+	public void close() {
+		MDC.remove(INTERACTION_ID);
+		MDC.remove(GUILD_ID);
+		MDC.remove(USER_ID);
+	}
+}
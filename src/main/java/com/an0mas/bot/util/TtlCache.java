@@ -0,0 +1,73 @@
+package com.an0mas.bot.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ⏳ TtlCache:
+ * 件数上限（LRU）と有効期限（TTL）の両方で制限される、スレッドセーフな小さなキャッシュ。
+ *
+ * @param <K> キー
+ * @param <V> 値
+ */
+public class TtlCache<K, V> {
+
+	private final int maxSize;
+	private final long ttlMillis;
+
+	private final Map<K, Entry<V>> map;
+
+	/**
+	 * @param maxSize 保持する最大件数（超えたら最も古く使われたものから削除）
+	 * @param ttlMillis 有効期限（ミリ秒）
+	 */
+	public TtlCache(int maxSize, long ttlMillis) {
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.map = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > TtlCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * 📥 有効期限内の値を返す（無い・期限切れなら null）
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt() < System.currentTimeMillis()) {
+			map.remove(key);
+			return null;
+		}
+		return entry.value();
+	}
+
+	/**
+	 * 📤 値を保存する（有効期限はこの時点から TTL）
+	 */
+	public synchronized void put(K key, V value) {
+		map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+	}
+
+	/**
+	 * 🧹 指定キーを削除する
+	 */
+	public synchronized void invalidate(K key) {
+		map.remove(key);
+	}
+
+	/**
+	 * 📊 現在の件数（期限切れを含む）
+	 */
+	public synchronized int size() {
+		return map.size();
+	}
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+}
@@ -0,0 +1,58 @@
+package com.an0mas.bot.webui;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.an0mas.bot.model.FeedbackEntry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 🌊 JSON API 共通：Jackson のストリーミングジェネレーターでレスポンスへ直接書き出す
+ *
+ * 中間のオブジェクトツリーや文字列を作らないため、大きなコレクションでも使用メモリは一定。
+ */
+final class ApiJsonStreams {
+
+	private ApiJsonStreams() {
+	}
+
+	/**
+	 * ✍️ JsonGenerator を受け取って書き出す処理
+	 */
+	@FunctionalInterface
+	interface JsonBody {
+		void write(JsonGenerator json) throws IOException;
+	}
+
+	/**
+	 * 📤 200 OK + application/json で body をストリーミングするレスポンスを作る
+	 */
+	static ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper, JsonBody body) {
+		StreamingResponseBody stream = out -> {
+			try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+				// レスポンスのストリームはサーブレットコンテナが閉じる
+				json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				body.write(json);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stream);
+	}
+
+	/**
+	 * 💬 フィードバック1件をオブジェクトとして書き出す
+	 */
+	static void writeFeedback(JsonGenerator json, FeedbackEntry entry) throws IOException {
+		json.writeStartObject();
+		json.writeNumberField("id", entry.id);
+		json.writeStringField("userId", entry.userId);
+		json.writeStringField("userName", entry.userName);
+		json.writeStringField("title", entry.title);
+		json.writeStringField("content", entry.content);
+		json.writeStringField("timestamp", entry.timestamp);
+		json.writeEndObject();
+	}
+}
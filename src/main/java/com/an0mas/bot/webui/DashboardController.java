@@ -1,12 +1,22 @@
 // 📦 パッケージ: com.an0mas.bot.webui
 package com.an0mas.bot.webui;
 
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.SqlStats;
 
 /**
  * 🛠️ ダッシュボードコントローラー：ステータス表示やメンテナンス操作を行う
@@ -14,6 +24,15 @@ import com.an0mas.bot.database.DatabaseHelper;
 @Controller
 public class DashboardController {
 
+	/** 🏆 ダッシュボードに表示する SQL の件数 */
+	private static final int TOP_STATEMENTS = 15;
+
+	private final DashboardStreamService streamService;
+
+	public DashboardController(DashboardStreamService streamService) {
+		this.streamService = streamService;
+	}
+
 	/**
 	 * 📋 ダッシュボード表示（現在のモード状態を表示）
 	 */
@@ -21,16 +40,38 @@ public class DashboardController {
 	public String showDashboard(Model model) {
 		boolean maintenanceMode = DatabaseHelper.isMaintenanceMode();
 		model.addAttribute("maintenance", maintenanceMode);
+		model.addAttribute("sqlStats", SqlStats.top(TOP_STATEMENTS));
+		model.addAttribute("sqliteStats", Stream.of(DatabaseHelper.getSqliteStats(), FeedbackDatabaseHelper.getSqliteStats())
+				.filter(Objects::nonNull)
+				.toList());
 		return "dashboard";
 	}
 
+	/**
+	 * 📡 ライブ統計のストリーム（Server-Sent Events、1秒ごと）
+	 */
+	@GetMapping(path = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter streamStats() {
+		return streamService.connect();
+	}
+
+	/**
+	 * 🧹 SQL 統計のリセット
+	 */
+	@PostMapping("/dashboard/sql-stats/reset")
+	public String resetSqlStats() {
+		SqlStats.reset();
+		return "redirect:/dashboard";
+	}
+
 	/**
 	 * 🔁 メンテナンストグル切り替え
 	 */
 	@PostMapping("/dashboard/toggle-maintenance")
-	public String toggleMaintenance() {
+	public String toggleMaintenance(HttpSession session) {
 		boolean current = DatabaseHelper.isMaintenanceMode();
-		DatabaseHelper.setMaintenanceMode(!current);
+		DatabaseHelper.setMaintenanceMode(!current, SettingsController.actorOf(session));
 		return "redirect:/dashboard";
 	}
 }
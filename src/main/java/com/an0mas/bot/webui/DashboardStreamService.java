@@ -0,0 +1,159 @@
+package com.an0mas.bot.webui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.an0mas.bot.metrics.BotMetrics;
+import com.an0mas.bot.metrics.MetricsSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 📡 ダッシュボードのライブ統計を SSE で配信するサービス
+ *
+ * BotMetrics の購読者は常に1つだけで、1秒ごとのスナップショットを1回だけ JSON 化して全クライアントへ送る。
+ * クライアント数が増えても DB アクセスや集計は増えない。
+ *
+ * 集計スレッドでは JSON をクライアントごとの小さなキューに積むだけで、実際の送信は別スレッド（仮想スレッド）で行う。
+ * 受信が遅れてキューがあふれたクライアントは切断する（1つの詰まった接続が集計や他のクライアントを止めないように）。
+ */
+@Component
+public class DashboardStreamService {
+	private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+	/** ⏱️ 1接続の最大時間（切れたらブラウザの EventSource が自動で再接続する） */
+	private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+	/** 📜 接続直後に送る履歴の秒数 */
+	private static final int INITIAL_HISTORY_SECONDS = 60;
+
+	/** 📦 1クライアントが溜められる未送信イベントの数（超えたら遅れているとみなして切断） */
+	private static final int CLIENT_QUEUE_CAPACITY = 8;
+
+	private final List<Client> clients = new CopyOnWriteArrayList<>();
+	private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+			Thread.ofVirtual().name("dashboard-sse-", 0).factory());
+	private final ObjectMapper objectMapper;
+	private final Consumer<MetricsSnapshot> subscriber = this::broadcast;
+
+	public DashboardStreamService(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@PostConstruct
+	void start() {
+		BotMetrics.subscribe(subscriber);
+	}
+
+	@PreDestroy
+	void stop() {
+		BotMetrics.unsubscribe(subscriber);
+		clients.forEach(client -> client.emitter.complete());
+		clients.clear();
+		senders.shutdown();
+	}
+
+	/**
+	 * 🔌 新しいクライアントを登録し、直近の履歴を送ってから配信を開始する
+	 */
+	public SseEmitter connect() {
+		SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+		Client client = new Client(emitter);
+		emitter.onCompletion(() -> clients.remove(client));
+		emitter.onTimeout(() -> clients.remove(client));
+		emitter.onError(e -> clients.remove(client));
+
+		try {
+			emitter.send(SseEmitter.event().name("history")
+					.data(objectMapper.writeValueAsString(BotMetrics.getHistory(INITIAL_HISTORY_SECONDS))));
+			clients.add(client);
+		} catch (IOException e) {
+			emitter.completeWithError(e);
+		}
+		return emitter;
+	}
+
+	/**
+	 * 📣 集計スレッドから呼ばれる。各クライアントのキューに積むだけで、送信は待たない
+	 */
+	private void broadcast(MetricsSnapshot snapshot) {
+		if (clients.isEmpty()) {
+			return;
+		}
+
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(snapshot);
+		} catch (JsonProcessingException e) {
+			logger.warn("⚠️ スナップショットのJSON化に失敗しました: {}", e.getMessage());
+			return;
+		}
+
+		for (Client client : clients) {
+			if (!client.queue.offer(json)) {
+				// 🐢 受信が追いつかないクライアントは外す（切断処理も送信スレッドで行う。送信中の書き込みと同じロックを取るため）
+				logger.debug("🐢 SSEクライアントの受信が遅れているため切断します");
+				clients.remove(client);
+				senders.execute(client.emitter::complete);
+				continue;
+			}
+			if (client.draining.compareAndSet(false, true)) {
+				senders.execute(() -> drain(client));
+			}
+		}
+	}
+
+	/**
+	 * 📤 キューに溜まったイベントを送り切る（1クライアントにつき同時に1つだけ動く）
+	 */
+	private void drain(Client client) {
+		while (true) {
+			String json;
+			while ((json = client.queue.poll()) != null) {
+				try {
+					// SseEventBuilder は build 時に状態が変わるため、クライアントごとに作る（JSON は共有）
+					client.emitter.send(SseEmitter.event().name("stats").data(json));
+				} catch (Exception e) {
+					// 切断済みのクライアントは外す
+					clients.remove(client);
+					client.queue.clear();
+					client.draining.set(false);
+					return;
+				}
+			}
+			client.draining.set(false);
+			// 🔁 フラグを下ろす直前に積まれたイベントがあれば、もう一度自分で送る
+			if (client.queue.isEmpty() || !client.draining.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 🔌 接続中のクライアント1つ（未送信イベントのキューと、送信中かどうかのフラグ）
+	 */
+	private static class Client {
+		private final SseEmitter emitter;
+		private final Queue<String> queue = new ArrayBlockingQueue<>(CLIENT_QUEUE_CAPACITY);
+		private final AtomicBoolean draining = new AtomicBoolean();
+
+		Client(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+	}
+}
\ No newline at end of file
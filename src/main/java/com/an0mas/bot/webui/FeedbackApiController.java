@@ -0,0 +1,154 @@
+package com.an0mas.bot.webui;
+
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.model.FeedbackEntry;
+import com.an0mas.bot.util.FeedbackExporter;
+import com.an0mas.bot.util.FeedbackExporter.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 🔌 フィードバックの JSON API（v1）
+ *
+ * 一覧はIDカーソルによるページング（OFFSET を使わないため深いページでも速い）。
+ * {@code limit=0} を指定すると全件を1つの配列としてストリーミングする。
+ */
+@RestController
+@RequestMapping("/api/v1/feedbacks")
+public class FeedbackApiController {
+
+	private static final int DEFAULT_LIMIT = 50;
+	private static final int MAX_LIMIT = 500;
+
+	private final ObjectMapper objectMapper;
+
+	public FeedbackApiController(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 📃 フィードバック一覧（新しい順）
+	 *
+	 * レスポンス: {@code {"items":[...],"nextCursor":"123"}}。続きは {@code ?cursor=123} で取得する（最後のページは null）。
+	 */
+	@GetMapping
+	public ResponseEntity<StreamingResponseBody> list(
+			@RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit) {
+
+		int beforeId = parseCursor(cursor);
+		if (beforeId < 0 || limit < 0) {
+			return ResponseEntity.badRequest().build();
+		}
+		int pageSize = Math.min(limit, MAX_LIMIT);
+
+		return ApiJsonStreams.ok(objectMapper, json -> {
+			json.writeStartObject();
+			json.writeArrayFieldStart("items");
+			if (limit == 0) {
+				// 🌊 全件：1行ずつ書き出すので件数に関係なく一定メモリ
+				FeedbackDatabaseHelper.forEachFeedback(beforeId, 0,
+						entry -> ApiJsonStreams.writeFeedback(json, entry));
+				json.writeEndArray();
+				json.writeNullField("nextCursor");
+			} else {
+				// 1件多く読み、それが来たら次のページがあると判断する（その1件は書き出さない）
+				int[] page = { 0, 0 }; // { 書き出した件数, 最後のID }
+				boolean[] hasMore = { false };
+				FeedbackDatabaseHelper.forEachFeedback(beforeId, pageSize + 1, entry -> {
+					if (page[0] == pageSize) {
+						hasMore[0] = true;
+						return;
+					}
+					ApiJsonStreams.writeFeedback(json, entry);
+					page[0]++;
+					page[1] = entry.id;
+				});
+				json.writeEndArray();
+				if (hasMore[0]) {
+					json.writeStringField("nextCursor", Integer.toString(page[1]));
+				} else {
+					json.writeNullField("nextCursor");
+				}
+			}
+			json.writeEndObject();
+		});
+	}
+
+	/**
+	 * 📦 全フィードバックのエクスポート（{@code ?format=csv|ndjson}）
+	 *
+	 * チャンク転送で1行ずつ書き出し、クライアントが対応していれば gzip で圧縮する。
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(name = "format", defaultValue = "csv") String formatName,
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+		Format format = Format.fromName(formatName);
+		if (format == null) {
+			return ResponseEntity.badRequest().build();
+		}
+		boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+				FeedbackExporter.export(format, compressed);
+				compressed.finish(); // レスポンスのストリーム自体はコンテナが閉じる
+			} else {
+				FeedbackExporter.export(format, out);
+			}
+		};
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename("feedbacks." + format.getExtension()).build().toString())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(body);
+	}
+
+	/**
+	 * 🔍 フィードバック1件
+	 */
+	@GetMapping("/{id}")
+	public ResponseEntity<StreamingResponseBody> detail(@PathVariable("id") int id) {
+		FeedbackEntry entry = FeedbackDatabaseHelper.getFeedbackById(id);
+		if (entry == null) {
+			return ResponseEntity.notFound().build();
+		}
+		return ApiJsonStreams.ok(objectMapper, json -> ApiJsonStreams.writeFeedback(json, entry));
+	}
+
+	/**
+	 * 🔖 カーソル（直前のページ最後のID）を読み取る。未指定は 0（先頭から）、不正な値は -1
+	 */
+	private static int parseCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0;
+		}
+		try {
+			int id = Integer.parseInt(cursor);
+			return id > 0 ? id : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
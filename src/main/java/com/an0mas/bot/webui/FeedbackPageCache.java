@@ -0,0 +1,74 @@
+package com.an0mas.bot.webui;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.model.FeedbackEntry;
+
+/**
+ * 🗃️ フィードバック一覧ページの内容を (ページ番号, ストアバージョン) ごとに保持するキャッシュ
+ *
+ * キーにバージョンを含むため、追加・削除があれば自然に別キーになり古い内容は参照されない（LRUで追い出し）。
+ * 描画済みHTMLはナビバーがセッションごとに異なるため保持せず、ページのデータ部分だけを保持する。
+ */
+@Component
+public class FeedbackPageCache {
+
+	/** 📦 保持するページ数の上限 */
+	private static final int MAX_ENTRIES = 64;
+
+	private final Map<PageKey, FeedbackPage> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<PageKey, FeedbackPage> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * 📃 指定ページの内容を取得する（キャッシュに無ければDBから読み込む）
+	 *
+	 * @param requestedPage リクエストされたページ番号（範囲外は丸める）
+	 * @param pageSize 1ページあたりの件数
+	 * @param version 現在のフィードバックストアのバージョン
+	 */
+	public FeedbackPage get(int requestedPage, int pageSize, long version) {
+		PageKey key = new PageKey(requestedPage, pageSize, version);
+		synchronized (cache) {
+			FeedbackPage cached = cache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		FeedbackPage loaded = load(requestedPage, pageSize);
+		synchronized (cache) {
+			cache.put(key, loaded);
+		}
+		return loaded;
+	}
+
+	private static FeedbackPage load(int requestedPage, int pageSize) {
+		int total = FeedbackDatabaseHelper.getFeedbackCount();
+		int totalPages = (int) Math.ceil((double) total / pageSize);
+
+		int page = Math.max(1, Math.min(requestedPage, totalPages));
+		int offset = (page - 1) * pageSize;
+
+		List<FeedbackEntry> feedbacks = FeedbackDatabaseHelper.getFeedbacksPaged(offset, pageSize);
+		return new FeedbackPage(feedbacks, page, totalPages, total, offset + 1, Math.min(offset + pageSize, total));
+	}
+
+	private record PageKey(int page, int pageSize, long version) {
+	}
+
+	/**
+	 * 📄 フィードバック一覧1ページ分の内容
+	 */
+	public record FeedbackPage(List<FeedbackEntry> feedbacks, int currentPage, int totalPages, int totalCount,
+			int startCount, int endCount) {
+	}
+}
@@ -1,47 +1,72 @@
 package com.an0mas.bot.webui;
 
 import java.util.List;
+import java.util.Objects;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.an0mas.bot.database.FeedbackDatabaseHelper;
-import com.an0mas.bot.model.FeedbackEntry;
+import com.an0mas.bot.database.StoreVersion;
+import com.an0mas.bot.webui.FeedbackPageCache.FeedbackPage;
 
 /**
  * 🌐 フィードバック一覧をブラウザで表示する簡易WebUI
+ *
+ * フィードバックストアのバージョンから ETag / Last-Modified を作り、変化が無ければDBに触れずに 304 を返す。
  */
 @Controller
 public class FeedbackWebController {
 
 	private static final int FEEDBACKS_PER_PAGE = 5; // ✅ 1ページあたりの表示数
 
+	private final FeedbackPageCache pageCache;
+
+	public FeedbackWebController(FeedbackPageCache pageCache) {
+		this.pageCache = pageCache;
+	}
+
 	@GetMapping("/feedbacks")
 	public String feedbackList(
 	        @RequestParam(name = "page", defaultValue = "1") int page,
 	        Model model,
-	        HttpServletRequest request) {
-
-	    final int pageSize = 5;
-	    int total = FeedbackDatabaseHelper.getFeedbackCount();
-	    int totalPages = (int) Math.ceil((double) total / pageSize);
-
-	    page = Math.max(1, Math.min(page, totalPages));
-	    int offset = (page - 1) * pageSize;
-
-	    List<FeedbackEntry> feedbacks = FeedbackDatabaseHelper.getFeedbacksPaged(offset, pageSize);
-
-	    model.addAttribute("feedbacks", feedbacks);
-	    model.addAttribute("currentPage", page);
-	    model.addAttribute("totalPages", totalPages);
-	    model.addAttribute("totalCount", total);
-	    model.addAttribute("startCount", offset + 1);
-	    model.addAttribute("endCount", Math.min(offset + pageSize, total));
+	        HttpServletRequest request,
+	        HttpServletResponse response,
+	        HttpSession session,
+	        WebRequest webRequest) {
+
+	    // 🏷️ 条件付きリクエスト：バージョンはキャッシュ済みなのでここまでDBアクセスなし
+	    StoreVersion version = FeedbackDatabaseHelper.getStoreVersion();
+	    String etag = buildEtag(version, page, session);
+
+	    // 毎回再検証させる（ナビバーがセッションごとに異なるため private）
+	    response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+	    // 削除直後のメッセージ（フラッシュ属性）がある場合は 304 にせず必ず描画する
+	    boolean notModified = model.containsAttribute("message") ? false : version.updatedAt() > 0
+	            ? webRequest.checkNotModified(etag, version.updatedAt())
+	            : webRequest.checkNotModified(etag);
+	    if (notModified) {
+	        return null; // 304 Not Modified
+	    }
+
+	    FeedbackPage feedbackPage = pageCache.get(page, FEEDBACKS_PER_PAGE, version.version());
+
+	    model.addAttribute("feedbacks", feedbackPage.feedbacks());
+	    model.addAttribute("currentPage", feedbackPage.currentPage());
+	    model.addAttribute("totalPages", feedbackPage.totalPages());
+	    model.addAttribute("totalCount", feedbackPage.totalCount());
+	    model.addAttribute("startCount", feedbackPage.startCount());
+	    model.addAttribute("endCount", feedbackPage.endCount());
 
 	    model.addAttribute("backUrl", "/");
 	    model.addAttribute("showBack", true);
@@ -59,4 +84,31 @@ public class FeedbackWebController {
 		model.addAttribute("message", "✅ フィードバックを削除しました。");
 		return "redirect:/feedbacks"; // フィードバック一覧にリダイレクト
 	}
+
+	/**
+	 * 🗑️ 選択したフィードバックをまとめて削除（1トランザクション）
+	 */
+	@PostMapping("/feedbacks/delete-bulk")
+	public String deleteFeedbacks(
+			@RequestParam(name = "ids", required = false) List<Integer> ids,
+			@RequestParam(name = "page", defaultValue = "1") int page,
+			RedirectAttributes redirectAttributes) {
+		if (ids == null || ids.isEmpty()) {
+			redirectAttributes.addFlashAttribute("message", "⚠️ 削除するフィードバックが選択されていません。");
+		} else {
+			int deleted = FeedbackDatabaseHelper.deleteFeedbacksByIds(ids);
+			redirectAttributes.addFlashAttribute("message", "✅ フィードバックを " + deleted + " 件削除しました。");
+		}
+		redirectAttributes.addAttribute("page", page);
+		return "redirect:/feedbacks";
+	}
+
+	/**
+	 * 🏷️ 強い ETag（ストアバージョン＋ページ番号＋ナビバーに出るログイン情報）
+	 */
+	private static String buildEtag(StoreVersion version, int page, HttpSession session) {
+		int viewer = Objects.hash(session.getAttribute("loggedIn"), session.getAttribute("username"),
+				session.getAttribute("userAvatarUrl"));
+		return "\"fb-" + version.version() + "-p" + page + "-" + Integer.toHexString(viewer) + "\"";
+	}
 }
@@ -0,0 +1,57 @@
+package com.an0mas.bot.webui;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.an0mas.bot.BotLauncher;
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.FeedbackDatabaseHelper;
+import com.an0mas.bot.database.PoolStats;
+import com.an0mas.bot.database.SqliteStats;
+
+import net.dv8tion.jda.api.JDA;
+
+/**
+ * 🩺 readiness エンドポイント：DB と Gateway の状態を返す（準備できていなければ 503）
+ *
+ * - 両方の SQLite が PRAGMA に応答すること
+ * - Bot が同じプロセスで動いている場合は Gateway が CONNECTED であること（WebUI 単体なら NOT_RUNNING で判定しない）
+ */
+@RestController
+public class HealthController {
+
+	/**
+	 * 📋 readiness の結果
+	 *
+	 * @param ready 受け付け可能か
+	 * @param gateway JDA の状態（Bot 未起動なら NOT_RUNNING）
+	 * @param gatewayPingMs Gateway の ping（Bot 未起動なら -1）
+	 * @param pools コネクションプールの使用状況
+	 * @param databases SQLite ファイルの状態（読めなかったDBは含まない）
+	 */
+	public record Readiness(boolean ready, String gateway, long gatewayPingMs, List<PoolStats> pools,
+			List<SqliteStats> databases) {
+	}
+
+	@GetMapping("/health/ready")
+	public ResponseEntity<Readiness> ready() {
+		JDA jda = BotLauncher.getJda();
+		String gateway = jda != null ? jda.getStatus().name() : "NOT_RUNNING";
+		boolean gatewayReady = jda == null || jda.getStatus() == JDA.Status.CONNECTED;
+
+		List<SqliteStats> databases = Stream.of(DatabaseHelper.getSqliteStats(), FeedbackDatabaseHelper.getSqliteStats())
+				.filter(Objects::nonNull)
+				.toList();
+		boolean ready = gatewayReady && databases.size() == 2;
+
+		Readiness body = new Readiness(ready, gateway, jda != null ? jda.getGatewayPing() : -1,
+				List.of(DatabaseHelper.getPoolStats(), FeedbackDatabaseHelper.getPoolStats()), databases);
+		return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(body);
+	}
+}
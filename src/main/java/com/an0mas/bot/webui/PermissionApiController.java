@@ -0,0 +1,135 @@
+package com.an0mas.bot.webui;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.PermissionEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 🔌 コマンド権限・ブラックリストの JSON API（v1）
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class PermissionApiController {
+
+	private static final int DEFAULT_EVENT_LIMIT = 100;
+	private static final int MAX_EVENT_LIMIT = 1000;
+
+	private final ObjectMapper objectMapper;
+
+	public PermissionApiController(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 🏠 サーバーごとの許可コマンド: {@code {"guilds":[{"guildId":"...","commands":["..."]}]}}
+	 */
+	@GetMapping("/permissions/guilds")
+	public ResponseEntity<StreamingResponseBody> guildPermissions() {
+		return ApiJsonStreams.ok(objectMapper,
+				json -> writePermissions(json, "guilds", "guildId", DatabaseHelper::forEachGuildPermission));
+	}
+
+	/**
+	 * 👤 ユーザーごとの許可コマンド: {@code {"users":[{"userId":"...","commands":["..."]}]}}
+	 */
+	@GetMapping("/permissions/users")
+	public ResponseEntity<StreamingResponseBody> userPermissions() {
+		return ApiJsonStreams.ok(objectMapper,
+				json -> writePermissions(json, "users", "userId", DatabaseHelper::forEachUserPermission));
+	}
+
+	/**
+	 * 🚫 ブラックリスト: {@code {"users":["..."]}}
+	 */
+	@GetMapping("/blacklist")
+	public ResponseEntity<StreamingResponseBody> blacklist() {
+		return ApiJsonStreams.ok(objectMapper, json -> {
+			json.writeStartObject();
+			json.writeArrayFieldStart("users");
+			DatabaseHelper.forEachBlacklistedUser(json::writeString);
+			json.writeEndArray();
+			json.writeEndObject();
+		});
+	}
+
+	/**
+	 * 🧾 権限イベントログ（古い順）: {@code {"events":[{"seq":1,"type":"grant",...}],"nextAfter":"1"}}
+	 *
+	 * 続きは {@code ?after=<nextAfter>} で取得する（最後のページは null）。
+	 */
+	@GetMapping("/permissions/events")
+	public ResponseEntity<StreamingResponseBody> permissionEvents(
+			@RequestParam(name = "after", defaultValue = "0") long after,
+			@RequestParam(name = "limit", defaultValue = "" + DEFAULT_EVENT_LIMIT) int limit) {
+		if (after < 0 || limit <= 0) {
+			return ResponseEntity.badRequest().build();
+		}
+		int pageSize = Math.min(limit, MAX_EVENT_LIMIT);
+		List<PermissionEvent> events = DatabaseHelper.getPermissionEvents(after, pageSize);
+		return ApiJsonStreams.ok(objectMapper, json -> {
+			json.writeStartObject();
+			json.writeArrayFieldStart("events");
+			for (PermissionEvent event : events) {
+				json.writeStartObject();
+				json.writeNumberField("seq", event.seq());
+				json.writeStringField("type", event.type().dbValue());
+				json.writeStringField("subject", event.subject().dbValue());
+				json.writeStringField("subjectId", event.subjectId());
+				if (event.guildId() != null) {
+					json.writeStringField("guildId", event.guildId());
+				}
+				json.writeStringField("commandName", event.commandName());
+				if (event.expiresAt() > 0) {
+					json.writeNumberField("expiresAt", event.expiresAt());
+				}
+				json.writeStringField("actorId", event.actorId());
+				json.writeNumberField("createdAt", event.createdAt());
+				json.writeEndObject();
+			}
+			json.writeEndArray();
+			if (events.size() == pageSize) {
+				json.writeStringField("nextAfter", Long.toString(events.get(events.size() - 1).seq()));
+			} else {
+				json.writeNullField("nextAfter");
+			}
+			json.writeEndObject();
+		});
+	}
+
+	/**
+	 * 🏃 許可を1件ずつたどる処理（DatabaseHelper.forEachGuildPermission など）
+	 */
+	@FunctionalInterface
+	private interface PermissionSource {
+		void forEach(DatabaseHelper.PermissionConsumer consumer) throws IOException;
+	}
+
+	private static void writePermissions(JsonGenerator json, String field, String idField, PermissionSource source)
+			throws IOException {
+		json.writeStartObject();
+		json.writeArrayFieldStart(field);
+		source.forEach((id, commands) -> {
+			json.writeStartObject();
+			json.writeStringField(idField, id);
+			json.writeArrayFieldStart("commands");
+			for (String command : commands) {
+				json.writeString(command);
+			}
+			json.writeEndArray();
+			json.writeEndObject();
+		});
+		json.writeEndArray();
+		json.writeEndObject();
+	}
+}
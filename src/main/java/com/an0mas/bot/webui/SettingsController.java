@@ -0,0 +1,132 @@
+package com.an0mas.bot.webui;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.an0mas.bot.database.DatabaseHelper;
+import com.an0mas.bot.database.Setting;
+import com.an0mas.bot.database.Settings;
+import com.an0mas.bot.database.SettingsSnapshot;
+
+/**
+ * 🎛️ Botの設定（{@link Settings}）をブラウザで確認・変更する画面
+ *
+ * 表示はメモリ上のスナップショットから作り、DBを読むのは変更履歴だけ。
+ * フォームには表示時のバージョンを持たせ、その間に別の変更（/config や別タブ）が入っていたら反映せずに知らせる。
+ */
+@Controller
+public class SettingsController {
+
+	/** 🧾 画面に表示する変更履歴の件数 */
+	private static final int RECENT_CHANGES = 20;
+	private static final DateTimeFormatter CHANGED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+			.withZone(ZoneId.systemDefault());
+
+	/**
+	 * 📋 1項目分の表示内容
+	 */
+	public record SettingRow(String key, String type, String description, String value, String defaultValue,
+			boolean isSet, boolean guildOverridable) {
+	}
+
+	/**
+	 * 🏠 サーバーごとの上書き1件
+	 */
+	public record OverrideRow(String guildId, String key, String value) {
+	}
+
+	/**
+	 * 🧾 変更履歴1件（日時は表示用に整形済み）
+	 */
+	public record ChangeRow(long seq, String target, String key, String oldValue, String newValue, String actorId,
+			String changedAt) {
+	}
+
+	@GetMapping("/settings")
+	public String showSettings(Model model) {
+		SettingsSnapshot settings = DatabaseHelper.getSettings();
+
+		List<SettingRow> rows = new ArrayList<>();
+		for (Setting<?> setting : Settings.all()) {
+			rows.add(new SettingRow(setting.key(), setting.type(), setting.description(),
+					setting.format(settings.get(setting)), setting.format(setting.defaultValue()), settings.isSet(setting),
+					setting.guildOverridable()));
+		}
+		List<OverrideRow> overrides = new ArrayList<>();
+		settings.overrides().forEach((guildId, values) -> values.forEach(
+				(key, value) -> overrides.add(new OverrideRow(guildId, key, String.valueOf(value)))));
+
+		model.addAttribute("settings", rows);
+		model.addAttribute("overrides", overrides);
+		model.addAttribute("overridableKeys", Settings.all().stream()
+				.filter(Setting::guildOverridable)
+				.map(Setting::key)
+				.toList());
+		model.addAttribute("changes", DatabaseHelper.getSettingChanges(RECENT_CHANGES).stream()
+				.map(change -> new ChangeRow(change.seq(), change.guildId() != null ? change.guildId() : "全体",
+						change.key(), change.oldValue() != null ? change.oldValue() : "（既定値）",
+						change.newValue() != null ? change.newValue() : "（既定値）", change.actorId(),
+						CHANGED_AT_FORMAT.format(Instant.ofEpochMilli(change.changedAt()))))
+				.toList());
+		model.addAttribute("version", settings.version());
+		return "settings";
+	}
+
+	/**
+	 * ✏️ 設定の変更・既定値へのリセット（guildId が空なら全体の設定）
+	 */
+	@PostMapping("/settings")
+	public String updateSetting(@RequestParam("key") String key,
+			@RequestParam(name = "guildId", required = false) String guildId,
+			@RequestParam(name = "value", required = false) String value,
+			@RequestParam(name = "action", defaultValue = "set") String action,
+			@RequestParam("version") long version,
+			HttpSession session,
+			RedirectAttributes redirectAttributes) {
+		Setting<?> setting = Settings.byKey(key);
+		String targetGuild = guildId != null && !guildId.isBlank() ? guildId.strip() : null;
+		if (setting == null) {
+			redirectAttributes.addFlashAttribute("message", "⚠️ 不明な設定です: " + key);
+			return "redirect:/settings";
+		}
+		if (targetGuild != null && !targetGuild.matches("\\d+")) {
+			redirectAttributes.addFlashAttribute("message", "⚠️ サーバーIDは数字で指定してください。");
+			return "redirect:/settings";
+		}
+
+		String label = (targetGuild != null ? targetGuild + " / " : "") + setting.key();
+		try {
+			Settings.UpdateResult result = DatabaseHelper.updateSetting(setting, targetGuild,
+					action.equals("reset") ? null : value, actorOf(session), version);
+			redirectAttributes.addFlashAttribute("message", switch (result) {
+			case UPDATED -> "✅ " + label + " を" + (action.equals("reset") ? "既定値に戻しました。" : "変更しました。");
+			case UNCHANGED -> "➖ " + label + " は既にその値です。";
+			case CONFLICT -> "🔀 表示した後に別の変更がありました。最新の値を確認してからもう一度保存してください。";
+			case FAILED -> "❌ 設定の保存に失敗しました。";
+			});
+		} catch (IllegalArgumentException e) {
+			redirectAttributes.addFlashAttribute("message", "⚠️ " + label + ": " + e.getMessage());
+		}
+		return "redirect:/settings";
+	}
+
+	/**
+	 * 👤 Web からの変更者（ログイン中ならユーザー名付き）
+	 */
+	static String actorOf(HttpSession session) {
+		Object username = session.getAttribute("username");
+		return username != null ? "webui:" + username : "webui";
+	}
+}
@@ -0,0 +1,77 @@
+// 📡 ダッシュボードのライブ統計（/dashboard/stream の SSE を購読して表示を更新）
+(function () {
+	const HISTORY = 60; // グラフに表示する秒数
+	const samples = [];
+
+	const statusEl = document.getElementById('stream-status');
+	const canvas = document.getElementById('ips-chart');
+
+	function push(snapshot) {
+		samples.push(snapshot);
+		if (samples.length > HISTORY) {
+			samples.shift();
+		}
+	}
+
+	function render() {
+		const latest = samples[samples.length - 1];
+		if (!latest) {
+			return;
+		}
+
+		document.getElementById('stat-ips').textContent = latest.interactions;
+		document.getElementById('stat-latency').textContent =
+			[latest.p50Ms, latest.p95Ms, latest.p99Ms].map(v => v.toFixed(1)).join(' / ');
+		document.getElementById('stat-ping').textContent = latest.gatewayPingMs >= 0 ? latest.gatewayPingMs : 'Bot未起動';
+		document.getElementById('stat-feedback').textContent =
+			samples.reduce((sum, s) => sum + s.feedbackArrivals, 0);
+
+		// ⏳ 待ち時間・保持時間は累積値なので、表示中の履歴の先頭との差分で直近の平均を出す
+		const oldest = samples[0];
+		const rows = latest.pools.map(p => {
+			const before = oldest.pools.find(o => o.name === p.name) || p;
+			const acquired = p.acquisitions - before.acquisitions;
+			const avgWait = acquired > 0 ? (p.waitNanos - before.waitNanos) / 1e6 / acquired : 0;
+			const avgUsage = acquired > 0 ? (p.usageMillis - before.usageMillis) / acquired : 0;
+			return '<tr><td>' + p.name + '</td><td>' + p.active + '</td><td>' + p.idle + '</td><td>'
+				+ p.waiting + '</td><td>' + p.max + '</td><td>' + avgWait.toFixed(3) + '</td><td>'
+				+ avgUsage.toFixed(1) + '</td><td>' + (p.maxWaitNanos / 1e6).toFixed(1) + '</td><td>'
+				+ p.timeouts + '</td></tr>';
+		});
+		document.getElementById('pool-rows').innerHTML = rows.join('');
+
+		drawChart();
+	}
+
+	function drawChart() {
+		const ctx = canvas.getContext('2d');
+		const width = canvas.width;
+		const height = canvas.height;
+		const max = Math.max(1, ...samples.map(s => s.interactions));
+		const barWidth = width / HISTORY;
+
+		ctx.clearRect(0, 0, width, height);
+		ctx.fillStyle = '#007acc';
+		samples.forEach((s, i) => {
+			const barHeight = (s.interactions / max) * (height - 4);
+			const x = (HISTORY - samples.length + i) * barWidth;
+			ctx.fillRect(x, height - barHeight, Math.max(1, barWidth - 1), barHeight);
+		});
+	}
+
+	const source = new EventSource('/dashboard/stream');
+
+	source.addEventListener('history', e => {
+		samples.length = 0;
+		JSON.parse(e.data).forEach(push);
+		render();
+	});
+
+	source.addEventListener('stats', e => {
+		push(JSON.parse(e.data));
+		render();
+	});
+
+	source.onopen = () => statusEl.textContent = '🟢 ライブ';
+	source.onerror = () => statusEl.textContent = '🔴 再接続中...';
+})();